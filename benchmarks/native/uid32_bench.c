@@ -0,0 +1,118 @@
+/*
+ * ns/UID нативного генератора: прежний путь (rdtsc + sched_getcpu + syscall(SYS_gettid) на каждый UID)
+ * против текущего generate_uid32_into / generate_uid32_batch и упорядоченных вариантов. Плюс проверка tid после fork().
+ *
+ * Сборка и запуск: scripts/bench-native.sh
+ */
+#define _GNU_SOURCE
+
+#include "uid32.h"
+#include "tsc.h"
+
+#include <sched.h>
+#include <stdint.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <sys/syscall.h>
+#include <sys/wait.h>
+#include <time.h>
+#include <unistd.h>
+
+#define N      (1u << 20)
+#define BATCH  1024u
+#define ROUNDS 5
+
+/* как fill_uid32 до кэширования tid и rdtscp */
+static void legacy_fill(uint8_t* uid) {
+    uint64_t tsc     = read_tsc();
+    uintptr_t stack  = (uintptr_t)&tsc;
+    uint32_t machine = 0;
+    uint32_t core_id = (uint32_t)sched_getcpu();
+    uint32_t tid     = (uint32_t)syscall(SYS_gettid);
+    uint32_t mix     = (uint32_t)(tsc ^ stack ^ machine ^ core_id ^ tid);
+
+    *((uint64_t*)(uid + 0))  = tsc;
+    *((uint64_t*)(uid + 8))  = stack;
+    *((uint32_t*)(uid + 16)) = machine;
+    *((uint32_t*)(uid + 20)) = core_id;
+    *((uint32_t*)(uid + 24)) = tid;
+    *((uint32_t*)(uid + 28)) = mix;
+}
+
+static uint64_t now_ns(void) {
+    struct timespec ts;
+    clock_gettime(CLOCK_MONOTONIC, &ts);
+    return (uint64_t)ts.tv_sec * 1000000000u + (uint64_t)ts.tv_nsec;
+}
+
+static volatile uint8_t g_sink;
+
+static double bench_legacy(uint8_t* buf) {
+    uint64_t t0 = now_ns();
+    for (uint32_t i = 0; i < N; i++) legacy_fill(buf + (size_t)(i % BATCH) * 32);
+    uint64_t t1 = now_ns();
+    g_sink = buf[0];
+    return (double)(t1 - t0) / N;
+}
+
+static double bench_into(uint8_t* buf) {
+    uint64_t t0 = now_ns();
+    for (uint32_t i = 0; i < N; i++) generate_uid32_into(buf + (size_t)(i % BATCH) * 32);
+    uint64_t t1 = now_ns();
+    g_sink = buf[0];
+    return (double)(t1 - t0) / N;
+}
+
+static double bench_batch(uint8_t* buf) {
+    uint64_t t0 = now_ns();
+    for (uint32_t i = 0; i < N / BATCH; i++) generate_uid32_batch(buf, BATCH);
+    uint64_t t1 = now_ns();
+    g_sink = buf[0];
+    return (double)(t1 - t0) / N;
+}
+
+static double bench_ordered_into(uint8_t* buf) {
+    uint64_t t0 = now_ns();
+    for (uint32_t i = 0; i < N; i++) generate_uid32_ordered_into(buf + (size_t)(i % BATCH) * 32);
+    uint64_t t1 = now_ns();
+    g_sink = buf[0];
+    return (double)(t1 - t0) / N;
+}
+
+static double bench_ordered_batch(uint8_t* buf) {
+    uint64_t t0 = now_ns();
+    for (uint32_t i = 0; i < N / BATCH; i++) generate_uid32_ordered_batch(buf, BATCH);
+    uint64_t t1 = now_ns();
+    g_sink = buf[0];
+    return (double)(t1 - t0) / N;
+}
+
+/* tid из UID в потомке после fork() должен совпасть с syscall, а не с закэшированным tid родителя */
+static int check_fork(void) {
+    uint8_t uid[32];
+    generate_uid32_into(uid);
+    pid_t pid = fork();
+    if (pid == 0) {
+        generate_uid32_into(uid);
+        _exit(*((uint32_t*)(uid + 24)) == (uint32_t)syscall(SYS_gettid) ? 0 : 1);
+    }
+    int status = 0;
+    waitpid(pid, &status, 0);
+    return WIFEXITED(status) && WEXITSTATUS(status) == 0;
+}
+
+int main(void) {
+    uint8_t* buf = aligned_alloc(64, (size_t)BATCH * 32);
+    if (buf == NULL) return 1;
+
+    for (int r = 0; r < ROUNDS; r++) {
+        printf("legacy %6.1f ns/UID | into %6.1f ns/UID | batch(%u) %6.1f ns/UID\n",
+               bench_legacy(buf), bench_into(buf), BATCH, bench_batch(buf));
+        printf("ordered into %6.1f ns/UID | ordered batch(%u) %6.1f ns/UID\n",
+               bench_ordered_into(buf), BATCH, bench_ordered_batch(buf));
+    }
+    printf("tid after fork: %s\n", check_fork() ? "ok" : "STALE");
+
+    free(buf);
+    return 0;
+}
@@ -0,0 +1,70 @@
+package pathcreator.proxy.bench;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kryo и JDK-сериализация на тех же формах DTO, что и {@link CodecBench}, — точка отсчёта.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class BaselineBench {
+
+    @Param({"FEW", "MANY"})
+    public Shapes.Shape shape;
+
+    @Param({"8", "256"})
+    public int strLen;
+
+    @Param({"false", "true"})
+    public boolean nulls;
+
+    private Object value;
+    private Kryo kryo;
+    private Output kryoOut;
+    private Input kryoIn;
+    private byte[] kryoImage;
+    private byte[] jdkImage;
+
+    @Setup
+    public void setup() {
+        value = shape.create(strLen, nulls, 42);
+        kryo = Shapes.kryo();
+        kryoOut = new Output(4096, -1);
+        kryoIn = new Input();
+        kryo.writeObject(kryoOut, value);
+        kryoImage = kryoOut.toBytes();
+        jdkImage = Shapes.jdkSerialize(value);
+    }
+
+    @Benchmark
+    public int kryoWrite() {
+        kryoOut.setPosition(0);
+        kryo.writeObject(kryoOut, value);
+        return kryoOut.position();
+    }
+
+    @Benchmark
+    public Object kryoRead() {
+        kryoIn.setBuffer(kryoImage, 0, kryoImage.length);
+        return kryo.readObject(kryoIn, shape.type());
+    }
+
+    @Benchmark
+    public byte[] jdkWrite() {
+        return Shapes.jdkSerialize(value);
+    }
+
+    @Benchmark
+    public Object jdkRead() {
+        return Shapes.jdkDeserialize(jdkImage);
+    }
+}
@@ -0,0 +1,86 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.example.Batches;
+import pathcreator.proxy.example.Codec;
+import pathcreator.proxy.example.SchemaCompiler;
+import pathcreator.proxy.example.WritableOutput;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пачки {@link Batches}: последовательное кодирование/декодирование и {@link Batches#encodeParallel}
+ * по числу воркеров. Время — на пачку; на запись — делить на {@code size}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class BatchBench {
+
+    @Param({"FEW", "MANY"})
+    public Shapes.Shape shape;
+
+    @Param({"1024", "200000"})
+    public int size;
+
+    private Codec<Object> codec;
+    private List<Object> values;
+    private WritableOutput out;
+    private MemorySegment image;
+
+    @State(Scope.Benchmark)
+    public static class Workers {
+
+        // 0 — общий пул
+        @Param({"1", "2", "4", "8", "0"})
+        public int workers;
+
+        ForkJoinPool pool;
+
+        @Setup
+        public void setup() {
+            pool = (workers == 0) ? ForkJoinPool.commonPool() : new ForkJoinPool(workers);
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (pool != ForkJoinPool.commonPool()) pool.shutdown();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        codec = shape.codec(SchemaCompiler.Mode.BYTECODE);
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add(shape.create(8, false, i));
+        out = WritableOutput.heap(Batches.headerSize(size) + 64 * size);
+        codec.encodeBatch(values, out);
+        image = out.written();
+    }
+
+    @Benchmark
+    public int encode() {
+        out.reset();
+        return codec.encodeBatch(values, out);
+    }
+
+    @Benchmark
+    public List<Object> decode() {
+        return codec.decodeBatch(image, 0);
+    }
+
+    @Benchmark
+    public long encodeParallel(final Workers w) {
+        try (Arena arena = Arena.ofShared()) {
+            return Batches.encodeParallel(codec, values, arena, w.pool).byteSize();
+        }
+    }
+}
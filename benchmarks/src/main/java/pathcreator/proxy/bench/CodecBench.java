@@ -0,0 +1,106 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.example.Codec;
+import pathcreator.proxy.example.SchemaCompiler;
+import pathcreator.proxy.example.WritableOutput;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * Запись/чтение одной записи {@link Codec} в {@code byte[]} и native-сегмент.
+ * Параметр {@code mode} сравнивает сгенерированный байткод с fallback-интерпретатором.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class CodecBench {
+
+    @Param({"FEW", "MANY"})
+    public Shapes.Shape shape;
+
+    @Param({"8", "256"})
+    public int strLen;
+
+    @Param({"false", "true"})
+    public boolean nulls;
+
+    @Param({"BYTECODE", "INTERPRETER"})
+    public SchemaCompiler.Mode mode;
+
+    private Codec<Object> codec;
+    private Object value;
+    private Object target;
+    private byte[] bytes;
+    private byte[] image;
+    private Arena arena;
+    private MemorySegment segment;
+    private MemorySegment segmentImage;
+    private WritableOutput stream;
+    private int streamed;
+
+    @Setup
+    public void setup() {
+        codec = shape.codec(mode);
+        value = shape.create(strLen, nulls, 42);
+        target = shape.create(strLen, nulls, 0);
+        image = codec.encodeToBytes(value);
+        bytes = new byte[image.length];
+        arena = Arena.ofConfined();
+        segment = arena.allocate(image.length, 8);
+        segmentImage = arena.allocate(image.length, 8);
+        MemorySegment.copy(image, 0, segmentImage, JAVA_BYTE, 0, image.length);
+        stream = WritableOutput.offHeap(arena, (long) image.length * 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public byte[] writeBytes() {
+        codec.write(value, bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public MemorySegment writeNative() {
+        codec.write(value, segment, 0);
+        return segment;
+    }
+
+    @Benchmark
+    public byte[] encodeToNewBytes() {
+        return codec.encodeToBytes(value);
+    }
+
+    // поток записей, сброс каждые 1024 — как при отправке пачками
+    @Benchmark
+    public int encodeToStream() {
+        if ((++streamed & 1023) == 0) stream.reset();
+        return codec.encodeTo(value, stream);
+    }
+
+    @Benchmark
+    public Object readBytes() {
+        return codec.read(image, 0);
+    }
+
+    @Benchmark
+    public Object readNative() {
+        return codec.read(segmentImage, 0);
+    }
+
+    @Benchmark
+    public Object readIntoBytes() {
+        return codec.readInto(image, 0, target);
+    }
+}
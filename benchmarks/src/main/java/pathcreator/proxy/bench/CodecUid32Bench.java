@@ -0,0 +1,121 @@
+package pathcreator.proxy.bench;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.example.Codec;
+import pathcreator.proxy.example.SchemaCompiler;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.Uid32Value;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UID32 в записи {@link Codec}: поле {@link Uid32Value} (fixed, 32 байта) против {@code byte[]}
+ * (таблица длин, presence и tail). {@code *Generate} — UID генерируется при записи: прямо в буфер
+ * (и копией в сброшенный контейнер) у {@link Uid32Value}, в новый массив через {@link Uid32#generate()}
+ * у {@code byte[]}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class CodecUid32Bench {
+
+    @Data
+    @NoArgsConstructor
+    public static class ValueMsg {
+
+        private Uid32Value id;
+
+        private long seq;
+
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class BytesMsg {
+
+        private byte[] id;
+
+        private long seq;
+
+        private String name;
+    }
+
+    @Param({"BYTECODE", "INTERPRETER"})
+    public SchemaCompiler.Mode mode;
+
+    private Codec<ValueMsg> valueCodec;
+    private Codec<BytesMsg> bytesCodec;
+    private ValueMsg value;
+    private ValueMsg valueUnset;
+    private ValueMsg valueTarget;
+    private BytesMsg bytes;
+    private BytesMsg bytesTarget;
+    private byte[] valueImage;
+    private byte[] bytesImage;
+    private byte[] buf;
+
+    @Setup
+    public void setup() {
+        valueCodec = SchemaCompiler.compile(ValueMsg.class, mode);
+        bytesCodec = SchemaCompiler.compile(BytesMsg.class, mode);
+        value = new ValueMsg();
+        value.setId(Uid32Value.generated());
+        value.setSeq(42);
+        value.setName("order");
+        valueUnset = new ValueMsg();
+        valueUnset.setId(new Uid32Value());
+        valueUnset.setSeq(42);
+        valueUnset.setName("order");
+        valueTarget = new ValueMsg();
+        bytes = new BytesMsg();
+        bytes.setId(Uid32.generate());
+        bytes.setSeq(42);
+        bytes.setName("order");
+        bytesTarget = new BytesMsg();
+        valueImage = valueCodec.encodeToBytes(value);
+        bytesImage = bytesCodec.encodeToBytes(bytes);
+        buf = new byte[Math.max(valueImage.length, bytesImage.length)];
+    }
+
+    @Benchmark
+    public byte[] writeValue() {
+        valueCodec.write(value, buf, 0);
+        return buf;
+    }
+
+    @Benchmark
+    public byte[] writeBytes() {
+        bytesCodec.write(bytes, buf, 0);
+        return buf;
+    }
+
+    @Benchmark
+    public byte[] writeValueGenerate() {
+        valueUnset.getId().clear();
+        valueCodec.write(valueUnset, buf, 0);
+        return buf;
+    }
+
+    @Benchmark
+    public byte[] writeBytesGenerate() {
+        bytes.setId(Uid32.generate());
+        bytesCodec.write(bytes, buf, 0);
+        return buf;
+    }
+
+    @Benchmark
+    public ValueMsg readValue() {
+        return valueCodec.readInto(valueImage, 0, valueTarget);
+    }
+
+    @Benchmark
+    public BytesMsg readBytes() {
+        return bytesCodec.readInto(bytesImage, 0, bytesTarget);
+    }
+}
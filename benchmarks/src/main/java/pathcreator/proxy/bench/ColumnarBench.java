@@ -0,0 +1,73 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.example.*;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Агрегат двух числовых полей: строчная пачка через flyweight против колонок на Vector API.
+ * Время — на всю пачку из {@code records} записей.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ColumnarBench {
+
+    @Param({"262144"})
+    public int records;
+
+    private Arena arena;
+    private MemorySegment rows;
+    private ColumnarBatch.Column c1;
+    private ColumnarBatch.Column c2;
+    private final ExampleDtoView view = new ExampleDtoView();
+
+    @Setup
+    public void setup() {
+        final List<ExampleDto> values = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            final ExampleDto x = new ExampleDto();
+            x.setString("Hello World");
+            x.setBooleanValue(true);
+            x.setLongValue((long) i);
+            x.setLongValue2((i % 3 == 0) ? null : (long) -i);
+            values.add(x);
+        }
+        arena = Arena.ofConfined();
+        final WritableOutput out = WritableOutput.offHeap(arena, (long) records * 128);
+        Ser.encodeBatch(values, out, ExampleDto.class);
+        rows = out.written();
+        final ColumnarBatch cols = ColumnarBatch.encode(ExampleDto.class, values, arena);
+        c1 = cols.column("longValue");
+        c2 = cols.column("longValue2");
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public long rows() {
+        long sum = 0, max = Long.MIN_VALUE;
+        for (int i = 0, n = Batches.count(rows, 0); i < n; i++) {
+            view.wrap(rows, Batches.recordOffset(rows, 0, i));
+            if (view.hasLongValue()) sum += view.longValue();
+            if (view.hasLongValue2()) max = Math.max(max, view.longValue2());
+        }
+        return sum + max;
+    }
+
+    @Benchmark
+    public long columns() {
+        return ColumnScans.sumLong(c1) + ColumnScans.maxLong(c2);
+    }
+}
@@ -0,0 +1,61 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.stripe.CoreId;
+import pathcreator.proxy.uid.stripe.CoreStripedCounter;
+import pathcreator.proxy.uid.stripe.CoreStripedPool;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Разбиение по ядру против разбиения по потоку: счётчик против {@link LongAdder}, пул против общей очереди.
+ * Запускать с {@code -t} по числу ядер.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CoreStripedBench {
+
+    private final CoreStripedCounter counter = new CoreStripedCounter();
+    private final LongAdder adder = new LongAdder();
+    private final CoreStripedPool<byte[]> pool = new CoreStripedPool<>(() -> new byte[4096], 8);
+    private final ConcurrentLinkedQueue<byte[]> queue = new ConcurrentLinkedQueue<>();
+
+    @Benchmark
+    public int currentCore() {
+        return CoreId.current();
+    }
+
+    @Benchmark
+    public void coreCounter() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void longAdder() {
+        adder.increment();
+    }
+
+    @Benchmark
+    public byte[] corePool() {
+        final byte[] b = pool.acquire();
+        b[0]++;
+        pool.release(b);
+        return b;
+    }
+
+    @Benchmark
+    public byte[] sharedQueue() {
+        byte[] b = queue.poll();
+        if (b == null) b = new byte[4096];
+        b[0]++;
+        queue.offer(b);
+        return b;
+    }
+}
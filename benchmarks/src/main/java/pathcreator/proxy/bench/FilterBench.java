@@ -0,0 +1,71 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.example.*;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтр с селективностью ~5% по записям подряд: декодирование каждой записи против
+ * {@link RecordScanner} по байтам. Время — на весь проход.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class FilterBench {
+
+    @Param({"65536"})
+    public int records;
+
+    private Arena arena;
+    private MemorySegment rows;
+    private long[] offsets;
+    private RecordScanner scanner;
+
+    @Setup
+    public void setup() {
+        arena = Arena.ofConfined();
+        final WritableOutput out = WritableOutput.offHeap(arena, (long) records * 128);
+        offsets = new long[records];
+        for (int i = 0; i < records; i++) {
+            final ExampleDto x = new ExampleDto();
+            x.setString((i % 20 == 0) ? "X" : "Hello World");
+            x.setBooleanValue(true);
+            x.setLongValue((long) i);
+            x.setLongValue2((i % 3 == 0) ? null : (long) -i);
+            offsets[i] = out.position();
+            x.encodeTo(out);
+        }
+        rows = out.written();
+        final RecordPredicate p = RecordPredicates.field(ExampleDto.class, "longValue").gt(1000)
+                .and(RecordPredicates.field(ExampleDto.class, "longValue2").isPresent())
+                .and(RecordPredicates.field(ExampleDto.class, "string").equalTo("X"));
+        scanner = RecordScanner.of(ExampleDto.class, p);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public int decodeAll() {
+        int n = 0;
+        for (final long off : offsets) {
+            final ExampleDto x = Ser.fromSegment(rows, off, ExampleDto.class);
+            if (x.getLongValue() != null && x.getLongValue() > 1000 && x.getLongValue2() != null
+                    && "X".equals(x.getString())) n++;
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int scan() {
+        return scanner.wrap(rows, 0, rows.byteSize()).count();
+    }
+}
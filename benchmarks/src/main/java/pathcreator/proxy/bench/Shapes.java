@@ -0,0 +1,202 @@
+package pathcreator.proxy.bench;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pathcreator.proxy.example.Codec;
+import pathcreator.proxy.example.SchemaCompiler;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Формы DTO для параметризации бенчмарков: мало/много полей, короткие/длинные строки,
+ * заполненные/преимущественно {@code null} optional-поля.
+ */
+public final class Shapes {
+
+    private Shapes() {
+    }
+
+    public enum Shape {
+        FEW(FewFields.class),
+        MANY(ManyFields.class);
+
+        private final Class<?> type;
+
+        Shape(final Class<?> type) {
+            this.type = type;
+        }
+
+        public Class<?> type() {
+            return type;
+        }
+
+        /**
+         * @param strLen длина строковых полей
+         * @param nulls  оставить optional-поля пустыми (кроме ключевых)
+         * @param seed   варьирует значения между экземплярами
+         */
+        public Object create(final int strLen, final boolean nulls, final int seed) {
+            return switch (this) {
+                case FEW -> FewFields.create(strLen, nulls, seed);
+                case MANY -> ManyFields.create(strLen, nulls, seed);
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        public Codec<Object> codec(final SchemaCompiler.Mode mode) {
+            return SchemaCompiler.compile((Class<Object>) type, mode);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class FewFields implements Serializable {
+
+        private long id;
+
+        private Integer count;
+
+        private String name;
+
+        static FewFields create(final int strLen, final boolean nulls, final int seed) {
+            final FewFields x = new FewFields();
+            x.id = seed;
+            if (!nulls) {
+                x.count = seed & 0xFFFF;
+                x.name = string(strLen, seed);
+            }
+            return x;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class ManyFields implements Serializable {
+
+        private long id;
+
+        private long created;
+
+        private int flags;
+
+        private double score;
+
+        private boolean active;
+
+        private Long parentId;
+
+        private Long ownerId;
+
+        private Integer priority;
+
+        private Integer version;
+
+        private Double weight;
+
+        private Boolean verified;
+
+        private LocalDateTime updatedAt;
+
+        private String name;
+
+        private String title;
+
+        private String description;
+
+        private String tag;
+
+        private byte[] payload;
+
+        static ManyFields create(final int strLen, final boolean nulls, final int seed) {
+            final ManyFields x = new ManyFields();
+            x.id = seed;
+            x.created = 1_700_000_000_000L + seed;
+            x.flags = seed & 0xFF;
+            x.score = seed * 0.5;
+            x.active = (seed & 1) == 0;
+            if (!nulls) {
+                x.parentId = (long) seed - 1;
+                x.ownerId = (long) seed * 31;
+                x.priority = seed % 10;
+                x.version = 1;
+                x.weight = seed * 0.25;
+                x.verified = Boolean.TRUE;
+                x.updatedAt = LocalDateTime.ofEpochSecond(1_700_000_000L + seed, 0, ZoneOffset.UTC);
+                x.name = string(strLen, seed);
+                x.title = string(strLen, seed + 1);
+                x.description = string(strLen, seed + 2);
+                x.tag = string(Math.min(strLen, 8), seed);
+                x.payload = new byte[strLen];
+            }
+            return x;
+        }
+    }
+
+    static String string(final int len, final int seed) {
+        final StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append((char) ('a' + (seed + i) % 26));
+        return sb.toString();
+    }
+
+    // ---- Kryo ----
+    static Kryo kryo() {
+        final Kryo k = new Kryo();
+        k.setReferences(false);
+        k.setRegistrationRequired(true);
+
+        k.register(FewFields.class, 10);
+        k.register(ManyFields.class, 11);
+        k.register(String.class, 12);
+        k.register(byte[].class, 13);
+        k.register(Long.class, 14);
+        k.register(Integer.class, 15);
+        k.register(Double.class, 16);
+        k.register(Boolean.class, 17);
+
+        // LocalDateTime: sec+nano (UTC)
+        k.register(LocalDateTime.class, new Serializer<LocalDateTime>() {
+            @Override
+            public void write(final Kryo kryo, final Output output, final LocalDateTime obj) {
+                output.writeLong(obj.toEpochSecond(ZoneOffset.UTC), false);
+                output.writeInt(obj.getNano());
+            }
+
+            @Override
+            public LocalDateTime read(final Kryo kryo, final Input input, final Class<? extends LocalDateTime> type) {
+                final long sec = input.readLong(false);
+                final int ns = input.readInt();
+                return LocalDateTime.ofEpochSecond(sec, ns, ZoneOffset.UTC);
+            }
+        }, 18);
+        return k;
+    }
+
+    // ---- JDK ----
+    static byte[] jdkSerialize(final Object obj) {
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(obj);
+            }
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Object jdkDeserialize(final byte[] bytes) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.example.ExampleDto;
+import pathcreator.proxy.example.SchemaCompiler;
+import pathcreator.proxy.example.StringCache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запись {@link ExampleDto} с повторяющимися ({@code 64}) и уникальными ({@code 262144}) строками:
+ * попадания и вытеснения {@link StringCache} (за итерацию — вспомогательные счётчики {@link Stats}).
+ * Без кэша — {@code -jvmArgsAppend -Dschema.strcache.capacity=0}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class StringCacheBench {
+
+    @Param({"64", "262144"})
+    public int distinct;
+
+    private ExampleDto dto;
+    private String[] pool;
+    private byte[] buf;
+    private int i;
+
+    /**
+     * Счётчики TL-кэша строк {@link ExampleDto} потока бенчмарка, сброшенные в начале итерации.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Stats {
+
+        public long hits;
+        public long misses;
+        public long evictions;
+
+        private StringCache cache;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cache = SchemaCompiler.stringCache(ExampleDto.class);
+            if (cache != null) cache.resetStats();
+            hits = misses = evictions = 0;
+        }
+
+        void update() {
+            if (cache == null) return;
+            hits = cache.hits();
+            misses = cache.misses();
+            evictions = cache.evictions();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        pool = new String[distinct];
+        // одинаковой длины, чтобы размер записи не менялся
+        for (int k = 0; k < distinct; k++) pool[k] = String.format("str-%08d", k);
+        dto = new ExampleDto();
+        dto.setString(pool[0]);
+        dto.setLongValue(123456789L);
+        dto.setBooleanValue(true);
+        buf = new byte[dto.toBytes().length];
+    }
+
+    @Benchmark
+    public byte[] write(final Stats stats) {
+        dto.setString(pool[i++ & (distinct - 1)]);
+        dto.writeTo(buf, 0);
+        stats.update();
+        return buf;
+    }
+}
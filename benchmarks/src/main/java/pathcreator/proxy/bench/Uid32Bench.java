@@ -0,0 +1,134 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid16;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.Uid64;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Генерация UID32: запись в native-сегмент против heap-целей ({@code byte[]} и heap-сегмент пишутся
+ * напрямую критическим downcall'ом), поштучно и пачкой за один downcall; то же для упорядоченного
+ * формата, UID16 и UID64. Прежний путь через потоковый native-буфер —
+ * {@code -jvmArgsAppend -Duid32.critical=false}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class Uid32Bench {
+
+    private static final int BATCH = 1024;
+
+    private Arena arena;
+    private MemorySegment nativeDst;
+    private MemorySegment heapDst;
+    private byte[] arrayDst;
+    private MemorySegment nativeBatch;
+    private byte[] arrayBatch;
+    private long[] longBatch;
+
+    @Setup
+    public void setup() {
+        Uid32.setMachineId(0x1234_5678);
+        arena = Arena.ofConfined();
+        nativeDst = arena.allocate(32, 8);
+        arrayDst = new byte[32];
+        heapDst = MemorySegment.ofArray(new byte[32]);
+        nativeBatch = arena.allocate(32L * BATCH, 8);
+        arrayBatch = new byte[32 * BATCH];
+        longBatch = new long[BATCH];
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public MemorySegment intoNative() {
+        Uid32.generateInto(nativeDst, 0);
+        return nativeDst;
+    }
+
+    @Benchmark
+    public MemorySegment intoHeapSegment() {
+        Uid32.generateInto(heapDst, 0);
+        return heapDst;
+    }
+
+    @Benchmark
+    public byte[] intoArray() {
+        Uid32.generateInto(arrayDst, 0);
+        return arrayDst;
+    }
+
+    @Benchmark
+    public byte[] generate() {
+        return Uid32.generate();
+    }
+
+    // время — на один UID
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public MemorySegment batchIntoNative() {
+        Uid32.generateBatch(nativeBatch, 0, BATCH);
+        return nativeBatch;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] batchIntoArray() {
+        Uid32.generateBatch(arrayBatch, 0, BATCH);
+        return arrayBatch;
+    }
+
+    @Benchmark
+    public MemorySegment orderedIntoNative() {
+        Uid32.generateOrderedInto(nativeDst, 0);
+        return nativeDst;
+    }
+
+    @Benchmark
+    public byte[] orderedIntoArray() {
+        Uid32.generateOrderedInto(arrayDst, 0);
+        return arrayDst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public MemorySegment orderedBatchIntoNative() {
+        Uid32.generateOrderedBatch(nativeBatch, 0, BATCH);
+        return nativeBatch;
+    }
+
+    @Benchmark
+    public MemorySegment uid16IntoNative() {
+        Uid16.generateInto(nativeDst, 0);
+        return nativeDst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public MemorySegment uid16BatchIntoNative() {
+        Uid16.generateBatch(nativeBatch, 0, BATCH);
+        return nativeBatch;
+    }
+
+    @Benchmark
+    public long uid64() {
+        return Uid64.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] uid64Batch() {
+        Uid64.nextBatch(longBatch, 0, BATCH);
+        return longBatch;
+    }
+}
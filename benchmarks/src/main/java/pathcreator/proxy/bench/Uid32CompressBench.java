@@ -0,0 +1,83 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.compress.Uid32StreamDecoder;
+import pathcreator.proxy.uid.compress.Uid32StreamEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сжатие журнала UID32: время на UID; размер сжатого потока — вспомогательные счётчики {@link Stats}
+ * у {@code encodeStream}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class Uid32CompressBench {
+
+    private static final int N = 65536;
+
+    private byte[] uids;
+    private byte[] compressed;
+    private byte[] decoded;
+    private ByteArrayOutputStream sink;
+
+    @Setup
+    public void setup() throws IOException {
+        Uid32.setMachineId(0x1234_5678);
+        uids = new byte[32 * N];
+        for (int i = 0; i < N; i += 256) Uid32.generateBatch(uids, 32 * i, 256);
+        decoded = new byte[32 * N];
+        sink = new ByteArrayOutputStream(32 * N);
+        compressed = encode();
+    }
+
+    /**
+     * Байт сжатого потока на UID и степень сжатия ({@code 32 * N / compressed}) для данных бенчмарка.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Stats {
+
+        public double bytesPerId;
+        public double ratio;
+
+        @Setup(Level.Iteration)
+        public void reset(final Uid32CompressBench bench) {
+            bytesPerId = bench.compressed.length / (double) N;
+            ratio = 32.0 * N / bench.compressed.length;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public byte[] encodeStream(final Stats stats) throws IOException {
+        return encode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public byte[] decodeStream() throws IOException {
+        try (Uid32StreamDecoder d = new Uid32StreamDecoder(Channels.newChannel(new ByteArrayInputStream(compressed)))) {
+            int got = 0;
+            for (int n; (n = d.read(decoded, 32 * got, N - got)) > 0; ) got += n;
+        }
+        return decoded;
+    }
+
+    private byte[] encode() throws IOException {
+        sink.reset();
+        try (Uid32StreamEncoder e = new Uid32StreamEncoder(Channels.newChannel(sink))) {
+            e.write(uids, 0, N);
+        }
+        return sink.toByteArray();
+    }
+}
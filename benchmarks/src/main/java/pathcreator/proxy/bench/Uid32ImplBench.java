@@ -0,0 +1,81 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.internal.Uid32Java;
+import pathcreator.proxy.uid.internal.Uid32Native;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нативный генератор UID32 против реализации на чистой Java (в обход выбора {@code -Duid32.impl}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class Uid32ImplBench {
+
+    private static final int BATCH = 1024;
+
+    private Arena arena;
+    private MemorySegment nativeDst;
+    private byte[] arrayDst;
+    private MemorySegment nativeBatch;
+
+    @Setup
+    public void setup() {
+        Uid32Native.nativeSetMachineId(0x1234_5678);
+        Uid32Java.setMachineId(0x1234_5678);
+        arena = Arena.ofConfined();
+        nativeDst = arena.allocate(32, 8);
+        arrayDst = new byte[32];
+        nativeBatch = arena.allocate(32L * BATCH, 8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public MemorySegment nativeIntoNative() {
+        Uid32Native.nativeGenerateInto(nativeDst, 0);
+        return nativeDst;
+    }
+
+    @Benchmark
+    public MemorySegment javaIntoNative() {
+        Uid32Java.generateInto(nativeDst, 0);
+        return nativeDst;
+    }
+
+    @Benchmark
+    public byte[] nativeIntoArray() {
+        Uid32Native.nativeGenerateInto(arrayDst, 0);
+        return arrayDst;
+    }
+
+    @Benchmark
+    public byte[] javaIntoArray() {
+        Uid32Java.generateInto(arrayDst, 0);
+        return arrayDst;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public MemorySegment nativeBatch() {
+        Uid32Native.nativeGenerateBatch(nativeBatch, 0, BATCH);
+        return nativeBatch;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public MemorySegment javaBatch() {
+        Uid32Java.generateBatch(nativeBatch, 0, BATCH);
+        return nativeBatch;
+    }
+}
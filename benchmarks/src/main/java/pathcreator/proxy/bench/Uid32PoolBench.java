@@ -0,0 +1,87 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.Uid32Pool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Взятие UID из {@link Uid32Pool} против прямой генерации; выдачи, опустошения и пополнения пула
+ * за итерацию — вспомогательные счётчики {@link Stats} у {@code poolTake}.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class Uid32PoolBench {
+
+    @Param({"4096"})
+    public int depth;
+
+    private Uid32Pool pool;
+
+    @State(Scope.Thread)
+    public static class Dst {
+        final byte[] uid = new byte[32];
+    }
+
+    @Setup
+    public void setup() {
+        Uid32.setMachineId(0x1234_5678);
+        pool = new Uid32Pool(depth, depth / 4, false, null);
+    }
+
+    /**
+     * Приращения счётчиков пула ({@link Uid32Pool#taken()}, {@link Uid32Pool#underruns()},
+     * {@link Uid32Pool#refills()}) за итерацию; снимаются в её конце, вне измеряемой операции.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Stats {
+
+        public long taken;
+        public long underruns;
+        public long refills;
+
+        private Uid32Pool pool;
+        private long taken0;
+        private long underruns0;
+        private long refills0;
+
+        @Setup(Level.Iteration)
+        public void reset(final Uid32PoolBench bench) {
+            pool = bench.pool;
+            taken0 = pool.taken();
+            underruns0 = pool.underruns();
+            refills0 = pool.refills();
+            taken = underruns = refills = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void update() {
+            taken = pool.taken() - taken0;
+            underruns = pool.underruns() - underruns0;
+            refills = pool.refills() - refills0;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public byte[] poolTake(final Dst d, final Stats stats) {
+        pool.takeInto(d.uid, 0);
+        return d.uid;
+    }
+
+    @Benchmark
+    public byte[] direct(final Dst d) {
+        Uid32.generateInto(d.uid, 0);
+        return d.uid;
+    }
+}
@@ -0,0 +1,120 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.read.Uid32Bulk;
+import pathcreator.proxy.uid.read.Uid32Fields;
+import pathcreator.proxy.uid.read.Uid32ReaderArray;
+import pathcreator.proxy.uid.read.Uid32ReaderSegment;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор и проверка UID32 из {@code byte[]}, heap- и native-сегмента; пакетная проверка и выборка
+ * колонки {@link Uid32Bulk} против скалярного цикла.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class Uid32ReaderBench {
+
+    private static final int BULK = 4096;
+
+    private Arena arena;
+    private byte[] array;
+    private MemorySegment heap;
+    private MemorySegment offHeap;
+    private final Uid32Fields fields = new Uid32Fields();
+    private MemorySegment bulk;
+    private final long[] valid = new long[BULK / 64];
+    private final long[] tscs = new long[BULK];
+
+    @Setup
+    public void setup() {
+        Uid32.setMachineId(0x1234_5678);
+        array = Uid32.generate();
+        heap = MemorySegment.ofArray(array);
+        arena = Arena.ofConfined();
+        offHeap = arena.allocate(32, 8);
+        Uid32.generateInto(offHeap, 0);
+        bulk = arena.allocate(32L * BULK, 8);
+        Uid32.generateBatch(bulk, 0, BULK);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public Uid32Fields readIntoArray() {
+        Uid32ReaderArray.readInto(array, 0, fields);
+        return fields;
+    }
+
+    @Benchmark
+    public Uid32Fields readIntoHeapSegment() {
+        Uid32ReaderSegment.readInto(heap, 0, fields);
+        return fields;
+    }
+
+    @Benchmark
+    public Uid32Fields readIntoNative() {
+        Uid32ReaderSegment.readInto(offHeap, 0, fields);
+        return fields;
+    }
+
+    @Benchmark
+    public boolean verifyArray() {
+        return Uid32ReaderArray.verify(array, 0);
+    }
+
+    @Benchmark
+    public boolean verifyNative() {
+        return Uid32ReaderSegment.verify(offHeap, 0);
+    }
+
+    @Benchmark
+    public boolean readIntoCheckedArray() {
+        return Uid32ReaderArray.readIntoChecked(array, 0, fields);
+    }
+
+    @Benchmark
+    public boolean readIntoCheckedNative() {
+        return Uid32ReaderSegment.readIntoChecked(offHeap, 0, fields);
+    }
+
+    // время — на один UID
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public int verifyBulk() {
+        return Uid32Bulk.verify(bulk, 0, BULK, valid);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public int verifyLoop() {
+        int bad = 0;
+        for (int i = 0; i < BULK; i++) if (!Uid32ReaderSegment.verify(bulk, 32L * i)) bad++;
+        return bad;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public long[] tscsBulk() {
+        Uid32Bulk.tscs(bulk, 0, BULK, tscs, 0);
+        return tscs;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public long[] tscsLoop() {
+        for (int i = 0; i < BULK; i++) tscs[i] = Uid32ReaderSegment.tsc(bulk, 32L * i);
+        return tscs;
+    }
+}
@@ -0,0 +1,59 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.collect.Uid32Set;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * Дедупликация UID32: off-heap {@link Uid32Set} против {@code HashSet} обёрток {@link ByteBuffer}
+ * (по копии ключа на элемент). Время — на один UID, множество каждый раз заполняется заново.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class Uid32SetBench {
+
+    private static final int N = 100_000;
+
+    private Arena arena;
+    private MemorySegment ids;
+
+    @Setup
+    public void setup() {
+        arena = Arena.ofConfined();
+        ids = arena.allocate(32L * N, 8);
+        Uid32.generateBatch(ids, 0, N);
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public Uid32Set offHeapSet() {
+        final Uid32Set set = new Uid32Set(N);
+        for (int i = 0; i < N; i++) set.add(ids, 32L * i);
+        return set;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(N)
+    public HashSet<ByteBuffer> heapSet() {
+        final HashSet<ByteBuffer> set = new HashSet<>(N * 2);
+        for (int i = 0; i < N; i++) set.add(ByteBuffer.wrap(ids.asSlice(32L * i, 32).toArray(JAVA_BYTE)));
+        return set;
+    }
+}
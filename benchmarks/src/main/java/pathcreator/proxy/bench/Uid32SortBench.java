@@ -0,0 +1,99 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.sort.Uid32Sort;
+import pathcreator.proxy.uid.sort.Uid32SortKey;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поразрядная сортировка off-heap против {@link Arrays#sort(Object[], Comparator)} по {@code byte[][]}
+ * с тем же ключом {@code (tsc, machineId)} на случайной перестановке UID; время — на весь массив,
+ * включая восстановление исходного порядка.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class Uid32SortBench {
+
+    @Param({"1000000", "10000000"})
+    public int n;
+
+    private Arena arena;
+    private MemorySegment original;
+    private MemorySegment data;
+    private MemorySegment tmp;
+    private byte[][] originalRows;
+    private byte[][] rows;
+    private Comparator<byte[]> comparator;
+
+    @Setup
+    public void setup() {
+        Uid32.setMachineId(0x1234_5678);
+        arena = Arena.ofShared();
+        original = arena.allocate(32L * n, 8);
+        data = arena.allocate(32L * n, 8);
+        tmp = arena.allocate(32L * n, 8);
+        // UID подряд пачками генератора, затем случайная перестановка записей (Fisher–Yates)
+        for (int i = 0; i < n; i += 1024) Uid32.generateBatch(original, 32L * i, Math.min(1024, n - i));
+        final Random r = new Random(1);
+        for (int i = n - 1; i > 0; i--) swap(original, i, r.nextInt(i + 1));
+        originalRows = new byte[n][];
+        for (int i = 0; i < n; i++) originalRows[i] = original.asSlice(32L * i, 32).toArray(ValueLayout.JAVA_BYTE);
+        rows = new byte[n][];
+        final Uid32SortKey key = Uid32SortKey.TSC_MACHINE;
+        comparator = (a, b) -> key.compare(MemorySegment.ofArray(a), 0, MemorySegment.ofArray(b), 0);
+    }
+
+    private static void swap(final MemorySegment s, final int i, final int j) {
+        final long a = 32L * i, b = 32L * j;
+        for (int w = 0; w < 32; w += 8) {
+            final long x = s.get(ValueLayout.JAVA_LONG, a + w);
+            s.set(ValueLayout.JAVA_LONG, a + w, s.get(ValueLayout.JAVA_LONG, b + w));
+            s.set(ValueLayout.JAVA_LONG, b + w, x);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.close();
+    }
+
+    @Benchmark
+    public MemorySegment radix() {
+        MemorySegment.copy(original, 0, data, 0, data.byteSize());
+        Uid32Sort.sort(data, Uid32SortKey.TSC_MACHINE, tmp);
+        return data;
+    }
+
+    @Benchmark
+    public MemorySegment radixParallel() {
+        MemorySegment.copy(original, 0, data, 0, data.byteSize());
+        Uid32Sort.parallelSort(data, Uid32SortKey.TSC_MACHINE, tmp);
+        return data;
+    }
+
+    @Benchmark
+    public byte[][] arraysSort() {
+        System.arraycopy(originalRows, 0, rows, 0, n);
+        Arrays.sort(rows, comparator);
+        return rows;
+    }
+
+    @Benchmark
+    public byte[][] arraysParallelSort() {
+        System.arraycopy(originalRows, 0, rows, 0, n);
+        Arrays.parallelSort(rows, comparator);
+        return rows;
+    }
+}
@@ -0,0 +1,92 @@
+package pathcreator.proxy.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.text.Uid32Encoding;
+
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Текст UID32 в буфер вызывающего против {@link HexFormat} и {@link java.util.Base64} (с аллокацией строки).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Thread)
+public class Uid32TextBench {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private byte[] uid;
+    private byte[] text;
+    private char[] chars;
+    private String hex;
+    private String base32;
+    private byte[] out;
+
+    @Setup
+    public void setup() {
+        uid = Uid32.generate();
+        text = new byte[64];
+        chars = new char[64];
+        out = new byte[32];
+        hex = HEX.formatHex(uid);
+        final char[] b32 = new char[Uid32Encoding.BASE32.length()];
+        Uid32Encoding.BASE32.encode(uid, 0, b32, 0);
+        base32 = new String(b32);
+    }
+
+    @Benchmark
+    public byte[] hexIntoBytes() {
+        Uid32Encoding.HEX.encode(uid, 0, text, 0);
+        return text;
+    }
+
+    @Benchmark
+    public char[] hexIntoChars() {
+        Uid32Encoding.HEX.encode(uid, 0, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public String hexFormat() {
+        return HEX.formatHex(uid);
+    }
+
+    @Benchmark
+    public byte[] base32IntoBytes() {
+        Uid32Encoding.BASE32.encode(uid, 0, text, 0);
+        return text;
+    }
+
+    @Benchmark
+    public byte[] base64UrlIntoBytes() {
+        Uid32Encoding.BASE64URL.encode(uid, 0, text, 0);
+        return text;
+    }
+
+    @Benchmark
+    public String base64Url() {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(uid);
+    }
+
+    @Benchmark
+    public byte[] hexParse() {
+        Uid32Encoding.HEX.decode(hex, 0, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] hexParseFormat() {
+        return HEX.parseHex(hex);
+    }
+
+    @Benchmark
+    public byte[] base32Parse() {
+        Uid32Encoding.BASE32.decode(base32, 0, out, 0);
+        return out;
+    }
+}
@@ -0,0 +1,11 @@
+#!/bin/bash
+set -e
+
+# ns/UID нативного генератора UID32 до/после (см. benchmarks/native/uid32_bench.c). Только Unix.
+
+SRC_DIR="src/main/native/c/uid32"
+OUT="benchmarks/target/uid32_bench"
+
+mkdir -p "$(dirname "$OUT")"
+gcc -O2 -std=c11 -I "$SRC_DIR" benchmarks/native/uid32_bench.c "$SRC_DIR"/*.c -o "$OUT" -pthread
+"$OUT"
@@ -0,0 +1,17 @@
+#!/bin/bash
+set -e
+
+# JMH-бенчмарки с профилем аллокаций (-prof gc) и JSON-отчётом для сравнения между релизами.
+# Аргументы передаются JMH как есть, например: scripts/bench.sh CodecBench -p shape=MANY
+
+JAR="benchmarks/target/benchmarks.jar"
+OUT="benchmarks/target/jmh-result.json"
+
+if [ ! -f "$JAR" ]; then
+  mvn -B -q install -DskipTests
+  mvn -B -q -f benchmarks/pom.xml package
+fi
+
+java -jar "$JAR" -prof gc -rf json -rff "$OUT" "$@"
+
+echo "JMH results → $OUT"
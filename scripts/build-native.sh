@@ -23,7 +23,7 @@ for DIR in "$SRC_ROOT"/*; do
 
   mkdir -p "$OUT_DIR"
   echo "Building $NAME → $OUT_FILE"
-  gcc -shared -fPIC -O2 -std=c11 $SOURCES -o "$OUT_FILE"
+  gcc -shared -fPIC -O2 -std=c11 -pthread $SOURCES -o "$OUT_FILE"
 done
 
 echo "Native build finished"
\ No newline at end of file
@@ -4,8 +4,17 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import pathcreator.proxy.example.Batches;
+import pathcreator.proxy.example.Codec;
+import pathcreator.proxy.example.ColumnScans;
+import pathcreator.proxy.example.ColumnarBatch;
 import pathcreator.proxy.example.ExampleDto;
+import pathcreator.proxy.example.RecordPredicate;
+import pathcreator.proxy.example.RecordPredicates;
+import pathcreator.proxy.example.RecordScanner;
+import pathcreator.proxy.example.SchemaCompiler;
 import pathcreator.proxy.example.Ser;
+import pathcreator.proxy.example.WritableOutput;
 
 import java.io.*;
 import java.lang.foreign.Arena;
@@ -13,158 +22,88 @@ import java.lang.foreign.MemorySegment;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Быстрая проверка сборки: round-trip всех путей кодека на {@link ExampleDto} и размеры
+ * в сравнении с Kryo/JDK. Замеры производительности — в модуле {@code benchmarks} (JMH, {@code scripts/bench.sh}).
+ */
+public final class Main {
 
-import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+    private static final int BATCH = 1024;
 
-public final class Main {
+    public static void main(String[] args) {
+        final ExampleDto dto = sample(0);
+
+        final byte[] ours = dto.toBytes();
+        check("byte[]", same(dto, Ser.fromBytes(ours, 0, ExampleDto.class)));
+
+        final Codec<ExampleDto> interp = SchemaCompiler.compile(ExampleDto.class, SchemaCompiler.Mode.INTERPRETER);
+        check("interpreter == bytecode", Arrays.equals(ours, interp.encodeToBytes(dto)));
+        check("interpreter read", same(dto, interp.read(ours, 0)));
+        check("readInto", same(dto, new ExampleDto().readFrom(ours, 0)));
+
+        // shared: encodeParallel пишет из потоков пула
+        try (Arena arena = Arena.ofShared()) {
+            final MemorySegment seg = dto.toSegment(arena);
+            check("segment", same(dto, Ser.fromSegment(seg, 0, ExampleDto.class)));
+
+            final List<ExampleDto> values = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) values.add(sample(i));
+
+            final WritableOutput stream = WritableOutput.heap(16);
+            for (final ExampleDto x : values) x.encodeTo(stream);
+            final RecordPredicate p = RecordPredicates.field(ExampleDto.class, "longValue").gt(BATCH / 2);
+            final int matched = RecordScanner.of(ExampleDto.class, p).wrap(stream.written(), 0, stream.position()).count();
+            check("stream + RecordScanner", matched == BATCH / 2 - 1);
+
+            final WritableOutput batchOut = WritableOutput.offHeap(arena, 16);
+            Ser.encodeBatch(values, batchOut, ExampleDto.class);
+            check("batch", values.toString().equals(Ser.fromBatch(batchOut.written(), 0, ExampleDto.class).toString()));
+            final Codec<ExampleDto> codec = SchemaCompiler.compile(ExampleDto.class, SchemaCompiler.Mode.BYTECODE);
+            final MemorySegment parallel = Batches.encodeParallel(codec, values, arena);
+            check("parallel batch", parallel.mismatch(batchOut.written()) < 0);
+
+            final ColumnarBatch cols = ColumnarBatch.encode(ExampleDto.class, values, arena);
+            long sum = 0;
+            for (final ExampleDto x : values) sum += x.getLongValue();
+            check("columnar", ColumnScans.sumLong(cols.column("longValue")) == sum);
+        }
 
-    private static final int WARMUP_ITERS = 1_000_000;
-    private static final int WRITE_ITERS  = 5_000_000;
-    private static final int READ_ITERS   = 1_000_000;
+        final Kryo kryo = newKryo();
+        final Output kryoOut = new Output(256, -1);
+        kryo.writeObject(kryoOut, dto);
+        final byte[] kryoBytes = kryoOut.toBytes();
+        check("kryo", same(dto, kryo.readObject(new Input(kryoBytes), ExampleDto.class)));
+        final byte[] jdkBytes = jdkSerialize(dto);
 
-    private static final int JDK_W_ITERS  = Math.min(WRITE_ITERS / 10, 200_000);
-    private static final int JDK_R_ITERS  = Math.min(READ_ITERS  / 10, 100_000);
+        System.out.printf("Sizes: OURS=%d bytes, KRYO=%d bytes, JDK=%d bytes%n", ours.length, kryoBytes.length, jdkBytes.length);
+        System.out.println("OK. Benchmarks: scripts/bench.sh");
+    }
 
-    public static void main(String[] args) {
+    private static ExampleDto sample(final int i) {
         final ExampleDto dto = new ExampleDto();
         dto.setString("Hello World");
-        dto.setLongValue(123456789L);
+        dto.setLongValue((long) i);
         dto.setBytes("Hello World".getBytes(StandardCharsets.UTF_8));
-        dto.setLocalDateTime(LocalDateTime.now());
+        dto.setLocalDateTime(LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i));
         dto.setBoolValue(null);
         dto.setBooleanValue(true);
         dto.setString2("Hello World2");
-        dto.setLongValue2(89L);
-
-        // наш формат: размер и предвыделение
-        final byte[] oursOnce = dto.toBytes();
-        final int size = oursOnce.length;
-        System.out.printf("Sizes: OURS=%d bytes%n", size);
-
-        try (Arena arena = Arena.ofConfined()) {
-            final byte[] oursByteBuf = new byte[size];
-            final MemorySegment oursSegBuf = arena.allocate(size, 1);
-
-            final MemorySegment srcSeg = arena.allocate(size, 1);
-            MemorySegment.copy(MemorySegment.ofArray(oursOnce), 0, srcSeg, 0, size);
-
-            // --- Kryo ---
-            final Kryo kryo = newKryo();
-            final Output kryoOut = new Output(size + 128); // prealloc
-            final Input kryoIn = new Input();
-
-            // стабильный образ Kryo для read-бенча
-            kryoOut.setPosition(0);
-            kryo.writeObject(kryoOut, dto);
-            kryoOut.flush();
-            final byte[] kryoStable = copyOf(kryoOut.getBuffer(), kryoOut.position());
-            System.out.printf("Sizes: KRYO=%d bytes%n", kryoStable.length);
-
-            // --- JDK ---
-            final byte[] jdkStable = jdkSerialize(dto);
-            System.out.printf("Sizes: JDK=%d bytes%n%n", jdkStable.length);
-
-            // --- прогрев ---
-            warmup(dto, oursByteBuf, oursSegBuf, kryo, kryoOut, kryoIn, kryoStable, jdkStable);
-            System.out.println("=== Warmup done ===");
-
-            // ===== OURS: serialize =====
-            long t0 = System.nanoTime();
-            int cs1 = 0;
-            for (int i = 0; i < WRITE_ITERS; i++) {
-                dto.writeTo(oursByteBuf, 0);
-                cs1 += oursByteBuf[0];
-            }
-            long t1 = System.nanoTime();
-            print("OURS  serialize -> byte[] (prealloc)", t1 - t0, WRITE_ITERS, cs1);
-
-            t0 = System.nanoTime();
-            int cs2 = 0;
-            for (int i = 0; i < WRITE_ITERS; i++) {
-                dto.writeTo(oursSegBuf, 0);
-                cs2 += (oursSegBuf.get(JAVA_BYTE, 0) & 0xFF);
-            }
-            t1 = System.nanoTime();
-            print("OURS  serialize -> segment (prealloc)", t1 - t0, WRITE_ITERS, cs2);
-
-            t0 = System.nanoTime();
-            long cs3 = 0;
-            for (int i = 0; i < WRITE_ITERS; i++) {
-                byte[] arr = dto.toBytes(); // alloc per op
-                cs3 += arr[0];
-            }
-            t1 = System.nanoTime();
-            print("OURS  serialize -> new byte[]", t1 - t0, WRITE_ITERS, cs3);
-
-            // ===== OURS: deserialize =====
-            t0 = System.nanoTime();
-            long cs4 = 0;
-            for (int i = 0; i < READ_ITERS; i++) {
-                ExampleDto x = Ser.fromBytes(oursOnce, 0, ExampleDto.class);
-                cs4 += (x.isBooleanValue() ? 1 : 0);
-                if (x.getLongValue() != null) cs4 += (x.getLongValue() & 0xF);
-                if (x.getString() != null)    cs4 += x.getString().length();
-            }
-            t1 = System.nanoTime();
-            print("OURS  deserialize <- byte[]", t1 - t0, READ_ITERS, cs4);
-
-            t0 = System.nanoTime();
-            long cs5 = 0;
-            for (int i = 0; i < READ_ITERS; i++) {
-                ExampleDto x = Ser.fromSegment(srcSeg, 0, ExampleDto.class);
-                cs5 += (x.isBooleanValue() ? 1 : 0);
-                if (x.getLongValue2() != null) cs5 += (x.getLongValue2() & 0xF);
-                if (x.getString2() != null)    cs5 += x.getString2().length();
-            }
-            t1 = System.nanoTime();
-            print("OURS  deserialize <- segment", t1 - t0, READ_ITERS, cs5);
-
-            // ===== KRYO: serialize =====
-            t0 = System.nanoTime();
-            int cs6 = 0;
-            for (int i = 0; i < WRITE_ITERS; i++) {
-                kryoOut.setPosition(0);                  // вместо clear()
-                kryo.writeObject(kryoOut, dto);
-                cs6 += kryoOut.getBuffer()[0] & 0xFF;
-            }
-            t1 = System.nanoTime();
-            print("KRYO  serialize -> Output(buffer)", t1 - t0, WRITE_ITERS, cs6);
-
-            // ===== KRYO: deserialize =====
-            t0 = System.nanoTime();
-            long cs7 = 0;
-            for (int i = 0; i < READ_ITERS; i++) {
-                kryoIn.setBuffer(kryoStable, 0, kryoStable.length);
-                ExampleDto x = kryo.readObject(kryoIn, ExampleDto.class);
-                cs7 += (x.isBooleanValue() ? 1 : 0);
-                if (x.getLongValue() != null) cs7 += (x.getLongValue() & 0xF);
-                if (x.getString() != null)    cs7 += x.getString().length();
-            }
-            t1 = System.nanoTime();
-            print("KRYO  deserialize <- byte[]", t1 - t0, READ_ITERS, cs7);
+        dto.setLongValue2((i % 3 == 0) ? null : 89L + i);
+        return dto;
+    }
 
-            // ===== JDK: serialize =====
-            t0 = System.nanoTime();
-            long cs8 = 0;
-            for (int i = 0; i < JDK_W_ITERS; i++) {
-                byte[] arr = jdkSerialize(dto);
-                cs8 += arr[0] & 0xFF;
-            }
-            t1 = System.nanoTime();
-            print("JDK   serialize -> byte[] (OOS per op)", t1 - t0, JDK_W_ITERS, cs8);
+    // equals у DTO учитывает Ser (callSuper), сравниваем содержимое
+    private static boolean same(final ExampleDto a, final ExampleDto b) {
+        return a.toString().equals(b.toString());
+    }
 
-            // ===== JDK: deserialize =====
-            t0 = System.nanoTime();
-            long cs9 = 0;
-            for (int i = 0; i < JDK_R_ITERS; i++) {
-                ExampleDto x = jdkDeserialize(jdkStable, ExampleDto.class);
-                cs9 += (x.isBooleanValue() ? 1 : 0);
-                if (x.getLongValue2() != null) cs9 += (x.getLongValue2() & 0xF);
-                if (x.getString2() != null)    cs9 += x.getString2().length();
-            }
-            t1 = System.nanoTime();
-            print("JDK   deserialize <- byte[] (OIS per op)", t1 - t0, JDK_R_ITERS, cs9);
-        }
+    private static void check(final String what, final boolean ok) {
+        if (!ok) throw new IllegalStateException("Round-trip failed: " + what);
+        System.out.println("ok  " + what);
     }
 
     // ---- Kryo ----
@@ -208,52 +147,4 @@ public final class Main {
             return baos.toByteArray();
         } catch (IOException e) { throw new RuntimeException(e); }
     }
-
-    @SuppressWarnings("unchecked")
-    private static <T> T jdkDeserialize(byte[] bytes, Class<T> cls) {
-        try {
-            ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
-            try (ObjectInputStream ois = new ObjectInputStream(bais)) {
-                return (T) ois.readObject();
-            }
-        } catch (IOException | ClassNotFoundException e) { throw new RuntimeException(e); }
-    }
-
-    // ---- util ----
-    private static byte[] copyOf(byte[] src, int len) {
-        byte[] dst = new byte[len];
-        System.arraycopy(src, 0, dst, 0, len);
-        return dst;
-    }
-
-    private static void warmup(
-            ExampleDto dto, byte[] oursByteBuf, MemorySegment oursSegBuf,
-            Kryo kryo, Output kryoOut, Input kryoIn,
-            byte[] kryoStable, byte[] jdkStable
-    ) {
-        try (Arena arena = Arena.ofConfined()) {
-            final MemorySegment segTmp = arena.allocate(oursSegBuf.byteSize(), 1);
-            for (int i = 0; i < WARMUP_ITERS; i++) {
-                dto.writeTo(oursByteBuf, 0);
-                dto.writeTo(oursSegBuf, 0);
-                Ser.fromBytes(oursByteBuf, 0, ExampleDto.class);
-                Ser.fromSegment(oursSegBuf, 0, ExampleDto.class);
-
-                kryoOut.setPosition(0);
-                kryo.writeObject(kryoOut, dto);
-                kryoIn.setBuffer(kryoStable, 0, kryoStable.length);
-                kryo.readObject(kryoIn, ExampleDto.class);
-
-                jdkDeserialize(jdkStable, ExampleDto.class);
-
-                MemorySegment.copy(oursSegBuf, 0, segTmp, 0, Math.min(oursSegBuf.byteSize(), segTmp.byteSize()));
-            }
-        }
-    }
-
-    private static void print(String label, long nanos, int iters, long checksum) {
-        long avg = nanos / iters;
-        System.out.printf("=== %s ===%nTotal time (ns):   %d%nAverage per op:   %d ns%nChecksum:         %d%n%n",
-                label, nanos, avg, checksum);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+package pathcreator.proxy.example;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static pathcreator.proxy.example.SchemaCompiler.I32;
+
+/**
+ * Пачка записей одним непрерывным блоком:
+ * {@code count(u32) | offsets(u32[count + 1]) | record_0 | record_1 | ...}.
+ * <p>
+ * {@code offsets[i]} — смещение записи {@code i} от начала пачки, {@code offsets[count]} — полный
+ * размер пачки, поэтому и адрес, и длина любой записи берутся за O(1). Все числа little-endian,
+ * как и в заголовке записи. Пачку можно целиком отправить, записать в файл или отобразить через mmap.
+ * <p>
+ * Большие пачки кодируются параллельно {@link #encodeParallel}: размеры записей считаются
+ * fork-join'ом, смещения — префиксной суммой, затем каждый воркер пишет свой диапазон записей
+ * прямо в общий сегмент. Результат байт-в-байт совпадает с {@link #encode}.
+ */
+public final class Batches {
+
+    private Batches() {
+    }
+
+    static final int OFF_COUNT = 0;  // u32
+    static final int OFF_TABLE = 4;  // u32[count + 1]
+
+    // гранулярность encodeParallel: не мельче MIN_LEAF записей, ~LEAVES_PER_WORKER листьев на воркер
+    private static final int MIN_LEAF = 256;
+    private static final int LEAVES_PER_WORKER = 8;
+
+    /**
+     * Размер заголовка пачки из {@code count} записей.
+     */
+    public static int headerSize(final int count) {
+        return OFF_TABLE + 4 * (count + 1);
+    }
+
+    /**
+     * Дописывает пачку в {@code out} с текущей позиции: заголовок резервируется один раз,
+     * записи кодируются за один проход каждая ({@link Codec#encodeTo(Object, WritableOutput)}).
+     *
+     * @return размер пачки в байтах
+     * @throws IllegalArgumentException если пачка не укладывается в u32-смещения
+     */
+    public static <T> int encode(final Codec<T> codec, final List<? extends T> values, final WritableOutput out) {
+        final int count = values.size();
+        final long start = out.reserve(headerSize(count));
+        out.segment().set(I32, start + OFF_COUNT, count);
+        for (int i = 0; i < count; i++) {
+            // сегмент берём заново: буфер мог вырасти на предыдущей записи
+            out.segment().set(I32, start + OFF_TABLE + 4L * i, relative(out.position() - start));
+            codec.encodeTo(values.get(i), out);
+        }
+        final int total = relative(out.position() - start);
+        out.segment().set(I32, start + OFF_TABLE + 4L * count, total);
+        return total;
+    }
+
+    /**
+     * {@link #encodeParallel(Codec, List, Arena, ForkJoinPool)} на общем пуле.
+     */
+    public static <T> MemorySegment encodeParallel(final Codec<T> codec, final List<? extends T> values,
+                                                   final Arena arena) {
+        return encodeParallel(codec, values, arena, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно кодирует пачку в новый сегмент из {@code arena}.
+     * <ol>
+     *   <li>размеры записей — {@link Codec#byteSize(Object)} по диапазонам в {@code pool};</li>
+     *   <li>смещения — префиксная сумма размеров (она же таблица смещений заголовка);</li>
+     *   <li>запись — каждый диапазон пишет свои записи по своим смещениям, без промежуточных буферов и блокировок.</li>
+     * </ol>
+     * Потоковое состояние кодека (пул var-payload'ов, {@link StringCache}) у каждого воркера своё;
+     * листовые задачи не форкают внутри вызова кодека, поэтому оно не переиспользуется реентерабельно.
+     * DTO не должны меняться во время вызова: размер из первого прохода обязан совпасть с записанным.
+     * Арена должна допускать доступ из других потоков ({@link Arena#ofShared()}, {@link Arena#ofAuto()},
+     * {@link Arena#global()}).
+     *
+     * @return сегмент ровно под пачку
+     * @throws IllegalArgumentException если пачка не укладывается в u32-смещения
+     */
+    public static <T> MemorySegment encodeParallel(final Codec<T> codec, final List<? extends T> values,
+                                                   final Arena arena, final ForkJoinPool pool) {
+        final Object[] items = values.toArray();
+        final int count = items.length;
+        final int[] offsets = new int[count + 1];
+        final int leaf = Math.max(MIN_LEAF, count / (pool.getParallelism() * LEAVES_PER_WORKER));
+
+        // 1. размеры (offsets[i] пока хранит размер записи i)
+        pool.invoke(new EncodeTask<>(codec, items, offsets, null, 0, count, leaf));
+
+        // 2. префиксная сумма: offsets[i] — смещение записи от начала пачки
+        long p = headerSize(count);
+        for (int i = 0; i < count; i++) {
+            final int size = offsets[i];
+            offsets[i] = relative(p);
+            p += size;
+        }
+        offsets[count] = relative(p);
+
+        final MemorySegment dst = arena.allocate(p, 8);
+        dst.set(I32, OFF_COUNT, count);
+        MemorySegment.copy(offsets, 0, dst, I32, OFF_TABLE, count + 1);
+
+        // 3. запись по диапазонам
+        pool.invoke(new EncodeTask<>(codec, items, offsets, dst, 0, count, leaf));
+        return dst;
+    }
+
+    /**
+     * Диапазон {@code [lo, hi)}: без {@code dst} — считает размеры в {@code offsets},
+     * с {@code dst} — пишет записи по смещениям из {@code offsets}.
+     */
+    private static final class EncodeTask<T> extends RecursiveAction {
+
+        private final Codec<T> codec;
+        private final Object[] items;
+        private final int[] offsets;
+        private final MemorySegment dst;
+        private final int lo;
+        private final int hi;
+        private final int leaf;
+
+        EncodeTask(final Codec<T> codec, final Object[] items, final int[] offsets, final MemorySegment dst,
+                   final int lo, final int hi, final int leaf) {
+            this.codec = codec;
+            this.items = items;
+            this.offsets = offsets;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.leaf = leaf;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (hi - lo > leaf) {
+                final int mid = (lo + hi) >>> 1;
+                invokeAll(new EncodeTask<>(codec, items, offsets, dst, lo, mid, leaf),
+                        new EncodeTask<>(codec, items, offsets, dst, mid, hi, leaf));
+                return;
+            }
+            if (dst == null) {
+                for (int i = lo; i < hi; i++) offsets[i] = codec.byteSize((T) items[i]);
+            } else {
+                for (int i = lo; i < hi; i++) codec.write((T) items[i], dst, offsets[i]);
+            }
+        }
+    }
+
+    /**
+     * Декодирует пачку. Заголовок, таблица смещений и версия формата проверяются один раз на пачку
+     * (её пишет один кодек, версия берётся у первой записи), затем записи читаются
+     * {@link Codec#readUnchecked} без повторных проверок.
+     *
+     * @throws IllegalArgumentException если заголовок или таблица смещений повреждены либо версия не совпадает
+     */
+    public static <T> List<T> decode(final Codec<T> codec, final MemorySegment src, final long off) {
+        final int count = count(src, off);
+        checkBounds(src, off, count);
+        checkTable(src, off, count);
+        final ArrayList<T> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            out.add(codec.readUnchecked(src, off + src.get(I32, off + OFF_TABLE + 4L * i)));
+        }
+        return out;
+    }
+
+    public static int count(final MemorySegment batch, final long off) {
+        return batch.get(I32, off + OFF_COUNT);
+    }
+
+    /**
+     * Полный размер пачки в байтах.
+     */
+    public static int byteSize(final MemorySegment batch, final long off) {
+        return batch.get(I32, off + OFF_TABLE + 4L * count(batch, off));
+    }
+
+    /**
+     * Абсолютное смещение записи {@code index} в сегменте.
+     */
+    public static long recordOffset(final MemorySegment batch, final long off, final int index) {
+        return off + batch.get(I32, off + OFF_TABLE + 4L * checkIndex(batch, off, index));
+    }
+
+    public static int recordSize(final MemorySegment batch, final long off, final int index) {
+        final long entry = off + OFF_TABLE + 4L * checkIndex(batch, off, index);
+        return batch.get(I32, entry + 4) - batch.get(I32, entry);
+    }
+
+    private static int checkIndex(final MemorySegment batch, final long off, final int index) {
+        final int count = count(batch, off);
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("index " + index + ", count " + count);
+        return index;
+    }
+
+    // заголовок и полный размер проверяются один раз на пачку
+    private static void checkBounds(final MemorySegment src, final long off, final int count) {
+        if (count < 0 || src.byteSize() - off < OFF_TABLE + 4L * (count + 1L)) {
+            throw new IllegalArgumentException("Corrupted batch header: count " + count);
+        }
+        final int total = src.get(I32, off + OFF_TABLE + 4L * count);
+        if (total < headerSize(count) || total > src.byteSize() - off) {
+            throw new IllegalArgumentException("Batch size " + total + " exceeds segment (" + (src.byteSize() - off) + ")");
+        }
+    }
+
+    // смещения не убывают и лежат в пределах пачки; версия — по первой записи
+    private static void checkTable(final MemorySegment src, final long off, final int count) {
+        final long table = off + OFF_TABLE;
+        int prev = headerSize(count);
+        for (int i = 0; i <= count; i++) {
+            final int at = src.get(I32, table + 4L * i);
+            if (at < prev) throw new IllegalArgumentException("Corrupted batch offset table at " + i + ": " + at);
+            prev = at;
+        }
+        if (count != 0 && src.get(I32, table + 4L * count) > src.get(I32, table)) {
+            final byte ver = src.get(SchemaCompiler.I8, off + src.get(I32, table) + SchemaCompiler.OFF_VER);
+            if (ver != SchemaCompiler.VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
+        }
+    }
+
+    private static int relative(final long size) {
+        if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("Batch too large: " + size + " bytes");
+        return (int) size;
+    }
+}
@@ -0,0 +1,31 @@
+package pathcreator.proxy.example;
+
+/**
+ * Сравнение {@code value <op> operand} для сканов по колонкам ({@link ColumnScans})
+ * и предикатов по закодированным записям ({@link RecordPredicates}).
+ */
+public enum Cmp {
+    EQ, NE, LT, LE, GT, GE;
+
+    public boolean test(final long a, final long b) {
+        return switch (this) {
+            case EQ -> a == b;
+            case NE -> a != b;
+            case LT -> a < b;
+            case LE -> a <= b;
+            case GT -> a > b;
+            case GE -> a >= b;
+        };
+    }
+
+    public boolean test(final double a, final double b) {
+        return switch (this) {
+            case EQ -> a == b;
+            case NE -> a != b;
+            case LT -> a < b;
+            case LE -> a <= b;
+            case GT -> a > b;
+            case GE -> a >= b;
+        };
+    }
+}
@@ -2,6 +2,7 @@ package pathcreator.proxy.example;
 
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.List;
 
 public interface Codec<T> {
 
@@ -11,6 +12,29 @@ public interface Codec<T> {
 
     T read(final MemorySegment src, final long off);
 
+    /**
+     * Декодирует запись в уже существующий экземпляр {@code target} (без создания DTO).
+     * Массивы {@code byte[]} цели переиспользуются, если их длина совпадает с длиной поля.
+     * <p>
+     * Кодеки {@link SchemaCompiler} переопределяют метод. Реализация по умолчанию — для сторонних
+     * кодеков — сводится к {@link #read(MemorySegment, long)}: возвращает новый экземпляр, {@code target}
+     * не меняется, поэтому пользоваться нужно возвращённым значением.
+     *
+     * @return {@code target} (по умолчанию — новый экземпляр)
+     */
+    default T readInto(final MemorySegment src, final long off, final T target) {
+        return read(src, off);
+    }
+
+    /**
+     * Новый DTO из записи без проверки версии формата — для контейнеров, которые уже проверили
+     * заголовок сами ({@link Batches#decode}). Границы сегмента по-прежнему проверяет {@link MemorySegment}.
+     * Скомпилированные кодеки переопределяют; по умолчанию — обычный {@link #read(MemorySegment, long)}.
+     */
+    default T readUnchecked(final MemorySegment src, final long off) {
+        return read(src, off);
+    }
+
     default void write(final T value, final byte[] dst, final int off) {
         write(value, MemorySegment.ofArray(dst), off);
     }
@@ -19,6 +43,10 @@ public interface Codec<T> {
         return read(MemorySegment.ofArray(src), off);
     }
 
+    default T readInto(final byte[] src, final int off, final T target) {
+        return readInto(MemorySegment.ofArray(src), off, target);
+    }
+
     default byte[] encodeToBytes(final T value) {
         final int size = byteSize(value);
         final byte[] out = new byte[size];
@@ -26,6 +54,55 @@ public interface Codec<T> {
         return out;
     }
 
+    /**
+     * Дописывает запись в {@code out} с его текущей позиции, при необходимости растя буфер.
+     * Скомпилированные кодеки обходят DTO один раз: каждый геттер и кэш строк вызываются
+     * по одному разу на поле, без отдельного прохода {@link #byteSize(Object)}.
+     *
+     * @return длина записанной записи в байтах
+     */
+    default int encodeTo(final T value, final WritableOutput out) {
+        final int size = byteSize(value);
+        final long p = out.reserve(size);
+        final byte[] a = out.array();
+        if (a != null) write(value, a, (int) p);
+        else write(value, out.segment(), p);
+        return size;
+    }
+
+    /**
+     * Пачка записей одним блоком с таблицей смещений (формат — {@link Batches}).
+     *
+     * @return размер пачки в байтах
+     */
+    default int encodeBatch(final List<? extends T> values, final WritableOutput out) {
+        return Batches.encode(this, values, out);
+    }
+
+    /**
+     * Пачка в готовый сегмент с {@code off}.
+     *
+     * @throws IndexOutOfBoundsException если пачка не помещается
+     */
+    default int encodeBatch(final List<? extends T> values, final MemorySegment dst, final long off) {
+        return Batches.encode(this, values, WritableOutput.wrap(dst.asSlice(off)));
+    }
+
+    default List<T> decodeBatch(final MemorySegment src, final long off) {
+        return Batches.decode(this, src, off);
+    }
+
+    default List<T> decodeBatch(final byte[] src, final int off) {
+        return decodeBatch(MemorySegment.ofArray(src), off);
+    }
+
+    /**
+     * Запись {@code index} пачки за O(1), без разбора остальных.
+     */
+    default T readAt(final MemorySegment batch, final long off, final int index) {
+        return read(batch, Batches.recordOffset(batch, off, index));
+    }
+
     default MemorySegment encodeToNative(final T value, final Arena arena) {
         final int size = byteSize(value);
         final MemorySegment seg = arena.allocate(size, 1);
@@ -0,0 +1,1047 @@
+package pathcreator.proxy.example;
+
+import pathcreator.proxy.example.SchemaCompiler.FieldDef;
+import pathcreator.proxy.example.SchemaCompiler.Kind;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.Uid32Value;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.DynamicConstantDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static java.lang.constant.ConstantDescs.*;
+import static pathcreator.proxy.example.SchemaCompiler.*;
+
+/**
+ * Генератор байткода для {@link Codec}: на каждый DTO определяется hidden-класс, в котором
+ * запись/чтение развёрнуты в прямую последовательность блоков «по одному на поле», а геттеры
+ * и сеттеры вызываются через {@code invokevirtual} без {@link java.lang.invoke.MethodHandle}.
+ * <p>
+ * Сгенерированный код опирается только на статические хелперы этого класса
+ * (по одному на вид поля и тип буфера), поэтому C2 инлайнит весь encode/decode
+ * в несколько записей/чтений. Формат байт полностью совпадает с интерпретатором
+ * {@link SchemaCompiler} — оба режима взаимозаменяемы. {@code read} сводится к
+ * {@code readInto(..., new DTO())}, поэтому декод в существующий экземпляр не аллоцирует сам DTO.
+ * <p>
+ * Все encode-методы сначала один раз достают var-поля в локальные переменные (геттер и кэш строк —
+ * по разу на поле), считают из них размер и только потом пишут запись: {@code encodeToBytes},
+ * {@code encodeToNative} и {@code encodeTo} не делают отдельного прохода {@code byteSize}.
+ * <p>
+ * {@link ThreadLocal} кэша строк кодека передаётся как class data hidden-класса и читается
+ * через {@code ldc} динамической константы — для JIT это константа, как {@code static final}.
+ */
+final class CodecGenerator {
+
+    private CodecGenerator() {
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassDesc CD_SELF = desc(CodecGenerator.class);
+    private static final ClassDesc CD_CODEC = desc(Codec.class);
+    private static final ClassDesc CD_SEGMENT = desc(MemorySegment.class);
+    private static final ClassDesc CD_ARENA = desc(Arena.class);
+    private static final ClassDesc CD_OUTPUT = desc(WritableOutput.class);
+    private static final ClassDesc CD_BYTES = CD_byte.arrayType();
+    private static final ClassDesc CD_STR_CACHE = desc(StringCache.class);
+    private static final ClassDesc CD_THREAD_LOCAL = desc(ThreadLocal.class);
+
+    // class data hidden-класса — ThreadLocal<StringCache> кодека; ldc condy, резолвится один раз
+    private static final DynamicConstantDesc<ThreadLocal<?>> STR_CACHE_TL =
+            DynamicConstantDesc.ofNamed(BSM_CLASS_DATA, DEFAULT_NAME, CD_THREAD_LOCAL);
+    private static final ClassDesc CD_LDT = desc(LocalDateTime.class);
+    private static final ClassDesc CD_UID32 = desc(Uid32Value.class);
+
+    /**
+     * Тип буфера, для которого генерируется метод: {@code byte[]}+{@code int} или
+     * {@link MemorySegment}+{@code long}. Хелперы перегружены по этим парам.
+     */
+    private enum Target {
+        ARRAY(CD_BYTES, CD_int),
+        SEGMENT(CD_SEGMENT, CD_long);
+
+        final ClassDesc buf;
+        final ClassDesc pos;
+
+        Target(final ClassDesc buf, final ClassDesc pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+    }
+
+    /**
+     * Можно ли сгенерировать для типа прямые вызовы: класс и конструктор без аргументов public,
+     * тип виден из нашего ClassLoader'а (hidden-класс резолвит его по имени).
+     */
+    static boolean supports(final Class<?> type) {
+        try {
+            final int mod = type.getModifiers();
+            return Modifier.isPublic(mod)
+                    && !Modifier.isAbstract(mod)
+                    && type.getConstructor() != null
+                    && Class.forName(type.getName(), false, CodecGenerator.class.getClassLoader()) == type;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Codec<T> generate(final Class<T> type, final List<FieldDef> fields,
+                                 final int headSize, final int tailBase,
+                                 final ThreadLocal<StringCache> strCache) throws Throwable {
+        final ClassDesc self = ClassDesc.of(CodecGenerator.class.getPackageName(), type.getSimpleName() + "$$Codec");
+        final ClassDesc dto = desc(type);
+
+        final byte[] bytes = ClassFile.of().build(self, cb -> {
+            cb.withFlags(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC);
+            cb.withSuperclass(CD_Object);
+            cb.withInterfaceSymbols(CD_CODEC);
+            cb.withMethodBody(INIT_NAME, MTD_void, ClassFile.ACC_PUBLIC,
+                    c -> c.aload(0).invokespecial(CD_Object, INIT_NAME, MTD_void).return_());
+            cb.withMethodBody("byteSize", MethodTypeDesc.of(CD_int, CD_Object), ClassFile.ACC_PUBLIC,
+                    c -> emitByteSize(c, dto, fields, tailBase));
+            cb.withMethodBody("encodeToBytes", MethodTypeDesc.of(CD_BYTES, CD_Object), ClassFile.ACC_PUBLIC,
+                    c -> emitEncodeToBytes(c, dto, fields, headSize, tailBase));
+            cb.withMethodBody("encodeToNative", MethodTypeDesc.of(CD_SEGMENT, CD_Object, CD_ARENA), ClassFile.ACC_PUBLIC,
+                    c -> emitEncodeToNative(c, dto, fields, headSize, tailBase));
+            cb.withMethodBody("encodeTo", MethodTypeDesc.of(CD_int, CD_Object, CD_OUTPUT), ClassFile.ACC_PUBLIC,
+                    c -> emitEncodeTo(c, dto, fields, headSize, tailBase));
+            for (final Target t : Target.values()) {
+                cb.withMethodBody("write", MethodTypeDesc.of(CD_void, CD_Object, t.buf, t.pos), ClassFile.ACC_PUBLIC,
+                        c -> emitWrite(c, t, dto, fields, headSize, tailBase));
+                cb.withMethodBody("read", MethodTypeDesc.of(CD_Object, t.buf, t.pos), ClassFile.ACC_PUBLIC,
+                        c -> emitRead(c, t, self, dto));
+                cb.withMethodBody("readInto", MethodTypeDesc.of(CD_Object, t.buf, t.pos, CD_Object), ClassFile.ACC_PUBLIC,
+                        c -> emitReadInto(c, t, dto, fields, headSize, tailBase, false));
+            }
+            cb.withMethodBody("readUnchecked", MethodTypeDesc.of(CD_Object, CD_SEGMENT, CD_long), ClassFile.ACC_PUBLIC,
+                    c -> emitReadInto(c, Target.SEGMENT, dto, fields, headSize, tailBase, true));
+        });
+
+        final MethodHandles.Lookup hidden = (strCache != null)
+                ? LOOKUP.defineHiddenClassWithClassData(bytes, strCache, true)
+                : LOOKUP.defineHiddenClass(bytes, true);
+        return (Codec<T>) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+    }
+
+    // ---- emit ----
+
+    private static void emitByteSize(final CodeBuilder c, final ClassDesc dto, final List<FieldDef> fields,
+                                     final int tailBase) {
+        final int v = loadDto(c, dto);
+        final int[] payloads = emitPayloads(c, dto, v, fields);
+        c.iload(emitSize(c, payloads, tailBase));
+        c.ireturn();
+    }
+
+    private static void emitWrite(final CodeBuilder c, final Target t, final ClassDesc dto,
+                                  final List<FieldDef> fields, final int headSize, final int tailBase) {
+        final int v = loadDto(c, dto);
+        final int[] payloads = emitPayloads(c, dto, v, fields);
+        emitRecord(c, t, dto, fields, v, c.parameterSlot(1), c.parameterSlot(2), payloads, headSize, tailBase);
+        c.return_();
+    }
+
+    /**
+     * {@code byte[] out = new byte[size]; <запись в out с 0>; return out;}
+     */
+    private static void emitEncodeToBytes(final CodeBuilder c, final ClassDesc dto, final List<FieldDef> fields,
+                                          final int headSize, final int tailBase) {
+        final int v = loadDto(c, dto);
+        final int[] payloads = emitPayloads(c, dto, v, fields);
+        final int size = emitSize(c, payloads, tailBase);
+
+        final int out = c.allocateLocal(TypeKind.REFERENCE);
+        c.iload(size).newarray(TypeKind.BYTE).astore(out);
+        final int off = c.allocateLocal(TypeKind.INT);
+        c.iconst_0().istore(off);
+        emitRecord(c, Target.ARRAY, dto, fields, v, out, off, payloads, headSize, tailBase);
+        c.aload(out).areturn();
+    }
+
+    /**
+     * {@code MemorySegment out = arena.allocate(size, 1); <запись в out с 0>; return out;}
+     */
+    private static void emitEncodeToNative(final CodeBuilder c, final ClassDesc dto, final List<FieldDef> fields,
+                                           final int headSize, final int tailBase) {
+        final int v = loadDto(c, dto);
+        final int[] payloads = emitPayloads(c, dto, v, fields);
+        final int size = emitSize(c, payloads, tailBase);
+
+        final int out = c.allocateLocal(TypeKind.REFERENCE);
+        c.aload(c.parameterSlot(1)).iload(size).i2l().lconst_1();
+        c.invokeinterface(CD_ARENA, "allocate", MethodTypeDesc.of(CD_SEGMENT, CD_long, CD_long));
+        c.astore(out);
+        final int off = c.allocateLocal(TypeKind.LONG);
+        c.lconst_0().lstore(off);
+        emitRecord(c, Target.SEGMENT, dto, fields, v, out, off, payloads, headSize, tailBase);
+        c.aload(out).areturn();
+    }
+
+    /**
+     * {@code long p = out.reserve(size);} затем запись в {@code out.array()} или, для off-heap,
+     * в {@code out.segment()}; возвращает {@code size}.
+     */
+    private static void emitEncodeTo(final CodeBuilder c, final ClassDesc dto, final List<FieldDef> fields,
+                                     final int headSize, final int tailBase) {
+        final int v = loadDto(c, dto);
+        final int output = c.parameterSlot(1);
+        final int[] payloads = emitPayloads(c, dto, v, fields);
+        final int size = emitSize(c, payloads, tailBase);
+
+        final int p = c.allocateLocal(TypeKind.LONG);
+        c.aload(output).iload(size);
+        c.invokevirtual(CD_OUTPUT, "reserve", MethodTypeDesc.of(CD_long, CD_int));
+        c.lstore(p);
+
+        final Label segment = c.newLabel();
+        final Label done = c.newLabel();
+        final int buf = c.allocateLocal(TypeKind.REFERENCE);
+        c.aload(output).invokevirtual(CD_OUTPUT, "array", MethodTypeDesc.of(CD_BYTES)).astore(buf);
+        c.aload(buf).ifnull(segment);
+
+        final int off = c.allocateLocal(TypeKind.INT);
+        c.lload(p).l2i().istore(off);
+        emitRecord(c, Target.ARRAY, dto, fields, v, buf, off, payloads, headSize, tailBase);
+        c.goto_(done);
+
+        c.labelBinding(segment);
+        final int seg = c.allocateLocal(TypeKind.REFERENCE);
+        c.aload(output).invokevirtual(CD_OUTPUT, "segment", MethodTypeDesc.of(CD_SEGMENT)).astore(seg);
+        emitRecord(c, Target.SEGMENT, dto, fields, v, seg, p, payloads, headSize, tailBase);
+
+        c.labelBinding(done);
+        c.iload(size).ireturn();
+    }
+
+    private static int loadDto(final CodeBuilder c, final ClassDesc dto) {
+        final int v = c.allocateLocal(TypeKind.REFERENCE);
+        c.aload(c.parameterSlot(0)).checkcast(dto).astore(v);
+        return v;
+    }
+
+    /**
+     * Единственный вызов геттеров var-полей: payload'ы в локальные переменные, индекс — {@code lenIndex}.
+     */
+    private static int[] emitPayloads(final CodeBuilder c, final ClassDesc dto, final int v,
+                                      final List<FieldDef> fields) {
+        final int cache = loadStrCache(c, fields);
+        int lenCount = 0;
+        for (final FieldDef f : fields) if (f.lenIndex() >= 0) lenCount++;
+        final int[] payloads = new int[lenCount];
+        for (final FieldDef f : fields) {
+            if (f.lenIndex() < 0) continue;
+            final int pl = c.allocateLocal(TypeKind.REFERENCE);
+            loadPayload(c, dto, v, cache, f);
+            c.astore(pl);
+            payloads[f.lenIndex()] = pl;
+        }
+        return payloads;
+    }
+
+    /**
+     * {@code int size = tailBase + len(payload_0) + ...}
+     */
+    private static int emitSize(final CodeBuilder c, final int[] payloads, final int tailBase) {
+        final int size = c.allocateLocal(TypeKind.INT);
+        c.loadConstant(tailBase);
+        for (final int pl : payloads) {
+            c.aload(pl);
+            c.invokestatic(CD_SELF, "len", MethodTypeDesc.of(CD_int, CD_BYTES));
+            c.iadd();
+        }
+        c.istore(size);
+        return size;
+    }
+
+    /**
+     * Запись целиком (заголовок, fixed, tail) в {@code buf} с {@code off} из уже собранных payload'ов.
+     */
+    private static void emitRecord(final CodeBuilder c, final Target t, final ClassDesc dto,
+                                   final List<FieldDef> fields, final int v, final int buf, final int off,
+                                   final int[] payloads, final int headSize, final int tailBase) {
+        c.aload(buf);
+        pos(c, t, off, OFF_VER);
+        c.invokestatic(CD_SELF, "wVersion", MethodTypeDesc.of(CD_void, t.buf, t.pos));
+
+        final int pres = c.allocateLocal(TypeKind.LONG);
+        c.lconst_0().lstore(pres);
+
+        // таблица длин
+        for (final FieldDef f : fields) {
+            if (f.lenIndex() < 0) continue;
+            c.lload(pres);
+            c.aload(buf);
+            pos(c, t, off, OFF_LENS + 4 * f.lenIndex());
+            c.aload(payloads[f.lenIndex()]);
+            c.loadConstant(bitMask(f.presenceBit()));
+            c.invokestatic(CD_SELF, "wLen", MethodTypeDesc.of(CD_long, t.buf, t.pos, CD_BYTES, CD_long));
+            c.lor().lstore(pres);
+        }
+
+        // fixed
+        for (final FieldDef f : fields) {
+            if (f.fixedSize() == 0) continue;
+            if (f.kind() == Kind.UID32) {
+                // пустое поле получает контейнер, в который wUid32 сохранит сгенерированный UID
+                final Label has = c.newLabel();
+                c.aload(v);
+                invokeGetter(c, dto, f.readMethod());
+                c.ifnonnull(has);
+                c.aload(v);
+                c.new_(CD_UID32).dup().invokespecial(CD_UID32, INIT_NAME, MTD_void);
+                invokeSetter(c, dto, f.writeMethod());
+                c.labelBinding(has);
+            }
+            final boolean optional = f.presenceBit() >= 0;
+            if (optional) c.lload(pres);
+            c.aload(buf);
+            pos(c, t, off, headSize + f.fixedOffset());
+            c.aload(v);
+            invokeGetter(c, dto, f.readMethod());
+            if (optional) {
+                c.loadConstant(bitMask(f.presenceBit()));
+                c.invokestatic(CD_SELF, "w" + suffix(f.kind()),
+                        MethodTypeDesc.of(CD_long, t.buf, t.pos, valueType(f.kind()), CD_long));
+                c.lor().lstore(pres);
+            } else {
+                c.invokestatic(CD_SELF, "w" + suffix(f.kind()),
+                        MethodTypeDesc.of(CD_void, t.buf, t.pos, valueType(f.kind())));
+            }
+        }
+
+        c.aload(buf);
+        pos(c, t, off, OFF_PRES64);
+        c.lload(pres);
+        c.invokestatic(CD_SELF, "wPresence", MethodTypeDesc.of(CD_void, t.buf, t.pos, CD_long));
+
+        // tail
+        if (payloads.length != 0) {
+            final int p = allocatePos(c, t);
+            pos(c, t, off, tailBase);
+            store(c, t, p);
+            for (final int pl : payloads) {
+                c.aload(buf);
+                load(c, t, p);
+                c.aload(pl);
+                c.invokestatic(CD_SELF, "wTail", MethodTypeDesc.of(t.pos, t.buf, t.pos, CD_BYTES));
+                store(c, t, p);
+            }
+        }
+    }
+
+    /**
+     * {@code read(buf, off)} = {@code readInto(buf, off, new DTO())}.
+     */
+    private static void emitRead(final CodeBuilder c, final Target t, final ClassDesc self, final ClassDesc dto) {
+        c.aload(c.receiverSlot());
+        c.aload(c.parameterSlot(0));
+        load(c, t, c.parameterSlot(1));
+        c.new_(dto).dup().invokespecial(dto, INIT_NAME, MTD_void);
+        c.invokevirtual(self, "readInto", MethodTypeDesc.of(CD_Object, t.buf, t.pos, CD_Object));
+        c.areturn();
+    }
+
+    /**
+     * Тело {@code readInto(buf, off, target)}; при {@code unchecked} — {@code readUnchecked(buf, off)}:
+     * без проверки версии и в новый DTO.
+     */
+    private static void emitReadInto(final CodeBuilder c, final Target t, final ClassDesc dto,
+                                     final List<FieldDef> fields, final int headSize, final int tailBase,
+                                     final boolean unchecked) {
+        final int buf = c.parameterSlot(0);
+        final int off = c.parameterSlot(1);
+
+        if (!unchecked) {
+            c.aload(buf);
+            pos(c, t, off, OFF_VER);
+            c.invokestatic(CD_SELF, "checkVersion", MethodTypeDesc.of(CD_void, t.buf, t.pos));
+        }
+
+        final int pres = c.allocateLocal(TypeKind.LONG);
+        c.aload(buf);
+        pos(c, t, off, OFF_PRES64);
+        c.invokestatic(CD_SELF, "rPresence", MethodTypeDesc.of(CD_long, t.buf, t.pos));
+        c.lstore(pres);
+
+        final int obj = c.allocateLocal(TypeKind.REFERENCE);
+        if (unchecked) c.new_(dto).dup().invokespecial(dto, INIT_NAME, MTD_void).astore(obj);
+        else c.aload(c.parameterSlot(2)).checkcast(dto).astore(obj);
+
+        // fixed
+        for (final FieldDef f : fields) {
+            if (f.fixedSize() == 0) continue;
+            final boolean optional = f.presenceBit() >= 0;
+            c.aload(obj);
+            c.aload(buf);
+            pos(c, t, off, headSize + f.fixedOffset());
+            if (optional) {
+                c.lload(pres);
+                c.loadConstant(bitMask(f.presenceBit()));
+                c.invokestatic(CD_SELF, "r" + suffix(f.kind()),
+                        MethodTypeDesc.of(valueType(f.kind()), t.buf, t.pos, CD_long, CD_long));
+            } else if (f.kind() == Kind.UID32) {
+                // текущий контейнер цели — кандидат на переиспользование
+                c.aload(obj);
+                invokeGetter(c, dto, f.readMethod());
+                c.invokestatic(CD_SELF, "rUid32", MethodTypeDesc.of(CD_UID32, t.buf, t.pos, CD_UID32));
+            } else {
+                c.invokestatic(CD_SELF, "r" + suffix(f.kind()), MethodTypeDesc.of(valueType(f.kind()), t.buf, t.pos));
+            }
+            invokeSetter(c, dto, f.writeMethod());
+        }
+
+        // tail
+        boolean hasVar = false;
+        for (final FieldDef f : fields) hasVar |= f.lenIndex() >= 0;
+        if (hasVar) {
+            final int p = allocatePos(c, t);
+            final int len = c.allocateLocal(TypeKind.INT);
+            pos(c, t, off, tailBase);
+            store(c, t, p);
+            for (final FieldDef f : fields) {
+                if (f.lenIndex() < 0) continue;
+                c.aload(buf);
+                pos(c, t, off, OFF_LENS + 4 * f.lenIndex());
+                c.invokestatic(CD_SELF, "rLen", MethodTypeDesc.of(CD_int, t.buf, t.pos));
+                c.istore(len);
+
+                c.aload(obj);
+                c.aload(buf);
+                load(c, t, p);
+                c.iload(len);
+                c.lload(pres);
+                c.loadConstant(bitMask(f.presenceBit()));
+                if (f.kind() == Kind.BYTES) {
+                    // текущий массив цели — кандидат на переиспользование
+                    c.aload(obj);
+                    invokeGetter(c, dto, f.readMethod());
+                    c.invokestatic(CD_SELF, "rBytes",
+                            MethodTypeDesc.of(CD_BYTES, t.buf, t.pos, CD_int, CD_long, CD_long, CD_BYTES));
+                } else {
+                    c.invokestatic(CD_SELF, "rStr",
+                            MethodTypeDesc.of(CD_String, t.buf, t.pos, CD_int, CD_long, CD_long));
+                }
+                invokeSetter(c, dto, f.writeMethod());
+
+                // p += len
+                load(c, t, p);
+                c.iload(len);
+                if (t == Target.SEGMENT) {
+                    c.i2l().ladd();
+                } else {
+                    c.iadd();
+                }
+                store(c, t, p);
+            }
+        }
+
+        c.aload(obj).areturn();
+    }
+
+    // ---- emit helpers ----
+
+    private static int loadStrCache(final CodeBuilder c, final List<FieldDef> fields) {
+        for (final FieldDef f : fields) {
+            if (f.strCached()) {
+                final int cache = c.allocateLocal(TypeKind.REFERENCE);
+                c.loadConstant(STR_CACHE_TL);
+                c.invokevirtual(CD_THREAD_LOCAL, "get", MethodTypeDesc.of(CD_Object));
+                c.checkcast(CD_STR_CACHE);
+                c.astore(cache);
+                return cache;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Кладёт на стек {@code byte[]} var-поля: UTF-8 строки (через TL-кэш, если поле кэшируется) или сам массив.
+     */
+    private static void loadPayload(final CodeBuilder c, final ClassDesc dto, final int v, final int cache,
+                                    final FieldDef f) {
+        if (f.strCached()) {
+            c.aload(cache);
+            c.aload(v);
+            invokeGetter(c, dto, f.readMethod());
+            c.invokestatic(CD_SELF, "utf8", MethodTypeDesc.of(CD_BYTES, CD_STR_CACHE, CD_String));
+        } else if (f.kind() == Kind.STRING) {
+            c.aload(v);
+            invokeGetter(c, dto, f.readMethod());
+            c.invokestatic(CD_SELF, "utf8", MethodTypeDesc.of(CD_BYTES, CD_String));
+        } else {
+            c.aload(v);
+            invokeGetter(c, dto, f.readMethod());
+        }
+    }
+
+    private static void invokeGetter(final CodeBuilder c, final ClassDesc dto, final Method m) {
+        c.invokevirtual(dto, m.getName(), MethodTypeDesc.of(desc(m.getReturnType())));
+    }
+
+    private static void invokeSetter(final CodeBuilder c, final ClassDesc dto, final Method m) {
+        final Class<?> ret = m.getReturnType();
+        c.invokevirtual(dto, m.getName(), MethodTypeDesc.of(desc(ret), desc(m.getParameterTypes()[0])));
+        if (ret == long.class || ret == double.class) c.pop2();
+        else if (ret != void.class) c.pop();
+    }
+
+    /**
+     * Кладёт на стек {@code off + add} нужного для {@code t} типа.
+     */
+    private static void pos(final CodeBuilder c, final Target t, final int off, final int add) {
+        if (t == Target.ARRAY) {
+            c.iload(off);
+            if (add != 0) c.loadConstant(add).iadd();
+        } else {
+            c.lload(off);
+            if (add != 0) c.loadConstant((long) add).ladd();
+        }
+    }
+
+    private static int allocatePos(final CodeBuilder c, final Target t) {
+        return c.allocateLocal(t == Target.ARRAY ? TypeKind.INT : TypeKind.LONG);
+    }
+
+    private static void load(final CodeBuilder c, final Target t, final int slot) {
+        if (t == Target.ARRAY) c.iload(slot);
+        else c.lload(slot);
+    }
+
+    private static void store(final CodeBuilder c, final Target t, final int slot) {
+        if (t == Target.ARRAY) c.istore(slot);
+        else c.lstore(slot);
+    }
+
+    private static String suffix(final Kind k) {
+        return switch (k) {
+            case BOOL_P -> "Bool";
+            case BYTE_P -> "Byte";
+            case SHORT_P -> "Short";
+            case CHAR_P -> "Char";
+            case INT_P -> "Int";
+            case LONG_P -> "Long";
+            case FLOAT_P -> "Float";
+            case DOUBLE_P -> "Double";
+            case BOOL_B -> "BoolB";
+            case BYTE_B -> "ByteB";
+            case SHORT_B -> "ShortB";
+            case CHAR_B -> "CharB";
+            case INT_B -> "IntB";
+            case LONG_B -> "LongB";
+            case FLOAT_B -> "FloatB";
+            case DOUBLE_B -> "DoubleB";
+            case STRING -> "Str";
+            case BYTES -> "Bytes";
+            case LDT -> "Ldt";
+            case UID32 -> "Uid32";
+        };
+    }
+
+    private static ClassDesc valueType(final Kind k) {
+        return switch (k) {
+            case BOOL_P -> CD_boolean;
+            case BYTE_P -> CD_byte;
+            case SHORT_P -> CD_short;
+            case CHAR_P -> CD_char;
+            case INT_P -> CD_int;
+            case LONG_P -> CD_long;
+            case FLOAT_P -> CD_float;
+            case DOUBLE_P -> CD_double;
+            case BOOL_B -> CD_Boolean;
+            case BYTE_B -> CD_Byte;
+            case SHORT_B -> CD_Short;
+            case CHAR_B -> CD_Character;
+            case INT_B -> CD_Integer;
+            case LONG_B -> CD_Long;
+            case FLOAT_B -> CD_Float;
+            case DOUBLE_B -> CD_Double;
+            case STRING -> CD_String;
+            case BYTES -> CD_BYTES;
+            case LDT -> CD_LDT;
+            case UID32 -> CD_UID32;
+        };
+    }
+
+    private static ClassDesc desc(final Class<?> c) {
+        return ClassDesc.ofDescriptor(c.descriptorString());
+    }
+
+    // =====================================================================
+    // Рантайм-хелперы, вызываемые из сгенерированного кода (invokestatic).
+    // =====================================================================
+
+    // ---- common ----
+
+    static byte[] utf8(final StringCache cache, final String s) {
+        return cache.utf8(s);
+    }
+
+    static byte[] utf8(final String s) {
+        return (s == null) ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int len(final byte[] payload) {
+        return (payload == null) ? 0 : payload.length;
+    }
+
+    // ---- write: byte[] ----
+
+    static void wVersion(final byte[] a, final int p) {
+        a[p] = VERSION;
+    }
+
+    static void wPresence(final byte[] a, final int p, final long presence) {
+        putLongLE(a, p, presence);
+    }
+
+    static long wLen(final byte[] a, final int p, final byte[] payload, final long bit) {
+        if (payload == null) {
+            putIntLE(a, p, 0);
+            return 0L;
+        }
+        putIntLE(a, p, payload.length);
+        return bit;
+    }
+
+    static int wTail(final byte[] a, final int p, final byte[] payload) {
+        if (payload == null) return p;
+        System.arraycopy(payload, 0, a, p, payload.length);
+        return p + payload.length;
+    }
+
+    static void wBool(final byte[] a, final int p, final boolean v) {
+        a[p] = (byte) (v ? 1 : 0);
+    }
+
+    static void wByte(final byte[] a, final int p, final byte v) {
+        a[p] = v;
+    }
+
+    static void wShort(final byte[] a, final int p, final short v) {
+        putIntLE(a, p, v);
+    }
+
+    static void wChar(final byte[] a, final int p, final char v) {
+        putIntLE(a, p, v);
+    }
+
+    static void wInt(final byte[] a, final int p, final int v) {
+        putIntLE(a, p, v);
+    }
+
+    static void wLong(final byte[] a, final int p, final long v) {
+        putLongLE(a, p, v);
+    }
+
+    static void wFloat(final byte[] a, final int p, final float v) {
+        putIntLE(a, p, Float.floatToRawIntBits(v));
+    }
+
+    static void wDouble(final byte[] a, final int p, final double v) {
+        putLongLE(a, p, Double.doubleToRawLongBits(v));
+    }
+
+    static long wBoolB(final byte[] a, final int p, final Boolean o, final long bit) {
+        if (o == null) return 0L;
+        a[p] = (byte) (o ? 1 : 0);
+        return bit;
+    }
+
+    static long wByteB(final byte[] a, final int p, final Byte o, final long bit) {
+        if (o == null) return 0L;
+        a[p] = o;
+        return bit;
+    }
+
+    static long wShortB(final byte[] a, final int p, final Short o, final long bit) {
+        if (o == null) return 0L;
+        putIntLE(a, p, o.intValue());
+        return bit;
+    }
+
+    static long wCharB(final byte[] a, final int p, final Character o, final long bit) {
+        if (o == null) return 0L;
+        putIntLE(a, p, o.charValue());
+        return bit;
+    }
+
+    static long wIntB(final byte[] a, final int p, final Integer o, final long bit) {
+        if (o == null) return 0L;
+        putIntLE(a, p, o);
+        return bit;
+    }
+
+    static long wLongB(final byte[] a, final int p, final Long o, final long bit) {
+        if (o == null) return 0L;
+        putLongLE(a, p, o);
+        return bit;
+    }
+
+    static long wFloatB(final byte[] a, final int p, final Float o, final long bit) {
+        if (o == null) return 0L;
+        putIntLE(a, p, Float.floatToRawIntBits(o));
+        return bit;
+    }
+
+    static long wDoubleB(final byte[] a, final int p, final Double o, final long bit) {
+        if (o == null) return 0L;
+        putLongLE(a, p, Double.doubleToRawLongBits(o));
+        return bit;
+    }
+
+    static long wLdt(final byte[] a, final int p, final LocalDateTime o, final long bit) {
+        if (o == null) return 0L;
+        putLongLE(a, p, o.toEpochSecond(ZoneOffset.UTC));
+        putIntLE(a, p + 8, o.getNano());
+        return bit;
+    }
+
+    static void wUid32(final byte[] a, final int p, final Uid32Value o) {
+        if (o.isSet()) {
+            o.copyTo(a, p);
+        } else {
+            Uid32.generateInto(a, p);
+            o.copyFrom(a, p);
+        }
+    }
+
+    // ---- write: MemorySegment ----
+
+    static void wVersion(final MemorySegment s, final long p) {
+        s.set(I8, p, VERSION);
+    }
+
+    static void wPresence(final MemorySegment s, final long p, final long presence) {
+        s.set(I64_LE, p, presence);
+    }
+
+    static long wLen(final MemorySegment s, final long p, final byte[] payload, final long bit) {
+        if (payload == null) {
+            s.set(I32, p, 0);
+            return 0L;
+        }
+        s.set(I32, p, payload.length);
+        return bit;
+    }
+
+    static long wTail(final MemorySegment s, final long p, final byte[] payload) {
+        if (payload == null) return p;
+        MemorySegment.copy(MemorySegment.ofArray(payload), 0, s, p, payload.length);
+        return p + payload.length;
+    }
+
+    static void wBool(final MemorySegment s, final long p, final boolean v) {
+        s.set(I8, p, (byte) (v ? 1 : 0));
+    }
+
+    static void wByte(final MemorySegment s, final long p, final byte v) {
+        s.set(I8, p, v);
+    }
+
+    static void wShort(final MemorySegment s, final long p, final short v) {
+        s.set(I32, p, v);
+    }
+
+    static void wChar(final MemorySegment s, final long p, final char v) {
+        s.set(I32, p, v);
+    }
+
+    static void wInt(final MemorySegment s, final long p, final int v) {
+        s.set(I32, p, v);
+    }
+
+    static void wLong(final MemorySegment s, final long p, final long v) {
+        s.set(I64, p, v);
+    }
+
+    static void wFloat(final MemorySegment s, final long p, final float v) {
+        s.set(F32, p, v);
+    }
+
+    static void wDouble(final MemorySegment s, final long p, final double v) {
+        s.set(F64, p, v);
+    }
+
+    static long wBoolB(final MemorySegment s, final long p, final Boolean o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I8, p, (byte) (o ? 1 : 0));
+        return bit;
+    }
+
+    static long wByteB(final MemorySegment s, final long p, final Byte o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I8, p, o);
+        return bit;
+    }
+
+    static long wShortB(final MemorySegment s, final long p, final Short o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I32, p, o.intValue());
+        return bit;
+    }
+
+    static long wCharB(final MemorySegment s, final long p, final Character o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I32, p, o.charValue());
+        return bit;
+    }
+
+    static long wIntB(final MemorySegment s, final long p, final Integer o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I32, p, o);
+        return bit;
+    }
+
+    static long wLongB(final MemorySegment s, final long p, final Long o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I64, p, o);
+        return bit;
+    }
+
+    static long wFloatB(final MemorySegment s, final long p, final Float o, final long bit) {
+        if (o == null) return 0L;
+        s.set(F32, p, o);
+        return bit;
+    }
+
+    static long wDoubleB(final MemorySegment s, final long p, final Double o, final long bit) {
+        if (o == null) return 0L;
+        s.set(F64, p, o);
+        return bit;
+    }
+
+    static long wLdt(final MemorySegment s, final long p, final LocalDateTime o, final long bit) {
+        if (o == null) return 0L;
+        s.set(I64, p, o.toEpochSecond(ZoneOffset.UTC));
+        s.set(I32, p + 8, o.getNano());
+        return bit;
+    }
+
+    static void wUid32(final MemorySegment s, final long p, final Uid32Value o) {
+        if (o.isSet()) {
+            o.copyTo(s, p);
+        } else {
+            Uid32.generateInto(s, p);
+            o.copyFrom(s, p);
+        }
+    }
+
+    // ---- read: byte[] ----
+
+    static void checkVersion(final byte[] a, final int p) {
+        final byte ver = a[p];
+        if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
+    }
+
+    static long rPresence(final byte[] a, final int p) {
+        return getLongLE(a, p);
+    }
+
+    static int rLen(final byte[] a, final int p) {
+        return getIntLE(a, p);
+    }
+
+    static boolean rBool(final byte[] a, final int p) {
+        return (a[p] & 0xFF) != 0;
+    }
+
+    static byte rByte(final byte[] a, final int p) {
+        return a[p];
+    }
+
+    static short rShort(final byte[] a, final int p) {
+        return (short) getIntLE(a, p);
+    }
+
+    static char rChar(final byte[] a, final int p) {
+        return (char) getIntLE(a, p);
+    }
+
+    static int rInt(final byte[] a, final int p) {
+        return getIntLE(a, p);
+    }
+
+    static long rLong(final byte[] a, final int p) {
+        return getLongLE(a, p);
+    }
+
+    static float rFloat(final byte[] a, final int p) {
+        return Float.intBitsToFloat(getIntLE(a, p));
+    }
+
+    static double rDouble(final byte[] a, final int p) {
+        return Double.longBitsToDouble(getLongLE(a, p));
+    }
+
+    static Boolean rBoolB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? (a[p] & 0xFF) != 0 : null;
+    }
+
+    static Byte rByteB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? a[p] : null;
+    }
+
+    static Short rShortB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? (short) getIntLE(a, p) : null;
+    }
+
+    static Character rCharB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? (char) getIntLE(a, p) : null;
+    }
+
+    static Integer rIntB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? getIntLE(a, p) : null;
+    }
+
+    static Long rLongB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? getLongLE(a, p) : null;
+    }
+
+    static Float rFloatB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? Float.intBitsToFloat(getIntLE(a, p)) : null;
+    }
+
+    static Double rDoubleB(final byte[] a, final int p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? Double.longBitsToDouble(getLongLE(a, p)) : null;
+    }
+
+    static LocalDateTime rLdt(final byte[] a, final int p, final long presence, final long bit) {
+        if ((presence & bit) == 0L) return null;
+        return LocalDateTime.ofEpochSecond(getLongLE(a, p), getIntLE(a, p + 8), ZoneOffset.UTC);
+    }
+
+    static Uid32Value rUid32(final byte[] a, final int p, final Uid32Value cur) {
+        return uid32(cur).copyFrom(a, p);
+    }
+
+    static String rStr(final byte[] a, final int p, final int len, final long presence, final long bit) {
+        if ((presence & bit) == 0L) return null;
+        return new String(a, p, len, StandardCharsets.UTF_8);
+    }
+
+    static byte[] rBytes(final byte[] a, final int p, final int len, final long presence, final long bit,
+                         final byte[] cur) {
+        if ((presence & bit) == 0L) return null;
+        final byte[] bb = reuse(cur, len);
+        System.arraycopy(a, p, bb, 0, len);
+        return bb;
+    }
+
+    // ---- read: MemorySegment ----
+
+    static void checkVersion(final MemorySegment s, final long p) {
+        final byte ver = s.get(I8, p);
+        if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
+    }
+
+    static long rPresence(final MemorySegment s, final long p) {
+        return s.get(I64_LE, p);
+    }
+
+    static int rLen(final MemorySegment s, final long p) {
+        return s.get(I32, p);
+    }
+
+    static boolean rBool(final MemorySegment s, final long p) {
+        return (s.get(I8, p) & 0xFF) != 0;
+    }
+
+    static byte rByte(final MemorySegment s, final long p) {
+        return s.get(I8, p);
+    }
+
+    static short rShort(final MemorySegment s, final long p) {
+        return (short) s.get(I32, p);
+    }
+
+    static char rChar(final MemorySegment s, final long p) {
+        return (char) s.get(I32, p);
+    }
+
+    static int rInt(final MemorySegment s, final long p) {
+        return s.get(I32, p);
+    }
+
+    static long rLong(final MemorySegment s, final long p) {
+        return s.get(I64, p);
+    }
+
+    static float rFloat(final MemorySegment s, final long p) {
+        return s.get(F32, p);
+    }
+
+    static double rDouble(final MemorySegment s, final long p) {
+        return s.get(F64, p);
+    }
+
+    static Boolean rBoolB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? (s.get(I8, p) & 0xFF) != 0 : null;
+    }
+
+    static Byte rByteB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? s.get(I8, p) : null;
+    }
+
+    static Short rShortB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? (short) s.get(I32, p) : null;
+    }
+
+    static Character rCharB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? (char) s.get(I32, p) : null;
+    }
+
+    static Integer rIntB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? s.get(I32, p) : null;
+    }
+
+    static Long rLongB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? s.get(I64, p) : null;
+    }
+
+    static Float rFloatB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? s.get(F32, p) : null;
+    }
+
+    static Double rDoubleB(final MemorySegment s, final long p, final long presence, final long bit) {
+        return ((presence & bit) != 0L) ? s.get(F64, p) : null;
+    }
+
+    static LocalDateTime rLdt(final MemorySegment s, final long p, final long presence, final long bit) {
+        if ((presence & bit) == 0L) return null;
+        return LocalDateTime.ofEpochSecond(s.get(I64, p), s.get(I32, p + 8), ZoneOffset.UTC);
+    }
+
+    static Uid32Value rUid32(final MemorySegment s, final long p, final Uid32Value cur) {
+        return uid32(cur).copyFrom(s, p);
+    }
+
+    static String rStr(final MemorySegment s, final long p, final int len, final long presence, final long bit) {
+        if ((presence & bit) == 0L) return null;
+        final byte[] nb = new byte[len];
+        if (len != 0) MemorySegment.copy(s, p, MemorySegment.ofArray(nb), 0, len);
+        return new String(nb, StandardCharsets.UTF_8);
+    }
+
+    static byte[] rBytes(final MemorySegment s, final long p, final int len, final long presence, final long bit,
+                         final byte[] cur) {
+        if ((presence & bit) == 0L) return null;
+        final byte[] bb = reuse(cur, len);
+        if (len != 0) MemorySegment.copy(s, p, MemorySegment.ofArray(bb), 0, len);
+        return bb;
+    }
+}
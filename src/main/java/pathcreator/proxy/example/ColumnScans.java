@@ -0,0 +1,290 @@
+package pathcreator.proxy.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+import static pathcreator.proxy.example.SchemaCompiler.*;
+
+/**
+ * Агрегаты по колонкам {@link ColumnarBatch} на Vector API: значения читаются векторами прямо
+ * из сегмента, presence-маска колонки превращается в {@link VectorMask} по слову на 64 записи.
+ * <p>
+ * Отсутствующие значения в пачке — нули, поэтому {@code sum*} не маскируются; {@code min*}, {@code max*}
+ * и {@code countWhere*} учитывают только присутствующие. Если присутствующих нет, {@code min*}/{@code max*}
+ * возвращают нейтральный элемент ({@code MAX_VALUE}/{@code MIN_VALUE}, для double — ±∞).
+ * Поля {@link java.time.LocalDateTime} сканируются как long-колонка секунд эпохи.
+ * <p>
+ * Требует {@code --add-modules jdk.incubator.vector}.
+ */
+public final class ColumnScans {
+
+    private ColumnScans() {
+    }
+
+    private static final VectorSpecies<Long> L = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    // int-вид с числом лейнов как у L: для суммы с расширением в long без переполнения
+    private static final VectorSpecies<Integer> I_WIDE =
+            IntVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(L.vectorBitSize() / 2));
+
+    private static final ByteOrder LE = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Число присутствующих значений колонки (popcount presence-маски).
+     */
+    public static int countPresent(final ColumnarBatch.Column c) {
+        if (!c.isOptional()) return c.count;
+        int n = 0;
+        for (int w = 0, words = ColumnarBatch.words(c.count); w < words; w++) n += Long.bitCount(c.presenceWord(w));
+        return n;
+    }
+
+    /**
+     * Число {@code true} в boolean-колонке (отсутствующие — нули, маска не нужна).
+     */
+    public static int countTrue(final ColumnarBatch.Column c) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        int n = 0;
+        for (int i = 0; i < c.count; i++) n += s.get(I8, base + i) & 1;
+        return n;
+    }
+
+    // =====================================================================
+    // long
+    // =====================================================================
+
+    public static long sumLong(final ColumnarBatch.Column c) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = L.loopBound(n);
+        LongVector acc = LongVector.zero(L);
+        int i = 0;
+        for (; i < bound; i += L.length()) {
+            acc = acc.add(LongVector.fromMemorySegment(L, s, base + 8L * i, LE));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) sum += s.get(I64, base + 8L * i);
+        return sum;
+    }
+
+    public static long minLong(final ColumnarBatch.Column c) {
+        return reduceLong(c, VectorOperators.MIN, Long.MAX_VALUE);
+    }
+
+    public static long maxLong(final ColumnarBatch.Column c) {
+        return reduceLong(c, VectorOperators.MAX, Long.MIN_VALUE);
+    }
+
+    private static long reduceLong(final ColumnarBatch.Column c, final VectorOperators.Associative op,
+                                   final long identity) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = L.loopBound(n);
+        final boolean optional = c.isOptional();
+        LongVector acc = LongVector.broadcast(L, identity);
+        int i = 0;
+        for (; i < bound; i += L.length()) {
+            final LongVector v = LongVector.fromMemorySegment(L, s, base + 8L * i, LE);
+            acc = optional ? acc.lanewise(op, v, presence(L, c, i)) : acc.lanewise(op, v);
+        }
+        long r = acc.reduceLanes(op);
+        for (; i < n; i++) {
+            if (!c.isPresent(i)) continue;
+            final long x = s.get(I64, base + 8L * i);
+            r = (op == VectorOperators.MIN) ? Math.min(r, x) : Math.max(r, x);
+        }
+        return r;
+    }
+
+    public static int countWhereLong(final ColumnarBatch.Column c, final Cmp cmp, final long operand) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = L.loopBound(n);
+        final boolean optional = c.isOptional();
+        final VectorOperators.Comparison op = op(cmp);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += L.length()) {
+            final LongVector v = LongVector.fromMemorySegment(L, s, base + 8L * i, LE);
+            count += (optional ? v.compare(op, operand, presence(L, c, i)) : v.compare(op, operand)).trueCount();
+        }
+        for (; i < n; i++) {
+            if (c.isPresent(i) && cmp.test(s.get(I64, base + 8L * i), operand)) count++;
+        }
+        return count;
+    }
+
+    // =====================================================================
+    // int
+    // =====================================================================
+
+    public static long sumInt(final ColumnarBatch.Column c) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = I_WIDE.loopBound(n);
+        LongVector acc = LongVector.zero(L);
+        int i = 0;
+        for (; i < bound; i += I_WIDE.length()) {
+            final IntVector v = IntVector.fromMemorySegment(I_WIDE, s, base + 4L * i, LE);
+            acc = acc.add(v.convertShape(VectorOperators.I2L, L, 0));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) sum += s.get(I32, base + 4L * i);
+        return sum;
+    }
+
+    public static int minInt(final ColumnarBatch.Column c) {
+        return reduceInt(c, VectorOperators.MIN, Integer.MAX_VALUE);
+    }
+
+    public static int maxInt(final ColumnarBatch.Column c) {
+        return reduceInt(c, VectorOperators.MAX, Integer.MIN_VALUE);
+    }
+
+    private static int reduceInt(final ColumnarBatch.Column c, final VectorOperators.Associative op,
+                                 final int identity) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = I.loopBound(n);
+        final boolean optional = c.isOptional();
+        IntVector acc = IntVector.broadcast(I, identity);
+        int i = 0;
+        for (; i < bound; i += I.length()) {
+            final IntVector v = IntVector.fromMemorySegment(I, s, base + 4L * i, LE);
+            acc = optional ? acc.lanewise(op, v, presence(I, c, i)) : acc.lanewise(op, v);
+        }
+        int r = acc.reduceLanes(op);
+        for (; i < n; i++) {
+            if (!c.isPresent(i)) continue;
+            final int x = s.get(I32, base + 4L * i);
+            r = (op == VectorOperators.MIN) ? Math.min(r, x) : Math.max(r, x);
+        }
+        return r;
+    }
+
+    public static int countWhereInt(final ColumnarBatch.Column c, final Cmp cmp, final int operand) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = I.loopBound(n);
+        final boolean optional = c.isOptional();
+        final VectorOperators.Comparison op = op(cmp);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += I.length()) {
+            final IntVector v = IntVector.fromMemorySegment(I, s, base + 4L * i, LE);
+            count += (optional ? v.compare(op, operand, presence(I, c, i)) : v.compare(op, operand)).trueCount();
+        }
+        for (; i < n; i++) {
+            if (c.isPresent(i) && cmp.test(s.get(I32, base + 4L * i), operand)) count++;
+        }
+        return count;
+    }
+
+    // =====================================================================
+    // double
+    // =====================================================================
+
+    /**
+     * Сумма по лейнам: порядок сложения отличается от последовательного, младшие биты могут не совпасть.
+     */
+    public static double sumDouble(final ColumnarBatch.Column c) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = D.loopBound(n);
+        DoubleVector acc = DoubleVector.zero(D);
+        int i = 0;
+        for (; i < bound; i += D.length()) {
+            acc = acc.add(DoubleVector.fromMemorySegment(D, s, base + 8L * i, LE));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) sum += s.get(F64, base + 8L * i);
+        return sum;
+    }
+
+    public static double minDouble(final ColumnarBatch.Column c) {
+        return reduceDouble(c, VectorOperators.MIN, Double.POSITIVE_INFINITY);
+    }
+
+    public static double maxDouble(final ColumnarBatch.Column c) {
+        return reduceDouble(c, VectorOperators.MAX, Double.NEGATIVE_INFINITY);
+    }
+
+    private static double reduceDouble(final ColumnarBatch.Column c, final VectorOperators.Associative op,
+                                       final double identity) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = D.loopBound(n);
+        final boolean optional = c.isOptional();
+        DoubleVector acc = DoubleVector.broadcast(D, identity);
+        int i = 0;
+        for (; i < bound; i += D.length()) {
+            final DoubleVector v = DoubleVector.fromMemorySegment(D, s, base + 8L * i, LE);
+            acc = optional ? acc.lanewise(op, v, presence(D, c, i)) : acc.lanewise(op, v);
+        }
+        double r = acc.reduceLanes(op);
+        for (; i < n; i++) {
+            if (!c.isPresent(i)) continue;
+            final double x = s.get(F64, base + 8L * i);
+            r = (op == VectorOperators.MIN) ? Math.min(r, x) : Math.max(r, x);
+        }
+        return r;
+    }
+
+    public static int countWhereDouble(final ColumnarBatch.Column c, final Cmp cmp, final double operand) {
+        final MemorySegment s = c.seg;
+        final long base = c.valuesOff;
+        final int n = c.count;
+        final int bound = D.loopBound(n);
+        final boolean optional = c.isOptional();
+        final VectorOperators.Comparison op = op(cmp);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += D.length()) {
+            final DoubleVector v = DoubleVector.fromMemorySegment(D, s, base + 8L * i, LE);
+            count += (optional ? v.compare(op, operand, presence(D, c, i)) : v.compare(op, operand)).trueCount();
+        }
+        for (; i < n; i++) {
+            if (c.isPresent(i) && cmp.test(s.get(F64, base + 8L * i), operand)) count++;
+        }
+        return count;
+    }
+
+    // ---- helpers ----
+
+    private static VectorOperators.Comparison op(final Cmp cmp) {
+        return switch (cmp) {
+            case EQ -> VectorOperators.EQ;
+            case NE -> VectorOperators.NE;
+            case LT -> VectorOperators.LT;
+            case LE -> VectorOperators.LE;
+            case GT -> VectorOperators.GT;
+            case GE -> VectorOperators.GE;
+        };
+    }
+
+    /**
+     * Маска присутствия для лейнов {@code [i, i + species.length())}. Длина вида — степень двойки ≤ 64,
+     * {@code i} кратно ей, поэтому окно не пересекает границу слова.
+     */
+    private static <E> VectorMask<E> presence(final VectorSpecies<E> species, final ColumnarBatch.Column c, final int i) {
+        return VectorMask.fromLong(species, c.presenceWord(i >>> 6) >>> (i & 63));
+    }
+}
@@ -0,0 +1,432 @@
+package pathcreator.proxy.example;
+
+import pathcreator.proxy.example.SchemaCompiler.FieldDef;
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.Uid32Value;
+import pathcreator.proxy.uid.layout.Uid32Layout;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.foreign.ValueLayout.JAVA_CHAR_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_SHORT_UNALIGNED;
+import static pathcreator.proxy.example.SchemaCompiler.*;
+
+/**
+ * Колоночная (struct-of-arrays) пачка DTO одного типа поверх той же {@link Schema}, что и строчный формат.
+ * <pre>
+ * header:    ver(u16) | fieldCount(u16) | count(u32) | byteSize(u64)
+ * directory: на каждое поле схемы (в её порядке) presenceOff(i64) | valuesOff(i64) | dataOff(i64), -1 = нет
+ * columns:   каждая колонка выровнена на {@value #ALIGN} байт
+ * </pre>
+ * <ul>
+ *   <li>presence — битовая маска {@code u64[(count + 63) / 64]}, бит {@code i} — запись {@code i}; только у optional-полей;</li>
+ *   <li>values — значения естественной ширины подряд: 1 байт boolean/byte, 2 — short/char, 4 — int/float,
+ *       8 — long/double; у {@link LocalDateTime} — секунды эпохи (i64), наносекунды лежат в data (i32);
+ *       32 — {@link Uid32Value} (байты UID как есть);</li>
+ *   <li>var-поля — values {@code u32[count + 1]} смещений в data, data — payload'ы подряд.</li>
+ * </ul>
+ * Отсутствующие значения записываются нулями, поэтому суммы не требуют маски.
+ * Агрегаты по колонкам — {@link ColumnScans}.
+ */
+public final class ColumnarBatch {
+
+    static final short VERSION = 1;
+
+    static final int ALIGN = 64;
+
+    static final int OFF_VER = 0;          // u16
+    static final int OFF_FIELDS = 2;       // u16
+    static final int OFF_COUNT = 4;        // u32
+    static final int OFF_SIZE = 8;         // u64
+    static final int OFF_DIR = 16;         // (i64 presence, i64 values, i64 data)[fieldCount]
+    static final int DIR_ENTRY = 24;
+
+    static final ValueLayout.OfShort I16 = JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfChar U16 = JAVA_CHAR_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Schema schema;
+    private final MemorySegment seg;
+    private final int count;
+    private final Column[] columns;
+    private final Map<String, Column> byName;
+
+    private ColumnarBatch(final Schema schema, final MemorySegment seg) {
+        final short ver = seg.get(I16, OFF_VER);
+        if (ver != VERSION) throw new IllegalArgumentException("Columnar version mismatch: " + ver);
+        final int fields = seg.get(U16, OFF_FIELDS);
+        if (fields != schema.fields().size()) {
+            throw new IllegalArgumentException("Field count mismatch: " + fields + " != " + schema.fields().size()
+                    + " for " + schema.type().getName());
+        }
+        this.schema = schema;
+        this.seg = seg;
+        this.count = seg.get(I32, OFF_COUNT);
+        this.columns = new Column[fields];
+        this.byName = new HashMap<>(fields * 2);
+        for (int i = 0; i < fields; i++) {
+            final long dir = OFF_DIR + (long) DIR_ENTRY * i;
+            final Schema.Field f = schema.fields().get(i);
+            final Column c = new Column(f, seg, count, seg.get(I64, dir), seg.get(I64, dir + 8), seg.get(I64, dir + 16));
+            columns[i] = c;
+            byName.put(f.name(), c);
+        }
+    }
+
+    /**
+     * Открывает колоночную пачку в {@code seg} (без копирования).
+     *
+     * @throws IllegalArgumentException при несовпадении версии или схемы
+     */
+    public static ColumnarBatch wrap(final Class<?> type, final MemorySegment seg) {
+        return new ColumnarBatch(Schema.of(type), seg);
+    }
+
+    /**
+     * Раскладывает {@code values} по колонкам в новый сегмент из {@code arena}.
+     * Каждая колонка пишется целиком за один проход по списку.
+     */
+    public static <T> ColumnarBatch encode(final Class<T> type, final List<? extends T> values, final Arena arena) {
+        final Schema schema = Schema.of(type);
+        final List<FieldDef> defs = SchemaCompiler.fields(type);
+        final int count = values.size();
+        final int n = defs.size();
+
+        // var-поля кодируем заранее: размеры data-колонок нужны до раскладки
+        final byte[][][] payloads = new byte[n][][];
+        final long[] dataSize = new long[n];
+        for (int f = 0; f < n; f++) {
+            final FieldDef d = defs.get(f);
+            if (!isVarlen(d.kind())) continue;
+            final byte[][] col = new byte[count][];
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                final Object o = get(d, values.get(i));
+                final byte[] b = (d.kind() == Kind.STRING && o != null)
+                        ? ((String) o).getBytes(StandardCharsets.UTF_8)
+                        : (byte[]) o;
+                col[i] = b;
+                if (b != null) total += b.length;
+            }
+            if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Column too large: " + d.name());
+            payloads[f] = col;
+            dataSize[f] = total;
+        }
+
+        // раскладка
+        final long[] presOff = new long[n];
+        final long[] valOff = new long[n];
+        final long[] dataOff = new long[n];
+        long p = align(OFF_DIR + (long) DIR_ENTRY * n);
+        for (int f = 0; f < n; f++) {
+            final FieldDef d = defs.get(f);
+            presOff[f] = -1;
+            dataOff[f] = -1;
+            if (isOptional(d.kind())) {
+                presOff[f] = p;
+                p = align(p + 8L * words(count));
+            }
+            valOff[f] = p;
+            p = align(p + (isVarlen(d.kind()) ? 4L * (count + 1) : (long) width(d.kind()) * count));
+            if (isVarlen(d.kind())) {
+                dataOff[f] = p;
+                p = align(p + dataSize[f]);
+            } else if (d.kind() == Kind.LDT) {
+                dataOff[f] = p;
+                p = align(p + 4L * count);
+            }
+        }
+
+        final MemorySegment seg = arena.allocate(p, ALIGN);
+        seg.set(I16, OFF_VER, VERSION);
+        seg.set(U16, OFF_FIELDS, (char) n);
+        seg.set(I32, OFF_COUNT, count);
+        seg.set(I64, OFF_SIZE, p);
+        for (int f = 0; f < n; f++) {
+            final long dir = OFF_DIR + (long) DIR_ENTRY * f;
+            seg.set(I64, dir, presOff[f]);
+            seg.set(I64, dir + 8, valOff[f]);
+            seg.set(I64, dir + 16, dataOff[f]);
+        }
+
+        for (int f = 0; f < n; f++) {
+            final FieldDef d = defs.get(f);
+            if (isVarlen(d.kind())) {
+                writeVar(seg, payloads[f], presOff[f], valOff[f], dataOff[f]);
+            } else {
+                writeFixed(seg, d, values, presOff[f], valOff[f], dataOff[f]);
+            }
+        }
+        return new ColumnarBatch(schema, seg);
+    }
+
+    private static void writeVar(final MemorySegment seg, final byte[][] col, final long pres, final long vals,
+                                 final long data) {
+        int rel = 0;
+        for (int i = 0; i < col.length; i++) {
+            seg.set(I32, vals + 4L * i, rel);
+            final byte[] b = col[i];
+            if (b == null) continue;
+            setBit(seg, pres, i);
+            MemorySegment.copy(MemorySegment.ofArray(b), 0, seg, data + rel, b.length);
+            rel += b.length;
+        }
+        seg.set(I32, vals + 4L * col.length, rel);
+    }
+
+    private static void writeFixed(final MemorySegment seg, final FieldDef d, final List<?> values,
+                                   final long pres, final long vals, final long data) {
+        final Kind k = d.kind();
+        final int w = width(k);
+        for (int i = 0, n = values.size(); i < n; i++) {
+            if (k == Kind.UID32) {
+                // как в строчном формате: незаданный UID генерируется прямо в колонку и сохраняется в DTO
+                final Uid32Value u = uid32(d, values.get(i));
+                final long a = vals + (long) w * i;
+                if (u.isSet()) {
+                    u.copyTo(seg, a);
+                } else {
+                    Uid32.generateInto(seg, a);
+                    u.copyFrom(seg, a);
+                }
+                continue;
+            }
+            final Object o = get(d, values.get(i));
+            if (o == null) continue; // отсутствующее значение остаётся нулём
+            if (pres >= 0) setBit(seg, pres, i);
+            final long a = vals + (long) w * i;
+            switch (k) {
+                case BOOL_P, BOOL_B -> seg.set(I8, a, (byte) (((Boolean) o) ? 1 : 0));
+                case BYTE_P, BYTE_B -> seg.set(I8, a, (Byte) o);
+                case SHORT_P, SHORT_B -> seg.set(I16, a, (Short) o);
+                case CHAR_P, CHAR_B -> seg.set(U16, a, (Character) o);
+                case INT_P, INT_B -> seg.set(I32, a, (Integer) o);
+                case LONG_P, LONG_B -> seg.set(I64, a, (Long) o);
+                case FLOAT_P, FLOAT_B -> seg.set(F32, a, (Float) o);
+                case DOUBLE_P, DOUBLE_B -> seg.set(F64, a, (Double) o);
+                case LDT -> {
+                    final LocalDateTime t = (LocalDateTime) o;
+                    seg.set(I64, a, t.toEpochSecond(ZoneOffset.UTC));
+                    seg.set(I32, data + 4L * i, t.getNano());
+                }
+                default -> throw new IllegalStateException("Not a fixed field: " + d.name());
+            }
+        }
+    }
+
+    private static Object get(final FieldDef d, final Object dto) {
+        try {
+            return d.getter().invoke(dto);
+        } catch (Throwable e) {
+            if (e instanceof RuntimeException re) throw re;
+            if (e instanceof Error er) throw er;
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Uid32Value uid32(final FieldDef d, final Object dto) {
+        try {
+            return uid32Holder(d, dto);
+        } catch (Throwable e) {
+            if (e instanceof RuntimeException re) throw re;
+            if (e instanceof Error er) throw er;
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void setBit(final MemorySegment seg, final long pres, final int i) {
+        final long w = pres + 8L * (i >>> 6);
+        seg.set(I64, w, seg.get(I64, w) | (1L << i));
+    }
+
+    static int width(final Kind k) {
+        return switch (k) {
+            case BOOL_P, BOOL_B, BYTE_P, BYTE_B -> 1;
+            case SHORT_P, SHORT_B, CHAR_P, CHAR_B -> 2;
+            case INT_P, INT_B, FLOAT_P, FLOAT_B -> 4;
+            case LONG_P, LONG_B, DOUBLE_P, DOUBLE_B, LDT -> 8;
+            case STRING, BYTES -> 4;
+            case UID32 -> Uid32Layout.LEN;
+        };
+    }
+
+    static int words(final int count) {
+        return (count + 63) >>> 6;
+    }
+
+    private static long align(final long p) {
+        return (p + ALIGN - 1) & -ALIGN;
+    }
+
+    public Schema schema() {
+        return schema;
+    }
+
+    public MemorySegment segment() {
+        return seg;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long byteSize() {
+        return seg.get(I64, OFF_SIZE);
+    }
+
+    /**
+     * @throws IllegalArgumentException если поля нет в схеме
+     */
+    public Column column(final String name) {
+        final Column c = byName.get(name);
+        if (c == null) throw new IllegalArgumentException("Unknown field: " + name + " in " + schema.type().getName());
+        return c;
+    }
+
+    public List<Column> columns() {
+        return List.of(columns);
+    }
+
+    /**
+     * Одна колонка пачки. Геттер должен соответствовать типу поля — проверок нет.
+     */
+    public static final class Column {
+
+        private final Schema.Field field;
+        final MemorySegment seg;
+        final int count;
+        final long presenceOff;
+        final long valuesOff;
+        final long dataOff;
+
+        Column(final Schema.Field field, final MemorySegment seg, final int count,
+               final long presenceOff, final long valuesOff, final long dataOff) {
+            this.field = field;
+            this.seg = seg;
+            this.count = count;
+            this.presenceOff = presenceOff;
+            this.valuesOff = valuesOff;
+            this.dataOff = dataOff;
+        }
+
+        public Schema.Field field() {
+            return field;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public boolean isOptional() {
+            return presenceOff >= 0;
+        }
+
+        public boolean isPresent(final int i) {
+            return presenceOff < 0 || (seg.get(I64, presenceOff + 8L * (i >>> 6)) & (1L << i)) != 0L;
+        }
+
+        /**
+         * Слово presence-маски с битами записей {@code [64 * word, 64 * word + 64)}; для обязательных полей — все единицы.
+         */
+        public long presenceWord(final int word) {
+            return (presenceOff < 0) ? -1L : seg.get(I64, presenceOff + 8L * word);
+        }
+
+        /**
+         * Срез сегмента со значениями колонки (без копирования).
+         */
+        public MemorySegment values() {
+            final long len = field.isVarlen() ? 4L * (count + 1) : (long) widthOf(field.type()) * count;
+            return seg.asSlice(valuesOff, len);
+        }
+
+        public boolean getBoolean(final int i) {
+            return seg.get(I8, valuesOff + i) != 0;
+        }
+
+        public byte getByte(final int i) {
+            return seg.get(I8, valuesOff + i);
+        }
+
+        public short getShort(final int i) {
+            return seg.get(I16, valuesOff + 2L * i);
+        }
+
+        public char getChar(final int i) {
+            return seg.get(U16, valuesOff + 2L * i);
+        }
+
+        public int getInt(final int i) {
+            return seg.get(I32, valuesOff + 4L * i);
+        }
+
+        public long getLong(final int i) {
+            return seg.get(I64, valuesOff + 8L * i);
+        }
+
+        public float getFloat(final int i) {
+            return seg.get(F32, valuesOff + 4L * i);
+        }
+
+        public double getDouble(final int i) {
+            return seg.get(F64, valuesOff + 8L * i);
+        }
+
+        public long getEpochSecond(final int i) {
+            return seg.get(I64, valuesOff + 8L * i);
+        }
+
+        public int getNano(final int i) {
+            return seg.get(I32, dataOff + 4L * i);
+        }
+
+        /**
+         * Материализует {@link LocalDateTime} (аллоцирует); {@code null}, если значения нет.
+         */
+        public LocalDateTime getLocalDateTime(final int i) {
+            if (!isPresent(i)) return null;
+            return LocalDateTime.ofEpochSecond(getEpochSecond(i), getNano(i), ZoneOffset.UTC);
+        }
+
+        /**
+         * Копирует UID записи {@code i} в {@code dst} (без аллокаций).
+         *
+         * @return {@code dst}
+         */
+        public Uid32Value getUid32(final int i, final Uid32Value dst) {
+            return dst.copyFrom(seg, valuesOff + (long) Uid32Layout.LEN * i);
+        }
+
+        public int varLength(final int i) {
+            return seg.get(I32, valuesOff + 4L * (i + 1)) - seg.get(I32, valuesOff + 4L * i);
+        }
+
+        public MemorySegment varSlice(final int i) {
+            return seg.asSlice(dataOff + seg.get(I32, valuesOff + 4L * i), varLength(i));
+        }
+
+        /**
+         * Материализует строку (аллоцирует); {@code null}, если значения нет.
+         */
+        public String getString(final int i) {
+            if (!isPresent(i)) return null;
+            return new String(varSlice(i).toArray(I8), StandardCharsets.UTF_8);
+        }
+
+        private static int widthOf(final Class<?> t) {
+            if (t == boolean.class || t == Boolean.class || t == byte.class || t == Byte.class) return 1;
+            if (t == short.class || t == Short.class || t == char.class || t == Character.class) return 2;
+            if (t == int.class || t == Integer.class || t == float.class || t == Float.class) return 4;
+            if (t == Uid32Value.class) return Uid32Layout.LEN;
+            return 8;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package pathcreator.proxy.example;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Flyweight-вью для {@link ExampleDto}: читает поля прямо из закодированной записи,
+ * без создания DTO и без копий var-полей.
+ * {@snippet lang = java:
+ * ExampleDtoView v = new ExampleDtoView();       // один на поток
+ * if (v.wrap(seg, off).hasLongValue() && v.longValue() > 1000) { ... }
+ *}
+ */
+public final class ExampleDtoView {
+
+    private static final Schema SCHEMA = Schema.of(ExampleDto.class);
+
+    private static final Schema.Field BOOL_VALUE = SCHEMA.field("boolValue");
+    private static final Schema.Field BOOLEAN_VALUE = SCHEMA.field("booleanValue");
+    private static final Schema.Field BYTES = SCHEMA.field("bytes");
+    private static final Schema.Field LOCAL_DATE_TIME = SCHEMA.field("localDateTime");
+    private static final Schema.Field LONG_VALUE = SCHEMA.field("longValue");
+    private static final Schema.Field LONG_VALUE2 = SCHEMA.field("longValue2");
+    private static final Schema.Field STRING = SCHEMA.field("string");
+    private static final Schema.Field STRING2 = SCHEMA.field("string2");
+
+    private final RecordView view = new RecordView(SCHEMA);
+
+    public ExampleDtoView wrap(final MemorySegment seg, final long off) {
+        view.wrap(seg, off);
+        return this;
+    }
+
+    public ExampleDtoView wrap(final byte[] src, final int off) {
+        view.wrap(MemorySegment.ofArray(src), off);
+        return this;
+    }
+
+    public int byteSize() {
+        return view.byteSize();
+    }
+
+    public boolean booleanValue() {
+        return view.getBoolean(BOOLEAN_VALUE);
+    }
+
+    public boolean hasBoolValue() {
+        return view.isPresent(BOOL_VALUE);
+    }
+
+    public boolean boolValue() {
+        return view.getBoolean(BOOL_VALUE);
+    }
+
+    public boolean hasLongValue() {
+        return view.isPresent(LONG_VALUE);
+    }
+
+    public long longValue() {
+        return view.getLong(LONG_VALUE);
+    }
+
+    public boolean hasLongValue2() {
+        return view.isPresent(LONG_VALUE2);
+    }
+
+    public long longValue2() {
+        return view.getLong(LONG_VALUE2);
+    }
+
+    public boolean hasLocalDateTime() {
+        return view.isPresent(LOCAL_DATE_TIME);
+    }
+
+    public long localDateTimeEpochSecond() {
+        return view.getEpochSecond(LOCAL_DATE_TIME);
+    }
+
+    public int localDateTimeNano() {
+        return view.getNano(LOCAL_DATE_TIME);
+    }
+
+    // ---- var: (offset, length) в исходном сегменте ----
+
+    public boolean hasString() {
+        return view.isPresent(STRING);
+    }
+
+    public long stringOffset() {
+        return view.varOffset(STRING);
+    }
+
+    public int stringLength() {
+        return view.varLength(STRING);
+    }
+
+    public boolean stringEquals(final byte[] utf8) {
+        return view.varEquals(STRING, utf8);
+    }
+
+    public boolean hasString2() {
+        return view.isPresent(STRING2);
+    }
+
+    public long string2Offset() {
+        return view.varOffset(STRING2);
+    }
+
+    public int string2Length() {
+        return view.varLength(STRING2);
+    }
+
+    public boolean string2Equals(final byte[] utf8) {
+        return view.varEquals(STRING2, utf8);
+    }
+
+    public boolean hasBytes() {
+        return view.isPresent(BYTES);
+    }
+
+    public long bytesOffset() {
+        return view.varOffset(BYTES);
+    }
+
+    public int bytesLength() {
+        return view.varLength(BYTES);
+    }
+
+    public MemorySegment bytes() {
+        return view.varSlice(BYTES);
+    }
+}
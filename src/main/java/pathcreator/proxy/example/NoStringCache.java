@@ -0,0 +1,16 @@
+package pathcreator.proxy.example;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Исключает строковое свойство из {@link StringCache}: значение кодируется заново при каждой записи.
+ * Для полей с высокой кардинальностью (id, trace-id), где кэш только вытесняет полезные записи.
+ * Ставится на поле или на геттер.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface NoStringCache {
+}
@@ -0,0 +1,33 @@
+package pathcreator.proxy.example;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Условие над закодированной записью: проверяется прямо по байтам (fixed-смещения, presence-биты,
+ * таблица длин) без создания DTO. Строится через {@link RecordPredicates}.
+ */
+@FunctionalInterface
+public interface RecordPredicate {
+
+    /**
+     * @param rec сегмент с записью
+     * @param off смещение начала записи
+     */
+    boolean test(final MemorySegment rec, final long off);
+
+    default boolean test(final byte[] rec, final int off) {
+        return test(MemorySegment.ofArray(rec), off);
+    }
+
+    default RecordPredicate and(final RecordPredicate other) {
+        return (rec, off) -> test(rec, off) && other.test(rec, off);
+    }
+
+    default RecordPredicate or(final RecordPredicate other) {
+        return (rec, off) -> test(rec, off) || other.test(rec, off);
+    }
+
+    default RecordPredicate negate() {
+        return (rec, off) -> !test(rec, off);
+    }
+}
@@ -0,0 +1,229 @@
+package pathcreator.proxy.example;
+
+import pathcreator.proxy.uid.Uid32Value;
+import pathcreator.proxy.uid.layout.Uid32Layout;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static pathcreator.proxy.example.SchemaCompiler.*;
+
+/**
+ * Построение {@link RecordPredicate} по схеме DTO.
+ * {@snippet lang = java:
+ * RecordPredicate p = RecordPredicates.field(ExampleDto.class, "longValue").gt(1000)
+ *         .and(RecordPredicates.field(ExampleDto.class, "boolValue").isPresent())
+ *         .and(RecordPredicates.field(ExampleDto.class, "string").equalTo("X"));
+ *}
+ * Сравнения по отсутствующему optional-полю дают {@code false} (как {@code NULL} в SQL);
+ * проверка присутствия — {@link Field#isPresent()}. Тип поля проверяется при построении,
+ * чтение в {@link RecordPredicate#test} специализировано под ширину поля.
+ * {@link LocalDateTime} сравнивается по секундам эпохи (UTC); {@link Uid32Value} — только на равенство
+ * всех 32 байт ({@link Field#equalTo(Uid32Value)}).
+ */
+public final class RecordPredicates {
+
+    private RecordPredicates() {
+    }
+
+    public static Field field(final Class<?> type, final String name) {
+        return field(Schema.of(type), name);
+    }
+
+    /**
+     * @throws IllegalArgumentException если поля нет в схеме
+     */
+    public static Field field(final Schema schema, final String name) {
+        return new Field(schema, schema.field(name));
+    }
+
+    /**
+     * Поле схемы, для которого строятся условия.
+     */
+    public static final class Field {
+
+        private final Schema schema;
+        private final Schema.Field f;
+
+        private Field(final Schema schema, final Schema.Field f) {
+            this.schema = schema;
+            this.f = f;
+        }
+
+        public RecordPredicate isPresent() {
+            if (!f.isOptional()) return (rec, off) -> true;
+            final long mask = bitMask(f.presenceBit());
+            return (rec, off) -> (rec.get(I64_LE, off + OFF_PRES64) & mask) != 0L;
+        }
+
+        public RecordPredicate isAbsent() {
+            return isPresent().negate();
+        }
+
+        /**
+         * {@code value <cmp> operand} для целочисленных полей, {@code boolean} (0/1) и {@link LocalDateTime}
+         * (секунды эпохи); для {@code float}/{@code double} — сравнение в double.
+         *
+         * @throws IllegalArgumentException для var-полей и {@link Uid32Value}
+         */
+        public RecordPredicate compare(final Cmp cmp, final long operand) {
+            if (isFloating()) return compare(cmp, (double) operand);
+            final long at = fixedOffset();
+            final RecordPredicate p = switch (width()) {
+                case 1 -> (rec, off) -> cmp.test(rec.get(I8, off + at), operand);
+                case 4 -> (rec, off) -> cmp.test(rec.get(I32, off + at), operand);
+                default -> (rec, off) -> cmp.test(rec.get(I64, off + at), operand);
+            };
+            return present(p);
+        }
+
+        /**
+         * {@code value <cmp> operand} в double; для целочисленных полей значение расширяется.
+         *
+         * @throws IllegalArgumentException для var-полей и {@link Uid32Value}
+         */
+        public RecordPredicate compare(final Cmp cmp, final double operand) {
+            final long at = fixedOffset();
+            final Class<?> t = f.type();
+            final RecordPredicate p;
+            if (t == float.class || t == Float.class) {
+                p = (rec, off) -> cmp.test(rec.get(F32, off + at), operand);
+            } else if (t == double.class || t == Double.class) {
+                p = (rec, off) -> cmp.test(rec.get(F64, off + at), operand);
+            } else {
+                p = switch (width()) {
+                    case 1 -> (rec, off) -> cmp.test(rec.get(I8, off + at), operand);
+                    case 4 -> (rec, off) -> cmp.test(rec.get(I32, off + at), operand);
+                    default -> (rec, off) -> cmp.test(rec.get(I64, off + at), operand);
+                };
+            }
+            return present(p);
+        }
+
+        public RecordPredicate eq(final long v) {
+            return compare(Cmp.EQ, v);
+        }
+
+        public RecordPredicate ne(final long v) {
+            return compare(Cmp.NE, v);
+        }
+
+        public RecordPredicate lt(final long v) {
+            return compare(Cmp.LT, v);
+        }
+
+        public RecordPredicate le(final long v) {
+            return compare(Cmp.LE, v);
+        }
+
+        public RecordPredicate gt(final long v) {
+            return compare(Cmp.GT, v);
+        }
+
+        public RecordPredicate ge(final long v) {
+            return compare(Cmp.GE, v);
+        }
+
+        public RecordPredicate lt(final double v) {
+            return compare(Cmp.LT, v);
+        }
+
+        public RecordPredicate gt(final double v) {
+            return compare(Cmp.GT, v);
+        }
+
+        /**
+         * Присутствующее boolean-поле со значением {@code true}.
+         */
+        public RecordPredicate isTrue() {
+            return compare(Cmp.NE, 0L);
+        }
+
+        /**
+         * Присутствующее boolean-поле со значением {@code false}.
+         */
+        public RecordPredicate isFalse() {
+            return compare(Cmp.EQ, 0L);
+        }
+
+        /**
+         * Строка равна {@code expected} побайтно в UTF-8; {@code null} — поле отсутствует.
+         */
+        public RecordPredicate equalTo(final String expected) {
+            return equalTo((expected == null) ? null : expected.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Payload var-поля равен {@code expected}; {@code null} — поле отсутствует.
+         * Для поля {@link Uid32Value} — 32 байта UID (см. {@link #equalTo(Uid32Value)}).
+         *
+         * @throws IllegalArgumentException для прочих fixed-полей
+         */
+        public RecordPredicate equalTo(final byte[] expected) {
+            if (isUid32()) return uid32EqualTo(expected);
+            if (!f.isVarlen()) throw new IllegalArgumentException("Not a var field: " + f.name());
+            if (expected == null) return isAbsent();
+            final byte[] copy = expected.clone();
+            final MemorySegment exp = MemorySegment.ofArray(copy);
+            final int len = copy.length;
+            final long lenAt = f.lenOffset();
+            final int index = f.lenIndex();
+            final int tailBase = schema.tailBase();
+            return present((rec, off) -> {
+                if (rec.get(I32, off + lenAt) != len) return false;
+                long p = off + tailBase;
+                for (int i = 0; i < index; i++) p += rec.get(I32, off + OFF_LENS + 4L * i);
+                return MemorySegment.mismatch(rec, p, p + len, exp, 0, len) < 0;
+            });
+        }
+
+        /**
+         * UID поля {@link Uid32Value} побайтно равен {@code expected} (значение копируется при построении).
+         *
+         * @throws IllegalArgumentException если поле не {@link Uid32Value} или {@code expected} не задан
+         */
+        public RecordPredicate equalTo(final Uid32Value expected) {
+            if (expected == null || !expected.isSet()) throw new IllegalArgumentException("Unset UID32 operand");
+            return uid32EqualTo(expected.toByteArray());
+        }
+
+        private RecordPredicate uid32EqualTo(final byte[] expected) {
+            if (!isUid32()) throw new IllegalArgumentException("Not a UID32 field: " + f.name());
+            if (expected == null || expected.length != Uid32Layout.LEN) {
+                throw new IllegalArgumentException("UID32 operand must be " + Uid32Layout.LEN + " bytes");
+            }
+            final MemorySegment exp = MemorySegment.ofArray(expected.clone());
+            final long at = f.offset();
+            final int len = Uid32Layout.LEN;
+            return present((rec, off) -> MemorySegment.mismatch(rec, off + at, off + at + len, exp, 0, len) < 0);
+        }
+
+        // сравнение только для присутствующего значения
+        private RecordPredicate present(final RecordPredicate p) {
+            if (!f.isOptional()) return p;
+            final long mask = bitMask(f.presenceBit());
+            return (rec, off) -> (rec.get(I64_LE, off + OFF_PRES64) & mask) != 0L && p.test(rec, off);
+        }
+
+        private long fixedOffset() {
+            if (f.isVarlen()) throw new IllegalArgumentException("Not a fixed field: " + f.name());
+            return f.offset();
+        }
+
+        private boolean isFloating() {
+            final Class<?> t = f.type();
+            return t == float.class || t == Float.class || t == double.class || t == Double.class;
+        }
+
+        private boolean isUid32() {
+            return f.type() == Uid32Value.class;
+        }
+
+        // 1: boolean/byte; 4: short/char/int (формат пишет их в i32); 8: long и секунды LocalDateTime
+        private int width() {
+            if (isUid32()) throw new IllegalArgumentException("Not a scalar field (use equalTo): " + f.name());
+            return (f.size() == 12) ? 8 : f.size();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package pathcreator.proxy.example;
+
+import java.lang.foreign.MemorySegment;
+import java.util.function.LongConsumer;
+
+import static pathcreator.proxy.example.SchemaCompiler.*;
+
+/**
+ * Проход по закодированным записям с фильтром: отдаёт смещения только тех, что удовлетворяют
+ * {@link RecordPredicate}, ни одна запись не декодируется.
+ * <ul>
+ *   <li>{@link #wrap(MemorySegment, long, long)} — записи подряд (например, {@link WritableOutput#written()}):
+ *       длина очередной записи берётся из её таблицы длин;</li>
+ *   <li>{@link #wrapBatch(MemorySegment, long)} — пачка {@link Batches}: записи по таблице смещений.</li>
+ * </ul>
+ * {@snippet lang = java:
+ * RecordScanner sc = RecordScanner.of(ExampleDto.class, predicate).wrap(seg, 0, seg.byteSize());
+ * for (long off; (off = sc.next()) >= 0; ) {
+ *     view.wrap(seg, off);   // или codec.read(seg, off) для редких совпадений
+ * }
+ *}
+ * Не потокобезопасен: один экземпляр на поток.
+ */
+public final class RecordScanner {
+
+    private final Schema schema;
+    private final RecordPredicate predicate;
+
+    private MemorySegment seg;
+    private long pos;
+    private long end;
+
+    // режим пачки: base >= 0
+    private long base = -1;
+    private int index;
+    private int count;
+
+    public RecordScanner(final Schema schema, final RecordPredicate predicate) {
+        this.schema = schema;
+        this.predicate = predicate;
+    }
+
+    public static RecordScanner of(final Class<?> type, final RecordPredicate predicate) {
+        return new RecordScanner(Schema.of(type), predicate);
+    }
+
+    /**
+     * Записи подряд в {@code [from, to)}.
+     */
+    public RecordScanner wrap(final MemorySegment seg, final long from, final long to) {
+        this.seg = seg;
+        this.pos = from;
+        this.end = to;
+        this.base = -1;
+        return this;
+    }
+
+    /**
+     * Пачка формата {@link Batches} по смещению {@code off}.
+     */
+    public RecordScanner wrapBatch(final MemorySegment seg, final long off) {
+        this.seg = seg;
+        this.base = off;
+        this.index = 0;
+        this.count = Batches.count(seg, off);
+        return this;
+    }
+
+    /**
+     * Смещение следующей подходящей записи или {@code -1}, если записи кончились.
+     *
+     * @throws IllegalArgumentException при несовпадении версии записи
+     */
+    public long next() {
+        if (base >= 0) {
+            while (index < count) {
+                final long off = base + seg.get(I32, base + Batches.OFF_TABLE + 4L * index++);
+                if (matches(off)) return off;
+            }
+            return -1;
+        }
+        while (pos < end) {
+            final long off = pos;
+            pos += recordSize(off);
+            if (matches(off)) return off;
+        }
+        return -1;
+    }
+
+    /**
+     * Отдаёт смещения всех оставшихся подходящих записей.
+     *
+     * @return число совпадений
+     */
+    public int forEach(final LongConsumer sink) {
+        int n = 0;
+        for (long off; (off = next()) >= 0; n++) sink.accept(off);
+        return n;
+    }
+
+    /**
+     * Число оставшихся подходящих записей.
+     */
+    public int count() {
+        int n = 0;
+        while (next() >= 0) n++;
+        return n;
+    }
+
+    private boolean matches(final long off) {
+        final byte ver = seg.get(I8, off + OFF_VER);
+        if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver + " at " + off);
+        return predicate.test(seg, off);
+    }
+
+    private long recordSize(final long off) {
+        long size = schema.tailBase();
+        for (int i = 0, n = schema.lenCount(); i < n; i++) size += seg.get(I32, off + OFF_LENS + 4L * i);
+        return size;
+    }
+}
@@ -0,0 +1,188 @@
+package pathcreator.proxy.example;
+
+import pathcreator.proxy.uid.Uid32Value;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static pathcreator.proxy.example.SchemaCompiler.*;
+
+/**
+ * Flyweight над закодированной записью: читает поля прямо из {@link MemorySegment}
+ * по их смещениям в fixed-регионе, var-поля отдаёт как (offset, length) в исходном сегменте.
+ * <p>
+ * Экземпляр переиспользуется через {@link #wrap(MemorySegment, long)} и не аллоцирует
+ * в геттерах примитивов. Тип геттера должен соответствовать типу поля — проверок нет.
+ * Для optional-полей значение имеет смысл только при {@link #isPresent(Schema.Field)}:
+ * отсутствующие поля кодеком не записываются.
+ * <p>
+ * Не потокобезопасен: один экземпляр на поток.
+ */
+public final class RecordView {
+
+    private final Schema schema;
+
+    private MemorySegment seg;
+    private long off;
+    private long presence;
+
+    public RecordView(final Schema schema) {
+        this.schema = schema;
+    }
+
+    public static RecordView of(final Class<?> type) {
+        return new RecordView(Schema.of(type));
+    }
+
+    /**
+     * Наводит вью на запись по смещению {@code off}. Проверяет версию формата.
+     *
+     * @throws IllegalArgumentException при несовпадении версии
+     */
+    public RecordView wrap(final MemorySegment seg, final long off) {
+        final byte ver = seg.get(I8, off + OFF_VER);
+        if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
+        this.seg = seg;
+        this.off = off;
+        this.presence = seg.get(I64_LE, off + OFF_PRES64);
+        return this;
+    }
+
+    public Schema schema() {
+        return schema;
+    }
+
+    public MemorySegment segment() {
+        return seg;
+    }
+
+    public long offset() {
+        return off;
+    }
+
+    /**
+     * Полный размер текущей записи в байтах.
+     */
+    public int byteSize() {
+        int tail = 0;
+        for (int i = 0, n = schema.lenCount(); i < n; i++) tail += seg.get(I32, off + OFF_LENS + 4L * i);
+        return schema.tailBase() + tail;
+    }
+
+    public boolean isPresent(final Schema.Field f) {
+        return f.presenceBit() < 0 || (presence & bitMask(f.presenceBit())) != 0L;
+    }
+
+    // ---- fixed ----
+
+    public boolean getBoolean(final Schema.Field f) {
+        return (seg.get(I8, off + f.offset()) & 0xFF) != 0;
+    }
+
+    public byte getByte(final Schema.Field f) {
+        return seg.get(I8, off + f.offset());
+    }
+
+    public short getShort(final Schema.Field f) {
+        return (short) seg.get(I32, off + f.offset());
+    }
+
+    public char getChar(final Schema.Field f) {
+        return (char) seg.get(I32, off + f.offset());
+    }
+
+    public int getInt(final Schema.Field f) {
+        return seg.get(I32, off + f.offset());
+    }
+
+    public long getLong(final Schema.Field f) {
+        return seg.get(I64, off + f.offset());
+    }
+
+    public float getFloat(final Schema.Field f) {
+        return seg.get(F32, off + f.offset());
+    }
+
+    public double getDouble(final Schema.Field f) {
+        return seg.get(F64, off + f.offset());
+    }
+
+    /**
+     * Секунды эпохи (UTC) поля {@link LocalDateTime}.
+     */
+    public long getEpochSecond(final Schema.Field f) {
+        return seg.get(I64, off + f.offset());
+    }
+
+    /**
+     * Наносекунды поля {@link LocalDateTime}.
+     */
+    public int getNano(final Schema.Field f) {
+        return seg.get(I32, off + f.offset() + 8);
+    }
+
+    /**
+     * Материализует {@link LocalDateTime} (аллоцирует); {@code null}, если поле отсутствует.
+     */
+    public LocalDateTime getLocalDateTime(final Schema.Field f) {
+        if (!isPresent(f)) return null;
+        return LocalDateTime.ofEpochSecond(getEpochSecond(f), getNano(f), ZoneOffset.UTC);
+    }
+
+    /**
+     * Копирует UID поля {@link Uid32Value} в {@code dst} (без аллокаций).
+     *
+     * @return {@code dst}
+     */
+    public Uid32Value getUid32(final Schema.Field f, final Uid32Value dst) {
+        return dst.copyFrom(seg, off + f.offset());
+    }
+
+    // ---- var ----
+
+    public int varLength(final Schema.Field f) {
+        return seg.get(I32, off + f.lenOffset());
+    }
+
+    /**
+     * Абсолютное смещение payload'а var-поля в сегменте.
+     */
+    public long varOffset(final Schema.Field f) {
+        long p = off + schema.tailBase();
+        for (int i = 0, n = f.lenIndex(); i < n; i++) p += seg.get(I32, off + OFF_LENS + 4L * i);
+        return p;
+    }
+
+    /**
+     * Срез сегмента с payload'ом var-поля (без копирования).
+     */
+    public MemorySegment varSlice(final Schema.Field f) {
+        return seg.asSlice(varOffset(f), varLength(f));
+    }
+
+    /**
+     * Сравнивает payload var-поля с {@code expected} без материализации.
+     * Отсутствующее поле равно только {@code null}.
+     */
+    public boolean varEquals(final Schema.Field f, final byte[] expected) {
+        if (!isPresent(f)) return expected == null;
+        if (expected == null) return false;
+        final int len = varLength(f);
+        if (len != expected.length) return false;
+        final long p = varOffset(f);
+        return MemorySegment.mismatch(seg, p, p + len, MemorySegment.ofArray(expected), 0, len) < 0;
+    }
+
+    /**
+     * Материализует строку (аллоцирует); {@code null}, если поле отсутствует.
+     */
+    public String getString(final Schema.Field f) {
+        if (!isPresent(f)) return null;
+        final int len = varLength(f);
+        final byte[] nb = new byte[len];
+        if (len != 0) MemorySegment.copy(seg, varOffset(f), MemorySegment.ofArray(nb), 0, len);
+        return new String(nb, StandardCharsets.UTF_8);
+    }
+}
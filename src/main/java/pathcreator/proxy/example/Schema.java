@@ -0,0 +1,103 @@
+package pathcreator.proxy.example;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Раскладка записи, которую {@link SchemaCompiler} строит для DTO:
+ * {@code header(ver, presence, lens[]) | fixed | tail}.
+ * <p>
+ * Нужна тем, кто читает закодированные байты напрямую (flyweight-вью, фильтры),
+ * не материализуя объект. Поля упорядочены так же, как в кодеке (по имени свойства).
+ */
+public final class Schema {
+
+    private final Class<?> type;
+    private final List<Field> fields;
+    private final Map<String, Field> byName;
+    private final int headSize;
+    private final int tailBase;
+    private final int lenCount;
+
+    Schema(final Class<?> type, final List<Field> fields, final int headSize, final int tailBase) {
+        this.type = type;
+        this.fields = List.copyOf(fields);
+        this.byName = new HashMap<>(fields.size() * 2);
+        int lens = 0;
+        for (final Field f : fields) {
+            byName.put(f.name(), f);
+            if (f.isVarlen()) lens++;
+        }
+        this.headSize = headSize;
+        this.tailBase = tailBase;
+        this.lenCount = lens;
+    }
+
+    public static Schema of(final Class<?> type) {
+        return SchemaCompiler.schema(type);
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    public List<Field> fields() {
+        return fields;
+    }
+
+    /**
+     * @throws IllegalArgumentException если свойства с таким именем нет в схеме
+     */
+    public Field field(final String name) {
+        final Field f = byName.get(name);
+        if (f == null) throw new IllegalArgumentException("Unknown field: " + name + " in " + type.getName());
+        return f;
+    }
+
+    /**
+     * Размер заголовка: версия, presence-биты и таблица длин var-полей.
+     */
+    public int headSize() {
+        return headSize;
+    }
+
+    /**
+     * Смещение начала tail (var-payload'ы) от начала записи.
+     */
+    public int tailBase() {
+        return tailBase;
+    }
+
+    public int lenCount() {
+        return lenCount;
+    }
+
+    /**
+     * Описание одного поля записи.
+     *
+     * @param name        имя bean-свойства
+     * @param type        Java-тип свойства
+     * @param presenceBit бит в presence-маске или {@code -1} для примитивов
+     * @param lenIndex    индекс в таблице длин или {@code -1} для fixed-полей
+     * @param offset      смещение значения от начала записи или {@code -1} для var-полей
+     * @param size        размер значения в fixed-регионе (0 для var-полей)
+     */
+    public record Field(String name, Class<?> type, int presenceBit, int lenIndex, int offset, int size) {
+
+        public boolean isOptional() {
+            return presenceBit >= 0;
+        }
+
+        public boolean isVarlen() {
+            return lenIndex >= 0;
+        }
+
+        /**
+         * Смещение ячейки длины в таблице длин (только для var-полей).
+         */
+        public int lenOffset() {
+            return SchemaCompiler.OFF_LENS + 4 * lenIndex;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package pathcreator.proxy.example;
 
+import pathcreator.proxy.uid.Uid32;
+import pathcreator.proxy.uid.Uid32Value;
+import pathcreator.proxy.uid.layout.Uid32Layout;
+
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -21,93 +27,233 @@ public final class SchemaCompiler {
     private SchemaCompiler() {
     }
 
-    private static final byte VERSION = 1;
+    static final byte VERSION = 1;
 
-    private static final ValueLayout.OfByte I8 = JAVA_BYTE;
-    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
-    private static final ValueLayout.OfLong I64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
-    private static final ValueLayout.OfFloat F32 = JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
-    private static final ValueLayout.OfDouble F64 = JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
-    private static final ValueLayout.OfLong I64_LE = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfByte I8 = JAVA_BYTE;
+    static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong I64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfFloat F32 = JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfDouble F64 = JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong I64_LE = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
 
     // header
-    private static final int OFF_VER = 0;  // u8
-    private static final int OFF_PRES64 = 4;  // u64
+    static final int OFF_VER = 0;  // u8
+    static final int OFF_PRES64 = 4;  // u64
+    static final int OFF_LENS = 12; // u32[LEN_COUNT]
+
+    /**
+     * Способ исполнения кодека.
+     * <ul>
+     *   <li>{@link #BYTECODE} — на каждый DTO генерируется hidden-класс с развёрнутой по полям
+     *       записью/чтением и прямыми вызовами геттеров/сеттеров (см. {@link CodecGenerator});</li>
+     *   <li>{@link #INTERPRETER} — общий цикл по {@code FieldDef} с диспетчеризацией по {@code Kind}
+     *       и вызовами через {@link MethodHandle}.</li>
+     * </ul>
+     * Режим по умолчанию задаётся свойством {@code -Dschema.codec.mode=bytecode|interpreter}.
+     * Если DTO недоступен для генерации (не public, нет public-конструктора без аргументов,
+     * другой ClassLoader), {@link #BYTECODE} откатывается на {@link #INTERPRETER}.
+     */
+    public enum Mode {
+        BYTECODE, INTERPRETER
+    }
 
-    // TL-кэш для уже закодированных строк (по ссылочной идентичности)
-    private static final ThreadLocal<IdentityHashMap<String, byte[]>> TL_STR_CACHE =
-            ThreadLocal.withInitial(IdentityHashMap::new);
+    private static final Mode DEFAULT_MODE =
+            Mode.valueOf(System.getProperty("schema.codec.mode", "bytecode").toUpperCase(Locale.ROOT));
 
     private static final Map<Class<?>, Codec<?>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Codec<?>> CACHE_INTERPRETER = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    // ёмкость TL-кэша строк, если на DTO нет @StringCacheSize
+    private static final int DEFAULT_STR_CACHE_CAPACITY = Integer.getInteger("schema.strcache.capacity", 1024);
+
+    // TL-кэш UTF-8 строк на тип DTO; общий для обоих режимов кодека
+    private static final Map<Class<?>, ThreadLocal<StringCache>> STR_CACHES = new ConcurrentHashMap<>();
 
-    @SuppressWarnings("unchecked")
     static <T> Codec<T> compile(final Class<T> type) {
-        return (Codec<T>) CACHE.computeIfAbsent(type, SchemaCompiler::build);
+        return compile(type, DEFAULT_MODE);
     }
 
-    private enum Kind {
+    @SuppressWarnings("unchecked")
+    public static <T> Codec<T> compile(final Class<T> type, final Mode mode) {
+        final Map<Class<?>, Codec<?>> cache = (mode == Mode.BYTECODE) ? CACHE : CACHE_INTERPRETER;
+        return (Codec<T>) cache.computeIfAbsent(type, t -> build(t, mode));
+    }
+
+    /**
+     * Кэш строк текущего потока для кодека {@code type} — для чтения счётчиков
+     * ({@link StringCache#hits()}, {@link StringCache#evictions()} и т.д.).
+     *
+     * @return {@code null}, если у типа нет кэшируемых строковых полей или кэш отключён
+     */
+    public static StringCache stringCache(final Class<?> type) {
+        final ThreadLocal<StringCache> tl = STR_CACHES.get(type);
+        return (tl == null) ? null : tl.get();
+    }
+
+    enum Kind {
         BOOL_P, BYTE_P, SHORT_P, CHAR_P, INT_P, LONG_P, FLOAT_P, DOUBLE_P,
         BOOL_B, BYTE_B, SHORT_B, CHAR_B, INT_B, LONG_B, FLOAT_B, DOUBLE_B,
         STRING, BYTES,
-        LDT
+        LDT,
+        /**
+         * {@link Uid32Value}: обязательное fixed-поле, 32 байта UID как есть. Незаданный UID ({@code null}
+         * или {@link Uid32Value#isSet()} = {@code false}) генерируется при записи прямо в буфер и тут же
+         * сохраняется в контейнер DTO ({@code null} заменяется новым контейнером через сеттер): повторная
+         * запись того же объекта даёт тот же UID, а отправитель знает, что отправил. Поэтому запись меняет
+         * DTO — один объект не кодируют параллельно из нескольких потоков. Чтение копирует UID в текущий
+         * контейнер цели.
+         */
+        UID32
     }
 
-    private record FieldDef(
+    record FieldDef(
             String name,
             Kind kind,
+            Method readMethod,
+            Method writeMethod,
             MethodHandle getter,
             MethodHandle setter,
             int presenceBit,
             int lenIndex,
             int fixedOffset,
-            int fixedSize
+            int fixedSize,
+            boolean strCached
     ) {
     }
 
-    private static <T> Codec<T> build(final Class<T> type) {
+    static Schema schema(final Class<?> type) {
+        return SCHEMAS.computeIfAbsent(type, t -> {
+            try {
+                final List<FieldDef> fields = introspect(t);
+                final ArrayList<Schema.Field> out = new ArrayList<>(fields.size());
+                final int headSize = headSize(fields);
+                for (final FieldDef f : fields) {
+                    out.add(new Schema.Field(f.name(), f.readMethod().getReturnType(), f.presenceBit(), f.lenIndex(),
+                            (f.fixedSize() > 0) ? headSize + f.fixedOffset() : -1, f.fixedSize()));
+                }
+                return new Schema(t, out, headSize, tailBase(fields));
+            } catch (Throwable e) {
+                throw new RuntimeException("Schema compilation failed for " + t.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Описания полей DTO в порядке кодека — для форматов поверх той же схемы (колоночные пачки).
+     */
+    static List<FieldDef> fields(final Class<?> type) {
         try {
-            final MethodHandles.Lookup L = MethodHandles.lookup();
+            return introspect(type);
+        } catch (Throwable e) {
+            throw new RuntimeException("Schema compilation failed for " + type.getName(), e);
+        }
+    }
 
-            // собираем Bean-свойства
-            final PropertyDescriptor[] pds = Introspector.getBeanInfo(type).getPropertyDescriptors();
-            final ArrayList<PropertyDescriptor> props = new ArrayList<>(pds.length);
-            for (PropertyDescriptor pd : pds) {
-                if (pd.getReadMethod() != null && pd.getWriteMethod() != null && !"class".equals(pd.getName())) {
-                    props.add(pd);
-                }
+    // собираем Bean-свойства в порядке имён и раскладываем по регионам
+    private static List<FieldDef> introspect(final Class<?> type) throws Throwable {
+        final PropertyDescriptor[] pds = Introspector.getBeanInfo(type).getPropertyDescriptors();
+        final ArrayList<PropertyDescriptor> props = new ArrayList<>(pds.length);
+        for (PropertyDescriptor pd : pds) {
+            if (pd.getReadMethod() != null && pd.getWriteMethod() != null && !"class".equals(pd.getName())) {
+                props.add(pd);
             }
-            props.sort(Comparator.comparing(PropertyDescriptor::getName));
+        }
+        props.sort(Comparator.comparing(PropertyDescriptor::getName));
 
-            final ArrayList<FieldDef> fields = new ArrayList<>(props.size());
-            int bit = 0, lenVar = 0, fixedOff = 0;
+        final boolean strCache = strCacheCapacity(type) > 0;
+        final ArrayList<FieldDef> fields = new ArrayList<>(props.size());
+        int bit = 0, lenVar = 0, fixedOff = 0;
 
-            for (PropertyDescriptor pd : props) {
-                final Class<?> t = pd.getPropertyType();
-                final Kind k = classify(t);
-                if (k == null) {
-                    throw new UnsupportedOperationException("Unsupported type: " + t.getName() + " for " + pd.getName());
-                }
-                final MethodHandle gRaw = MethodHandles.lookup().unreflect(pd.getReadMethod());
-                final MethodHandle sRaw = MethodHandles.lookup().unreflect(pd.getWriteMethod());
-                // мостим через Object (erasure); invokeExact требует явный cast в вызове
-                final MethodHandle g = gRaw.asType(MethodType.methodType(t, Object.class));
-                final MethodHandle s = sRaw.asType(MethodType.methodType(void.class, Object.class, t));
-
-                final boolean optional = isOptional(k);
-                final boolean varlen = isVarlen(k);
-                final int presenceBit = optional ? bit++ : -1;
-                final int lenIndex = varlen ? lenVar++ : -1;
-                final int fsz = fixedSizeOf(k);
-                final int foff = (fsz > 0) ? fixedOff : -1;
-                if (fsz > 0) fixedOff += fsz;
-
-                fields.add(new FieldDef(pd.getName(), k, g, s, presenceBit, lenIndex, foff, fsz));
+        for (PropertyDescriptor pd : props) {
+            final Class<?> t = pd.getPropertyType();
+            final Kind k = classify(t);
+            if (k == null) {
+                throw new UnsupportedOperationException("Unsupported type: " + t.getName() + " for " + pd.getName());
+            }
+            final MethodHandle gRaw = MethodHandles.lookup().unreflect(pd.getReadMethod());
+            final MethodHandle sRaw = MethodHandles.lookup().unreflect(pd.getWriteMethod());
+            // мостим через Object (erasure); invokeExact требует явный cast в вызове
+            final MethodHandle g = gRaw.asType(MethodType.methodType(t, Object.class));
+            final MethodHandle s = sRaw.asType(MethodType.methodType(void.class, Object.class, t));
+
+            final boolean optional = isOptional(k);
+            final boolean varlen = isVarlen(k);
+            final int presenceBit = optional ? bit++ : -1;
+            final int lenIndex = varlen ? lenVar++ : -1;
+            final int fsz = fixedSizeOf(k);
+            final int foff = (fsz > 0) ? fixedOff : -1;
+            if (fsz > 0) fixedOff += fsz;
+
+            final boolean strCached = k == Kind.STRING && strCache && !noStringCache(type, pd);
+
+            fields.add(new FieldDef(pd.getName(), k, pd.getReadMethod(), pd.getWriteMethod(), g, s, presenceBit, lenIndex, foff, fsz, strCached));
+        }
+        return fields;
+    }
+
+    private static int strCacheCapacity(final Class<?> type) {
+        final StringCacheSize a = type.getAnnotation(StringCacheSize.class);
+        return (a != null) ? a.value() : DEFAULT_STR_CACHE_CAPACITY;
+    }
+
+    // @NoStringCache на геттере или на поле (в т.ч. унаследованном) с именем свойства
+    private static boolean noStringCache(final Class<?> type, final PropertyDescriptor pd) {
+        if (pd.getReadMethod().isAnnotationPresent(NoStringCache.class)) return true;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(pd.getName()).isAnnotationPresent(NoStringCache.class);
+            } catch (NoSuchFieldException ignored) {
+                // ищем выше по иерархии
+            }
+        }
+        return false;
+    }
+
+    /**
+     * TL-кэш строк для типа или {@code null}, если ни одно поле его не использует.
+     */
+    private static ThreadLocal<StringCache> strCacheOf(final Class<?> type, final List<FieldDef> fields) {
+        for (final FieldDef f : fields) {
+            if (f.strCached()) {
+                final int capacity = strCacheCapacity(type);
+                return STR_CACHES.computeIfAbsent(type, t -> ThreadLocal.withInitial(() -> new StringCache(capacity)));
             }
+        }
+        return null;
+    }
 
-            final int LEN_COUNT = lenVar;
-            final int HEAD_SIZE = 12 + 4 * LEN_COUNT;
-            final int FIXED_SIZE = fixedOff;
-            final int TAIL_BASE = HEAD_SIZE + FIXED_SIZE;
+    private static int lenCount(final List<FieldDef> fields) {
+        int lenCount = 0;
+        for (final FieldDef f : fields) if (f.lenIndex() >= 0) lenCount++;
+        return lenCount;
+    }
+
+    private static int headSize(final List<FieldDef> fields) {
+        return OFF_LENS + 4 * lenCount(fields);
+    }
+
+    private static int tailBase(final List<FieldDef> fields) {
+        int fixed = 0;
+        for (final FieldDef f : fields) fixed += f.fixedSize();
+        return headSize(fields) + fixed;
+    }
+
+    private static <T> Codec<T> build(final Class<T> type, final Mode mode) {
+        try {
+            final MethodHandles.Lookup L = MethodHandles.lookup();
+
+            final List<FieldDef> fields = introspect(type);
+
+            final int LEN_COUNT = lenCount(fields);
+            final int HEAD_SIZE = headSize(fields);
+            final int TAIL_BASE = tailBase(fields);
+
+            final ThreadLocal<StringCache> STR_CACHE = strCacheOf(type, fields);
+
+            if (mode == Mode.BYTECODE && CodecGenerator.supports(type)) {
+                return CodecGenerator.generate(type, fields, HEAD_SIZE, TAIL_BASE, STR_CACHE);
+            }
 
             final MethodHandle ctorObj =
                     L.findConstructor(type, MethodType.methodType(void.class))
@@ -121,78 +267,60 @@ public final class SchemaCompiler {
             // ---------- Скомпилированный кодек ----------
             return new Codec<>() {
 
-                // -------- size --------
-                @Override
-                public int byteSize(final T v) {
+                // -------- var: единственный проход по геттерам var-полей --------
+                // заполняет payload'ы по lenIndex и возвращает суммарную длину tail
+                private int collect(final T v, final byte[][] varPayloads) {
+                    final StringCache strCache = (STR_CACHE != null) ? STR_CACHE.get() : null;
                     int tail = 0;
-                    if (LEN_COUNT != 0) {
-                        final IdentityHashMap<String, byte[]> strCache = TL_STR_CACHE.get();
-                        for (final FieldDef f : fields) {
-                            try {
-                                if (f.kind == Kind.STRING) {
-                                    final String s = (String) f.getter.invokeExact((Object) v);
-                                    if (s != null) {
-                                        byte[] nb = strCache.get(s);
-                                        if (nb == null) {
-                                            nb = s.getBytes(StandardCharsets.UTF_8);
-                                            strCache.put(s, nb);
-                                        }
-                                        tail += nb.length;
-                                    }
-                                } else if (f.kind == Kind.BYTES) {
-                                    final byte[] b = (byte[]) f.getter.invokeExact((Object) v);
-                                    if (b != null) tail += b.length;
-                                }
-                            } catch (Throwable e) {
-                                throw rethrow(e);
+                    for (final FieldDef f : fields) {
+                        if (f.lenIndex < 0) continue;
+                        try {
+                            final byte[] pl;
+                            if (f.kind == Kind.STRING) {
+                                final String s = (String) f.getter.invokeExact((Object) v);
+                                pl = (s == null) ? null
+                                        : f.strCached ? strCache.utf8(s) : s.getBytes(StandardCharsets.UTF_8);
+                            } else {
+                                pl = (byte[]) f.getter.invokeExact((Object) v);
                             }
+                            varPayloads[f.lenIndex] = pl;
+                            if (pl != null) tail += pl.length;
+                        } catch (Throwable e) {
+                            throw rethrow(e);
                         }
                     }
-                    return TAIL_BASE + tail;
+                    return tail;
+                }
+
+                private byte[][] payloads() {
+                    return (TL_VAR != null) ? TL_VAR.get() : null;
+                }
+
+                // -------- size --------
+                @Override
+                public int byteSize(final T v) {
+                    return (LEN_COUNT == 0) ? TAIL_BASE : TAIL_BASE + collect(v, payloads());
                 }
 
                 // -------- write: MemorySegment --------
                 @Override
                 public void write(final T v, final MemorySegment dst, final long off) {
+                    final byte[][] varPayloads = payloads();
+                    if (varPayloads != null) collect(v, varPayloads);
+                    writeRecord(v, varPayloads, dst, off);
+                }
+
+                // запись с уже собранными var-payload'ами
+                private void writeRecord(final T v, final byte[][] varPayloads, final MemorySegment dst, final long off) {
                     long presence = 0L;
 
                     dst.set(I8, off + OFF_VER, VERSION);
 
-                    final byte[][] varPayloads = (TL_VAR != null) ? TL_VAR.get() : null;
-                    if (LEN_COUNT != 0) {
-                        Arrays.fill(varPayloads, null);
-                        final IdentityHashMap<String, byte[]> strCache = TL_STR_CACHE.get();
-                        for (final FieldDef f : fields) {
-                            if (f.lenIndex >= 0) {
-                                try {
-                                    if (f.kind == Kind.STRING) {
-                                        final String s = (String) f.getter.invokeExact((Object) v);
-                                        byte[] nb = null;
-                                        if (s != null) {
-                                            nb = strCache.get(s);
-                                            if (nb == null) {
-                                                nb = s.getBytes(StandardCharsets.UTF_8);
-                                                strCache.put(s, nb);
-                                            }
-                                            varPayloads[f.lenIndex] = nb;
-                                            presence |= bitMask(f.presenceBit);
-                                        }
-                                        dst.set(I32, off + 12 + 4L * f.lenIndex, (nb == null) ? 0 : nb.length);
-                                    } else if (f.kind == Kind.BYTES) {
-                                        final byte[] b = (byte[]) f.getter.invokeExact((Object) v);
-                                        if (b != null) {
-                                            varPayloads[f.lenIndex] = b;
-                                            presence |= bitMask(f.presenceBit);
-                                            dst.set(I32, off + 12 + 4L * f.lenIndex, b.length);
-                                        } else {
-                                            dst.set(I32, off + 12 + 4L * f.lenIndex, 0);
-                                        }
-                                    }
-                                } catch (Throwable e) {
-                                    throw rethrow(e);
-                                }
-                            }
-                        }
+                    for (final FieldDef f : fields) {
+                        if (f.lenIndex < 0) continue;
+                        final byte[] pl = varPayloads[f.lenIndex];
+                        if (pl != null) presence |= bitMask(f.presenceBit);
+                        dst.set(I32, off + OFF_LENS + 4L * f.lenIndex, (pl == null) ? 0 : pl.length);
                     }
 
                     // fixed
@@ -278,6 +406,15 @@ public final class SchemaCompiler {
                                         dst.set(I32, addr + 8, ns);
                                     }
                                 }
+                                case UID32 -> {
+                                    final Uid32Value o = uid32Holder(f, v);
+                                    if (o.isSet()) {
+                                        o.copyTo(dst, addr);
+                                    } else {
+                                        Uid32.generateInto(dst, addr);
+                                        o.copyFrom(dst, addr);
+                                    }
+                                }
                                 default -> {
                                 }
                             }
@@ -304,45 +441,21 @@ public final class SchemaCompiler {
                 // -------- write: byte[] (спец. быстрый путь) --------
                 @Override
                 public void write(final T v, final byte[] dst, final int off) {
+                    final byte[][] varPayloads = payloads();
+                    if (varPayloads != null) collect(v, varPayloads);
+                    writeRecord(v, varPayloads, dst, off);
+                }
+
+                private void writeRecord(final T v, final byte[][] varPayloads, final byte[] dst, final int off) {
                     long presence = 0L;
 
                     dst[off + OFF_VER] = VERSION;
 
-                    final byte[][] varPayloads = (TL_VAR != null) ? TL_VAR.get() : null;
-                    if (LEN_COUNT != 0) {
-                        Arrays.fill(varPayloads, null);
-                        final IdentityHashMap<String, byte[]> strCache = TL_STR_CACHE.get();
-                        for (final FieldDef f : fields) {
-                            if (f.lenIndex >= 0) {
-                                try {
-                                    if (f.kind == Kind.STRING) {
-                                        final String s = (String) f.getter.invokeExact((Object) v);
-                                        byte[] nb = null;
-                                        if (s != null) {
-                                            nb = strCache.get(s);
-                                            if (nb == null) {
-                                                nb = s.getBytes(StandardCharsets.UTF_8);
-                                                strCache.put(s, nb);
-                                            }
-                                            varPayloads[f.lenIndex] = nb;
-                                            presence |= bitMask(f.presenceBit);
-                                        }
-                                        putIntLE(dst, off + 12 + (f.lenIndex << 2), (nb == null) ? 0 : nb.length);
-                                    } else if (f.kind == Kind.BYTES) {
-                                        final byte[] b = (byte[]) f.getter.invokeExact((Object) v);
-                                        if (b != null) {
-                                            varPayloads[f.lenIndex] = b;
-                                            presence |= bitMask(f.presenceBit);
-                                            putIntLE(dst, off + 12 + (f.lenIndex << 2), b.length);
-                                        } else {
-                                            putIntLE(dst, off + 12 + (f.lenIndex << 2), 0);
-                                        }
-                                    }
-                                } catch (Throwable e) {
-                                    throw rethrow(e);
-                                }
-                            }
-                        }
+                    for (final FieldDef f : fields) {
+                        if (f.lenIndex < 0) continue;
+                        final byte[] pl = varPayloads[f.lenIndex];
+                        if (pl != null) presence |= bitMask(f.presenceBit);
+                        putIntLE(dst, off + OFF_LENS + (f.lenIndex << 2), (pl == null) ? 0 : pl.length);
                     }
 
                     // fixed
@@ -429,6 +542,15 @@ public final class SchemaCompiler {
                                         putIntLE(dst, p + 8, ns);
                                     }
                                 }
+                                case UID32 -> {
+                                    final Uid32Value o = uid32Holder(f, v);
+                                    if (o.isSet()) {
+                                        o.copyTo(dst, p);
+                                    } else {
+                                        Uid32.generateInto(dst, p);
+                                        o.copyFrom(dst, p);
+                                    }
+                                }
                                 default -> {
                                 }
                             }
@@ -452,33 +574,66 @@ public final class SchemaCompiler {
                     }
                 }
 
-                // -------- encodeToBytes (оставляем — воспользуется спец. write(byte[],...)) --------
+                // -------- encode за один проход: размер из уже собранных payload'ов --------
                 @Override
                 public byte[] encodeToBytes(final T v) {
-                    final int total = byteSize(v);
-                    final byte[] out = new byte[total];
-                    write(v, out, 0);
+                    final byte[][] varPayloads = payloads();
+                    final int tail = (varPayloads != null) ? collect(v, varPayloads) : 0;
+                    final byte[] out = new byte[TAIL_BASE + tail];
+                    writeRecord(v, varPayloads, out, 0);
                     return out;
                 }
 
-                // -------- read: MemorySegment --------
                 @Override
-                public T read(final MemorySegment src, final long off) {
-                    final byte ver = src.get(I8, off + OFF_VER);
-                    if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
-                    final long presence = src.get(I64_LE, off + OFF_PRES64);
+                public MemorySegment encodeToNative(final T v, final Arena arena) {
+                    final byte[][] varPayloads = payloads();
+                    final int tail = (varPayloads != null) ? collect(v, varPayloads) : 0;
+                    final MemorySegment out = arena.allocate(TAIL_BASE + tail, 1);
+                    writeRecord(v, varPayloads, out, 0);
+                    return out;
+                }
 
-                    final int[] lens = (LEN_COUNT == 0) ? null : new int[LEN_COUNT];
-                    for (final FieldDef f : fields)
-                        if (f.lenIndex >= 0)
-                            lens[f.lenIndex] = src.get(I32, off + 12 + 4L * f.lenIndex);
+                @Override
+                public int encodeTo(final T v, final WritableOutput out) {
+                    final byte[][] varPayloads = payloads();
+                    final int size = TAIL_BASE + ((varPayloads != null) ? collect(v, varPayloads) : 0);
+                    final long p = out.reserve(size);
+                    final byte[] a = out.array();
+                    if (a != null) writeRecord(v, varPayloads, a, (int) p);
+                    else writeRecord(v, varPayloads, out.segment(), p);
+                    return size;
+                }
 
-                    final T obj;
+                private T newInstance() {
                     try {
-                        obj = (T) ctorObj.invokeExact();
+                        return (T) ctorObj.invokeExact();
                     } catch (Throwable e) {
                         throw rethrow(e);
                     }
+                }
+
+                // -------- read: MemorySegment --------
+                @Override
+                public T read(final MemorySegment src, final long off) {
+                    return readInto(src, off, newInstance());
+                }
+
+                @Override
+                public T readUnchecked(final MemorySegment src, final long off) {
+                    return readFields(src, off, newInstance());
+                }
+
+                // -------- readInto: MemorySegment (без аллокации DTO) --------
+                @Override
+                public T readInto(final MemorySegment src, final long off, final T obj) {
+                    final byte ver = src.get(I8, off + OFF_VER);
+                    if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
+                    return readFields(src, off, obj);
+                }
+
+                // поля записи; версия уже проверена вызывающим
+                private T readFields(final MemorySegment src, final long off, final T obj) {
+                    final long presence = src.get(I64_LE, off + OFF_PRES64);
 
                     for (final FieldDef f : fields) {
                         if (f.fixedSize == 0) continue;
@@ -520,6 +675,11 @@ public final class SchemaCompiler {
                                         f.setter.invokeExact((Object) obj, LocalDateTime.ofEpochSecond(sec, ns, ZoneOffset.UTC));
                                     } else f.setter.invokeExact((Object) obj, (LocalDateTime) null);
                                 }
+                                case UID32 -> {
+                                    // текущее значение цели переиспользуется
+                                    final Uid32Value cur = (Uid32Value) f.getter.invokeExact((Object) obj);
+                                    f.setter.invokeExact((Object) obj, uid32(cur).copyFrom(src, addr));
+                                }
                                 default -> {
                                 }
                             }
@@ -531,7 +691,7 @@ public final class SchemaCompiler {
                     long p = off + TAIL_BASE;
                     for (final FieldDef f : fields) {
                         if (f.lenIndex < 0) continue;
-                        final int len = lens[f.lenIndex];
+                        final int len = src.get(I32, off + 12 + 4L * f.lenIndex);
                         final boolean present = ((presence & bitMask(f.presenceBit)) != 0L);
                         try {
                             if (!present) {
@@ -545,7 +705,7 @@ public final class SchemaCompiler {
                                 f.setter.invokeExact((Object) obj, new String(nb, StandardCharsets.UTF_8));
                                 p += len;
                             } else {
-                                final byte[] bb = new byte[len];
+                                final byte[] bb = reuse((byte[]) f.getter.invokeExact((Object) obj), len);
                                 if (len != 0) MemorySegment.copy(src, p, MemorySegment.ofArray(bb), 0, len);
                                 f.setter.invokeExact((Object) obj, bb);
                                 p += len;
@@ -560,22 +720,16 @@ public final class SchemaCompiler {
                 // -------- read: byte[] (спец. быстрый путь) --------
                 @Override
                 public T read(final byte[] src, final int off) {
+                    return readInto(src, off, newInstance());
+                }
+
+                // -------- readInto: byte[] (без аллокации DTO) --------
+                @Override
+                public T readInto(final byte[] src, final int off, final T obj) {
                     final byte ver = src[off + OFF_VER];
                     if (ver != VERSION) throw new IllegalArgumentException("Version mismatch: " + ver);
                     final long presence = getLongLE(src, off + OFF_PRES64);
 
-                    final int[] lens = (LEN_COUNT == 0) ? null : new int[LEN_COUNT];
-                    for (final FieldDef f : fields)
-                        if (f.lenIndex >= 0)
-                            lens[f.lenIndex] = getIntLE(src, off + 12 + (f.lenIndex << 2));
-
-                    final T obj;
-                    try {
-                        obj = (T) ctorObj.invokeExact();
-                    } catch (Throwable e) {
-                        throw rethrow(e);
-                    }
-
                     final int fixedBase = off + HEAD_SIZE;
                     for (final FieldDef f : fields) {
                         if (f.fixedSize == 0) continue;
@@ -618,6 +772,10 @@ public final class SchemaCompiler {
                                         f.setter.invokeExact((Object) obj, LocalDateTime.ofEpochSecond(sec, ns, ZoneOffset.UTC));
                                     } else f.setter.invokeExact((Object) obj, (LocalDateTime) null);
                                 }
+                                case UID32 -> {
+                                    final Uid32Value cur = (Uid32Value) f.getter.invokeExact((Object) obj);
+                                    f.setter.invokeExact((Object) obj, uid32(cur).copyFrom(src, p));
+                                }
                                 default -> {
                                 }
                             }
@@ -629,7 +787,7 @@ public final class SchemaCompiler {
                     int p = off + TAIL_BASE;
                     for (final FieldDef f : fields) {
                         if (f.lenIndex < 0) continue;
-                        final int len = lens[f.lenIndex];
+                        final int len = getIntLE(src, off + 12 + (f.lenIndex << 2));
                         final boolean present = ((presence & bitMask(f.presenceBit)) != 0L);
                         try {
                             if (!present) {
@@ -642,7 +800,7 @@ public final class SchemaCompiler {
                                 f.setter.invokeExact((Object) obj, s);
                                 p += len;
                             } else {
-                                final byte[] bb = new byte[len];
+                                final byte[] bb = reuse((byte[]) f.getter.invokeExact((Object) obj), len);
                                 System.arraycopy(src, p, bb, 0, len);
                                 f.setter.invokeExact((Object) obj, bb);
                                 p += len;
@@ -661,18 +819,44 @@ public final class SchemaCompiler {
 
     // ---- helpers ----
 
-    private static long bitMask(final int bit) {
+    static long bitMask(final int bit) {
         return 1L << bit;
     }
 
-    private static boolean isOptional(final Kind k) {
+    /**
+     * Переиспользует массив цели, если его длина совпадает, иначе аллоцирует новый.
+     */
+    static byte[] reuse(final byte[] cur, final int len) {
+        return (cur != null && cur.length == len) ? cur : new byte[len];
+    }
+
+    /**
+     * Контейнер UID цели для чтения: текущий или новый, если поле пустое.
+     */
+    static Uid32Value uid32(final Uid32Value cur) {
+        return (cur != null) ? cur : new Uid32Value();
+    }
+
+    /**
+     * Контейнер UID источника для записи; пустое поле получает новый контейнер через сеттер.
+     */
+    static Uid32Value uid32Holder(final FieldDef f, final Object dto) throws Throwable {
+        Uid32Value o = (Uid32Value) f.getter().invokeExact(dto);
+        if (o == null) {
+            o = new Uid32Value();
+            f.setter().invokeExact(dto, o);
+        }
+        return o;
+    }
+
+    static boolean isOptional(final Kind k) {
         return switch (k) {
             case BOOL_B, BYTE_B, SHORT_B, CHAR_B, INT_B, LONG_B, FLOAT_B, DOUBLE_B, STRING, BYTES, LDT -> true;
             default -> false;
         };
     }
 
-    private static boolean isVarlen(final Kind k) {
+    static boolean isVarlen(final Kind k) {
         return k == Kind.STRING || k == Kind.BYTES;
     }
 
@@ -684,6 +868,7 @@ public final class SchemaCompiler {
             case FLOAT_P, FLOAT_B -> 4;
             case DOUBLE_P, DOUBLE_B -> 8;
             case LDT -> 12; // sec(i64)+nano(i32)
+            case UID32 -> Uid32Layout.LEN; // байты UID как есть
             default -> 0;
         };
     }
@@ -710,6 +895,7 @@ public final class SchemaCompiler {
         if (t == String.class) return Kind.STRING;
         if (t == byte[].class) return Kind.BYTES;
         if (t == LocalDateTime.class) return Kind.LDT;
+        if (t == Uid32Value.class) return Kind.UID32;
 
         return null;
     }
@@ -721,21 +907,21 @@ public final class SchemaCompiler {
     }
 
     // ---- Byte[] fast I/O (LE) ----
-    private static void putIntLE(final byte[] a, final int p, final int v) {
+    static void putIntLE(final byte[] a, final int p, final int v) {
         a[p] = (byte) (v);
         a[p + 1] = (byte) (v >>> 8);
         a[p + 2] = (byte) (v >>> 16);
         a[p + 3] = (byte) (v >>> 24);
     }
 
-    private static int getIntLE(final byte[] a, final int p) {
+    static int getIntLE(final byte[] a, final int p) {
         return (a[p] & 0xFF)
                 | ((a[p + 1] & 0xFF) << 8)
                 | ((a[p + 2] & 0xFF) << 16)
                 | ((a[p + 3] & 0xFF) << 24);
     }
 
-    private static void putLongLE(final byte[] a, final int p, final long v) {
+    static void putLongLE(final byte[] a, final int p, final long v) {
         a[p] = (byte) (v);
         a[p + 1] = (byte) (v >>> 8);
         a[p + 2] = (byte) (v >>> 16);
@@ -746,7 +932,7 @@ public final class SchemaCompiler {
         a[p + 7] = (byte) (v >>> 56);
     }
 
-    private static long getLongLE(final byte[] a, final int p) {
+    static long getLongLE(final byte[] a, final int p) {
         return ((long) a[p] & 0xFF)
                 | (((long) a[p + 1] & 0xFF) << 8)
                 | (((long) a[p + 2] & 0xFF) << 16)
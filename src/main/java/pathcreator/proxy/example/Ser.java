@@ -3,6 +3,7 @@ package pathcreator.proxy.example;
 import java.io.Serial;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.List;
 
 public abstract class Ser<T> implements java.io.Serializable {
 
@@ -33,10 +34,30 @@ public abstract class Ser<T> implements java.io.Serializable {
         codec().write(self(), dst, off);
     }
 
+    /**
+     * Дописывает запись в {@code out} за один проход по DTO.
+     *
+     * @return длина записи в байтах
+     */
+    public final int encodeTo(WritableOutput out) {
+        return codec().encodeTo(self(), out);
+    }
+
     public final MemorySegment toSegment(Arena arena) {
         return codec().encodeToNative(self(), arena);
     }
 
+    /**
+     * Заполняет этот экземпляр из закодированной записи (без создания нового DTO).
+     */
+    public final T readFrom(byte[] src, int off) {
+        return codec().readInto(src, off, self());
+    }
+
+    public final T readFrom(MemorySegment src, long off) {
+        return codec().readInto(src, off, self());
+    }
+
     public static <X> X fromBytes(byte[] src, int off, Class<X> type) {
         return SchemaCompiler.<X>compile(type).read(src, off);
     }
@@ -45,6 +66,14 @@ public abstract class Ser<T> implements java.io.Serializable {
         return SchemaCompiler.<X>compile(type).read(src, off);
     }
 
+    public static <X> int encodeBatch(List<? extends X> values, WritableOutput out, Class<X> type) {
+        return SchemaCompiler.<X>compile(type).encodeBatch(values, out);
+    }
+
+    public static <X> List<X> fromBatch(MemorySegment src, long off, Class<X> type) {
+        return SchemaCompiler.<X>compile(type).decodeBatch(src, off);
+    }
+
     @SuppressWarnings("unchecked")
     private T self() {
         return (T) this;
@@ -0,0 +1,133 @@
+package pathcreator.proxy.example;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Ограниченный кэш UTF-8 представлений строк по ссылочной идентичности.
+ * <p>
+ * Таблица разбита на наборы по {@value #WAYS} слота (set-associative): строка попадает в набор
+ * по {@link System#identityHashCode(Object)}, внутри набора вытеснение по CLOCK —
+ * слот с выставленным reference-битом получает «второй шанс». Новая запись вставляется
+ * со сброшенным битом, поэтому одноразовые строки (уникальные id и т.п.) вытесняются первыми
+ * и не вымывают горячие. Поиск и вставка — O({@value #WAYS}), без аллокаций кроме самого {@code byte[]}.
+ * <p>
+ * Экземпляр не потокобезопасен: кодек держит по одному на поток (см. {@link SchemaCompiler#stringCache(Class)}).
+ * Ёмкость задаётся {@link StringCacheSize} на типе DTO или свойством {@code -Dschema.strcache.capacity};
+ * отдельные поля исключаются из кэша аннотацией {@link NoStringCache}.
+ */
+public final class StringCache {
+
+    static final int WAYS = 4;
+
+    private final String[] keys;
+    private final byte[][] values;
+    private final boolean[] refs;
+    private final int setMask;
+
+    private int size;
+    private int hand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity желаемое число записей; округляется вверх до степени двойки, не меньше {@value #WAYS}
+     */
+    public StringCache(final int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+        final int cap = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new String[cap];
+        this.values = new byte[cap][];
+        this.refs = new boolean[cap];
+        this.setMask = (cap - 1) & ~(WAYS - 1);
+    }
+
+    /**
+     * UTF-8 байты строки: из кэша, если эта же ссылка уже кодировалась, иначе кодирует и запоминает.
+     * Возвращаемый массив разделяется между вызовами — менять его нельзя.
+     */
+    public byte[] utf8(final String s) {
+        if (s == null) return null;
+        final int base = spread(System.identityHashCode(s)) & setMask;
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == s) {
+                refs[i] = true;
+                hits++;
+                return values[i];
+            }
+        }
+        misses++;
+        final byte[] nb = s.getBytes(StandardCharsets.UTF_8);
+        final int slot = victim(base);
+        keys[slot] = s;
+        values[slot] = nb;
+        refs[slot] = false;
+        return nb;
+    }
+
+    // свободный слот набора или жертва по CLOCK
+    private int victim(final int base) {
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == null) {
+                size++;
+                return i;
+            }
+        }
+        evictions++;
+        while (true) {
+            final int i = base + (hand++ & (WAYS - 1));
+            if (!refs[i]) return i;
+            refs[i] = false;
+        }
+    }
+
+    private static int spread(final int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B1 >>> 8;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Доля попаданий с момента создания или последнего {@link #resetStats()}; {@code 0}, если обращений не было.
+     */
+    public double hitRate() {
+        final long total = hits + misses;
+        return (total == 0) ? 0.0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits = misses = evictions = 0L;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(refs, false);
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StringCache{capacity=" + capacity() + ", size=" + size + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ", hitRate=" + String.format("%.3f", hitRate()) + '}';
+    }
+}
@@ -0,0 +1,18 @@
+package pathcreator.proxy.example;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ёмкость потокового {@link StringCache} для кодека этого DTO.
+ * {@code 0} отключает кэш строк для всего типа.
+ * Без аннотации используется {@code -Dschema.strcache.capacity} (по умолчанию 1024).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface StringCacheSize {
+
+    int value();
+}
@@ -0,0 +1,123 @@
+package pathcreator.proxy.example;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Растущий буфер для потоковой записи записей через {@link Codec#encodeTo(Object, WritableOutput)}.
+ * <ul>
+ *   <li>{@link #heap(int)} — поверх {@code byte[]}; кодек пишет в массив напрямую;</li>
+ *   <li>{@link #offHeap(Arena, long)} — поверх сегментов {@code arena}; при росте старый сегмент
+ *       остаётся жить до закрытия арены (для долгоживущих буферов — {@link Arena#ofAuto()});</li>
+ *   <li>{@link #wrap(MemorySegment)} — фиксированный сегмент вызывающего, без роста.</li>
+ * </ul>
+ * Записи пишутся подряд с {@link #position()}; {@link #reset()} переиспользует буфер для следующей пачки.
+ * Не потокобезопасен.
+ */
+public final class WritableOutput {
+
+    private static final int MAX_ARRAY = Integer.MAX_VALUE - 8;
+
+    private final Arena arena;
+    private final boolean growable;
+
+    private byte[] array;
+    private MemorySegment seg;
+    private long position;
+
+    private WritableOutput(final Arena arena, final boolean growable, final byte[] array, final MemorySegment seg) {
+        this.arena = arena;
+        this.growable = growable;
+        this.array = array;
+        this.seg = seg;
+    }
+
+    public static WritableOutput heap(final int initialCapacity) {
+        final byte[] a = new byte[Math.max(initialCapacity, 16)];
+        return new WritableOutput(null, true, a, MemorySegment.ofArray(a));
+    }
+
+    public static WritableOutput offHeap(final Arena arena, final long initialCapacity) {
+        return new WritableOutput(arena, true, null, arena.allocate(Math.max(initialCapacity, 16), 8));
+    }
+
+    /**
+     * Фиксированный буфер: {@link #reserve(int)} бросает {@link IndexOutOfBoundsException} при переполнении.
+     */
+    public static WritableOutput wrap(final MemorySegment seg) {
+        return new WritableOutput(null, false, null, seg);
+    }
+
+    /**
+     * Резервирует {@code n} байт с текущей позиции (при необходимости растит буфер) и сдвигает позицию.
+     *
+     * @return смещение начала зарезервированного участка
+     */
+    public long reserve(final int n) {
+        final long p = position;
+        final long end = p + n;
+        if (end > seg.byteSize()) grow(end);
+        position = end;
+        return p;
+    }
+
+    private void grow(final long required) {
+        if (!growable) {
+            throw new IndexOutOfBoundsException("Output overflow: required " + required + ", capacity " + seg.byteSize());
+        }
+        final long cap = Math.max(required, seg.byteSize() << 1);
+        if (array != null) {
+            if (required > MAX_ARRAY) throw new OutOfMemoryError("Required array size too large: " + required);
+            final byte[] a = new byte[(int) Math.min(cap, MAX_ARRAY)];
+            System.arraycopy(array, 0, a, 0, (int) position);
+            array = a;
+            seg = MemorySegment.ofArray(a);
+        } else {
+            final MemorySegment s = arena.allocate(cap, 8);
+            MemorySegment.copy(seg, 0, s, 0, position);
+            seg = s;
+        }
+    }
+
+    /**
+     * Массив heap-буфера или {@code null} для off-heap/обёрнутого сегмента. Меняется при росте.
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * Текущий сегмент буфера (вся ёмкость). Меняется при росте.
+     */
+    public MemorySegment segment() {
+        return seg;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public void position(final long position) {
+        if (position < 0 || position > seg.byteSize()) throw new IndexOutOfBoundsException("position: " + position);
+        this.position = position;
+    }
+
+    public long capacity() {
+        return seg.byteSize();
+    }
+
+    public void reset() {
+        position = 0;
+    }
+
+    /**
+     * Записанная часть буфера {@code [0, position)} без копирования.
+     */
+    public MemorySegment written() {
+        return seg.asSlice(0, position);
+    }
+
+    public byte[] toByteArray() {
+        return written().toArray(SchemaCompiler.I8);
+    }
+}
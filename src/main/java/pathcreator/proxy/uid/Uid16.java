@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid;
+
+import pathcreator.proxy.uid.internal.Uid32Backend;
+import pathcreator.proxy.uid.internal.Uid32Symbols;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Генератор 16-байтовых UID ({@link pathcreator.proxy.uid.layout.Uid16Layout}) — вдвое меньший ключ,
+ * чем {@link Uid32}, для индексов на миллиарды записей.
+ * <p>
+ * Та же нативная библиотека и та же реализация, что у {@link Uid32} ({@link Uid32#implementation()}),
+ * {@code machineId} задаётся через {@link Uid32#setMachineId(int)}. Запись в heap и native — как у
+ * {@link Uid32#generateInto(MemorySegment, long)}. Чтение и сравнение —
+ * {@link pathcreator.proxy.uid.read.Uid16Reader}.
+ *
+ * <h2>Потокобезопасность</h2>
+ * Все методы потокобезопасны; состояние потока (последнее время, номер потока) — своё у каждого потока.
+ *
+ * @since 1.0
+ */
+public final class Uid16 {
+
+    private Uid16() {
+    }
+
+    /**
+     * Записывает UID16 в {@code dst} начиная с {@code offset}.
+     *
+     * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или в сегменте меньше 16 байт
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     */
+    public static void generateInto(final MemorySegment dst, final long offset) {
+        Uid32Backend.generateUid16Into(dst, offset);
+    }
+
+    /**
+     * @see #generateInto(MemorySegment, long)
+     */
+    public static void generateInto(final byte[] dst, final int offset) {
+        Uid32Backend.generateUid16Into(dst, offset);
+    }
+
+    /**
+     * Пачка из {@code count} UID16 подряд (по 16 байт) за один нативный вызов; часы читаются один раз,
+     * UID пачки строго возрастают.
+     *
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если в сегменте недостаточно места; в этом случае ничего не записывается
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     */
+    public static void generateBatch(final MemorySegment dst, final long offset, final int count) {
+        Uid32Backend.generateUid16Batch(dst, offset, count);
+    }
+
+    /**
+     * @see #generateBatch(MemorySegment, long, int)
+     */
+    public static void generateBatch(final byte[] dst, final int offset, final int count) {
+        Uid32Backend.generateUid16Batch(dst, offset, count);
+    }
+
+    /**
+     * {@return новый массив длиной {@value pathcreator.proxy.uid.internal.Uid32Symbols#UID16_LEN} байт с UID16}
+     */
+    public static byte[] generate() {
+        final byte[] out = new byte[Uid32Symbols.UID16_LEN];
+        Uid32Backend.generateUid16Into(out, 0);
+        return out;
+    }
+}
@@ -9,13 +9,11 @@
 
 package pathcreator.proxy.uid;
 
+import pathcreator.proxy.uid.internal.Uid32Backend;
 import pathcreator.proxy.uid.internal.Uid32Symbols;
 
 import java.lang.foreign.MemorySegment;
 
-import static pathcreator.proxy.uid.internal.Uid32Native.nativeGenerateInto;
-import static pathcreator.proxy.uid.internal.Uid32Native.nativeSetMachineId;
-
 /**
  * Высокопроизводительный генератор 32-байтовых UID с потокобезопасной записью результата.
  * <p>
@@ -24,17 +22,35 @@ import static pathcreator.proxy.uid.internal.Uid32Native.nativeSetMachineId;
  *   <li>{@link #setMachineId(int)} — установка 32-битного идентификатора машины;</li>
  *   <li>{@link #generateInto(MemorySegment, long)} — запись UID в заданный сегмент памяти;</li>
  *   <li>{@link #generateInto(byte[], int)} — запись UID в массив байт;</li>
- *   <li>{@link #generate()} — создание нового массива длиной 32 байта с результатом.</li>
+ *   <li>{@link #generateBatch(MemorySegment, long, int)}, {@link #generateBatch(byte[], int, int)} —
+ *       запись пачки UID подряд за один нативный вызов;</li>
+ *   <li>{@link #generate()} — создание нового массива длиной 32 байта с результатом;</li>
+ *   <li>{@code generateOrdered*} — то же в упорядоченном формате (см. ниже).</li>
  * </ul>
  *
+ * <h2>Упорядоченный режим</h2>
+ * Обычный UID32 уникален «на практике» (совпадение tsc/stack/core/tid маловероятно), но не гарантированно,
+ * и не сортируется по времени между ядрами. Методы {@code generateOrdered*} пишут формат
+ * {@link pathcreator.proxy.uid.layout.Uid32OrderedLayout}: Unix-наносекунды, {@code machineId}, номер потока
+ * в процессе и счётчик потока — всё big-endian. UID строго уникальны в пределах {@code machineId}
+ * и процесса, а побайтовое сравнение без знака упорядочивает их по времени генерации — подходят
+ * как кластерный первичный ключ (вставки идут в конец индекса). Чтение и сравнение —
+ * {@link pathcreator.proxy.uid.read.Uid32OrderedReader}.
+ *
  * <h2>Потокобезопасность</h2>
  * Все методы потокобезопасны. Генерация выполняется полностью на стороне нативного кода
- * с записью непосредственно в предоставленный буфер назначения (для heap-целей используется
- * потоковый промежуточный native-буфер). Глобальное состояние ограничено значением
+ * с записью непосредственно в предоставленный буфер назначения, в том числе в heap-массив
+ * (критический downcall; при {@code -Duid32.critical=false} — через потоковый native-буфер). Глобальное состояние ограничено значением
  * {@code machineId}, которое вы можете задать один раз при инициализации процесса.
  *
+ * <h2>Реализации</h2>
+ * Если нативная библиотека недоступна, используется генератор на чистой Java с тем же
+ * форматом и контрольной суммой; выбор задаётся {@code -Duid32.impl=auto|native|java}
+ * (по умолчанию {@code auto}), текущая реализация — {@link #implementation()}.
+ *
  * <h2>Производительность</h2>
- * Горячий путь — один нативный вызов; для heap-назначений добавляется одна копия 32 байт.
+ * Горячий путь — один нативный вызов без копий и без {@code ThreadLocal}; при {@code -Duid32.critical=false}
+ * для heap-назначений добавляется одна копия 32 байт.
  * Реализация избегает локации и дополнительных аллокаций в горячем пути.
  *
  * <h2>Требования к запуску</h2>
@@ -51,6 +67,13 @@ public final class Uid32 {
     private Uid32() {
     }
 
+    /**
+     * {@return используемая реализация: {@code "native"} или {@code "java"}}
+     */
+    public static String implementation() {
+        return Uid32Backend.name();
+    }
+
     /**
      * Устанавливает 32-битный идентификатор машины, учитываемый генератором UID на стороне нативного кода.
      * <p>
@@ -60,15 +83,15 @@ public final class Uid32 {
      * @throws RuntimeException если нативный вызов завершился с ошибкой
      */
     public static void setMachineId(final int id) {
-        nativeSetMachineId(id);
+        Uid32Backend.setMachineId(id);
     }
 
     /**
      * Генерирует 32-байтовый UID и записывает его в указанный сегмент памяти.
      * <p>
-     * Если {@code dst} — native-сегмент, запись выполняется напрямую в
-     * {@code dst.asSlice(offset, 32)}. Для heap-сегмента применяется потоковый промежуточный
-     * native-буфер с последующим копированием 32 байт.
+     * Запись выполняется напрямую в {@code dst.asSlice(offset, 32)}, в том числе для heap-сегмента
+     * (критический downcall). При {@code -Duid32.critical=false} для heap-сегмента применяется потоковый
+     * промежуточный native-буфер с последующим копированием 32 байт.
      *
      * @param dst    целевой сегмент (heap или native)
      * @param offset смещение (в байтах) в пределах {@code dst}, начиная с которого будет записан UID
@@ -76,7 +99,7 @@ public final class Uid32 {
      * @throws RuntimeException          если нативный вызов завершился с ошибкой
      */
     public static void generateInto(final MemorySegment dst, final long offset) {
-        nativeGenerateInto(dst, offset);
+        Uid32Backend.generateInto(dst, offset);
     }
 
     /**
@@ -88,7 +111,44 @@ public final class Uid32 {
      * @throws RuntimeException          если нативный вызов завершился с ошибкой
      */
     public static void generateInto(final byte[] dst, final int offset) {
-        nativeGenerateInto(dst, offset);
+        Uid32Backend.generateInto(dst, offset);
+    }
+
+    /**
+     * Генерирует {@code count} UID и записывает их подряд (по 32 байта) начиная с {@code offset}.
+     * <p>
+     * Для native-сегмента вся пачка пишется одним нативным вызовом; чтение {@code machineId},
+     * ядра и идентификатора потока выполняется один раз на пачку, поэтому {@code coreId} у всех UID
+     * пачки — ядро на момент её начала. Значения {@code tsc} строго возрастают в пределах потока — внутри
+     * пачки и между вызовами (в том числе между кусками heap-пачки).
+     * Для heap-сегмента запись идёт кусками по {@value pathcreator.proxy.uid.internal.Uid32Symbols#BATCH_CHUNK} UID
+     * (ограничивает паузу GC на время критического вызова), при {@code -Duid32.critical=false} — через
+     * потоковый native-буфер.
+     *
+     * @param dst    целевой сегмент (heap или native)
+     * @param offset смещение (в байтах) первого UID
+     * @param count  число UID
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если в сегменте недостаточно места; в этом случае ничего не записывается
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     */
+    public static void generateBatch(final MemorySegment dst, final long offset, final int count) {
+        Uid32Backend.generateBatch(dst, offset, count);
+    }
+
+    /**
+     * Генерирует {@code count} UID и записывает их подряд в массив байт.
+     *
+     * @param dst    целевой массив; должен вмещать {@code offset + 32 * count} байт
+     * @param offset смещение (в байтах) первого UID
+     * @param count  число UID
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если в массиве недостаточно места; в этом случае ничего не записывается
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     * @see #generateBatch(MemorySegment, long, int)
+     */
+    public static void generateBatch(final byte[] dst, final int offset, final int count) {
+        Uid32Backend.generateBatch(dst, offset, count);
     }
 
     /**
@@ -100,7 +160,58 @@ public final class Uid32 {
      */
     public static byte[] generate() {
         final byte[] out = new byte[Uid32Symbols.UID_LEN];
-        nativeGenerateInto(out, 0);
+        Uid32Backend.generateInto(out, 0);
+        return out;
+    }
+
+    /**
+     * Генерирует UID упорядоченного формата ({@link pathcreator.proxy.uid.layout.Uid32OrderedLayout})
+     * и записывает его в указанный сегмент; запись — как у {@link #generateInto(MemorySegment, long)}.
+     *
+     * @param dst    целевой сегмент (heap или native)
+     * @param offset смещение (в байтах) в пределах {@code dst}
+     * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или в сегменте недостаточно места
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     */
+    public static void generateOrderedInto(final MemorySegment dst, final long offset) {
+        Uid32Backend.generateOrderedInto(dst, offset);
+    }
+
+    /**
+     * @see #generateOrderedInto(MemorySegment, long)
+     */
+    public static void generateOrderedInto(final byte[] dst, final int offset) {
+        Uid32Backend.generateOrderedInto(dst, offset);
+    }
+
+    /**
+     * Пачка UID упорядоченного формата подряд. Часы читаются один раз на пачку: у всех UID пачки
+     * одинаковое {@code time}, порядок задаёт {@code seq}. Контракт границ — как у
+     * {@link #generateBatch(MemorySegment, long, int)}.
+     *
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если в сегменте недостаточно места; в этом случае ничего не записывается
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     */
+    public static void generateOrderedBatch(final MemorySegment dst, final long offset, final int count) {
+        Uid32Backend.generateOrderedBatch(dst, offset, count);
+    }
+
+    /**
+     * @see #generateOrderedBatch(MemorySegment, long, int)
+     */
+    public static void generateOrderedBatch(final byte[] dst, final int offset, final int count) {
+        Uid32Backend.generateOrderedBatch(dst, offset, count);
+    }
+
+    /**
+     * {@return новый массив с UID упорядоченного формата}
+     *
+     * @throws RuntimeException если нативный вызов завершился с ошибкой
+     */
+    public static byte[] generateOrdered() {
+        final byte[] out = new byte[Uid32Symbols.UID_LEN];
+        Uid32Backend.generateOrderedInto(out, 0);
         return out;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid;
+
+import pathcreator.proxy.uid.internal.Uid32Backend;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Пул заранее сгенерированных UID32 для потоков, которым важен хвост задержки: взять UID —
+ * один CAS и копия 32 байт, без нативного вызова.
+ *
+ * <h2>Кольцо</h2>
+ * Off-heap кольцо на {@code depth} UID (степень двойки) с одним писателем и многими читателями.
+ * Фоновый поток дописывает свободные слоты пачками ({@link Uid32#generateBatch} — один нативный вызов
+ * на непрерывный участок), когда в кольце остаётся не больше {@code lowWatermark} UID. Читатель копирует
+ * слот {@code head} и только потом сдвигает {@code head} CAS-ом: если CAS не прошёл, слот мог быть
+ * перезаписан — копия отбрасывается и попытка повторяется. Писатель не трогает слот, пока {@code head}
+ * его не прошёл, поэтому успешный CAS гарантирует целую копию.
+ *
+ * <h2>Пусто</h2>
+ * Если кольцо пусто, {@code take*} не ждут: UID генерируется напрямую, счётчик {@link #underruns()} растёт,
+ * писатель будится. По {@code underruns()} и {@link #taken()} подбирают {@code depth} и {@code lowWatermark}.
+ *
+ * <h2>Что меняется в UID</h2>
+ * {@code tsc}, {@code coreId} и {@code tid} — момента и потока пополнения, а не взятия. В упорядоченном
+ * формате время отстаёт от момента взятия на время жизни UID в кольце; UID из кольца выдаются в порядке
+ * генерации, но UID прямой генерации при пустом кольце в этот порядок не встраиваются.
+ * Уникальность сохраняется: у потока пополнения свой {@code tid}/номер потока.
+ *
+ * <h2>Поток пополнения</h2>
+ * По умолчанию — daemon-поток {@code uid32-pool-refill}; для закреплённого за ядром потока передайте
+ * свою {@link ThreadFactory}. Между пополнениями поток паркуется (читатель будит его, когда запас
+ * опускается до {@code lowWatermark}, плюс страховочный таймаут).
+ * {@link #close()} останавливает поток; оставшиеся UID ещё выдаются, дальше — прямая генерация.
+ *
+ * @since 1.0
+ */
+public final class Uid32Pool implements AutoCloseable {
+
+    /**
+     * Глубина по умолчанию.
+     */
+    public static final int DEFAULT_DEPTH = 4096;
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    // head и tail в разных кэш-линиях, с отступом от заголовка массива
+    private static final int HEAD = 8;
+    private static final int TAIL = 24;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MemorySegment ring;
+    private final int mask;
+    private final int lowWatermark;
+    private final boolean ordered;
+    private final long[] ctl = new long[32];
+    private final LongAdder underruns = new LongAdder();
+    private final Thread refiller;
+    private volatile boolean running = true;
+    private volatile long refills;
+
+    /**
+     * Пул обычного формата глубиной {@value #DEFAULT_DEPTH}, пополнение — когда осталась четверть.
+     */
+    public Uid32Pool() {
+        this(DEFAULT_DEPTH, DEFAULT_DEPTH / 4, false, null);
+    }
+
+    /**
+     * Создаёт кольцо, заполняет его целиком в вызывающем потоке и запускает поток пополнения.
+     *
+     * @param depth         ёмкость кольца в UID (округляется вверх до степени двойки)
+     * @param lowWatermark  пополнять, когда в кольце осталось не больше стольких UID; {@code [0, depth)}
+     * @param ordered       формат {@link pathcreator.proxy.uid.layout.Uid32OrderedLayout} вместо обычного
+     * @param threadFactory фабрика потока пополнения или {@code null} — daemon-поток по умолчанию
+     * @throws IllegalArgumentException если {@code depth} вне {@code [1, 2^24]} или {@code lowWatermark} вне диапазона
+     */
+    public Uid32Pool(final int depth, final int lowWatermark, final boolean ordered, final ThreadFactory threadFactory) {
+        if (depth < 1 || depth > 1 << 24) throw new IllegalArgumentException("depth out of [1, 2^24]: " + depth);
+        final int capacity = depth == 1 ? 1 : Integer.highestOneBit(depth - 1) << 1;
+        if (lowWatermark < 0 || lowWatermark >= capacity) {
+            throw new IllegalArgumentException("lowWatermark out of [0, " + capacity + "): " + lowWatermark);
+        }
+        this.ring = Arena.ofAuto().allocate((long) LEN * capacity, 64);
+        this.mask = capacity - 1;
+        this.lowWatermark = lowWatermark;
+        this.ordered = ordered;
+        refill();
+        final Runnable loop = this::run;
+        this.refiller = threadFactory != null ? threadFactory.newThread(loop) : defaultThread(loop);
+        refiller.start();
+    }
+
+    /**
+     * Записывает UID в {@code dst[offset .. offset + 32)}: из кольца или, если оно пусто, прямой генерацией.
+     *
+     * @return {@code true}, если UID взят из кольца
+     * @throws IndexOutOfBoundsException если в {@code dst} недостаточно места
+     */
+    public boolean takeInto(final MemorySegment dst, final long offset) {
+        Objects.checkFromIndexSize(offset, LEN, dst.byteSize());
+        long h = (long) LONGS.getVolatile(ctl, HEAD);
+        for (; ; ) {
+            final long t = (long) LONGS.getAcquire(ctl, TAIL);
+            if (h >= t) {
+                underrun();
+                if (ordered) Uid32Backend.generateOrderedInto(dst, offset);
+                else Uid32Backend.generateInto(dst, offset);
+                return false;
+            }
+            MemorySegment.copy(ring, (h & mask) * LEN, dst, offset, LEN);
+            final long w = (long) LONGS.compareAndExchange(ctl, HEAD, h, h + 1);
+            if (w == h) {
+                if (t - h - 1 == lowWatermark) LockSupport.unpark(refiller);
+                return true;
+            }
+            h = w;
+        }
+    }
+
+    /**
+     * @see #takeInto(MemorySegment, long)
+     */
+    public boolean takeInto(final byte[] dst, final int offset) {
+        return takeInto(MemorySegment.ofArray(dst), offset);
+    }
+
+    /**
+     * {@return новый массив с UID} из кольца или прямой генерации
+     */
+    public byte[] take() {
+        final byte[] out = new byte[LEN];
+        takeInto(out, 0);
+        return out;
+    }
+
+    /**
+     * {@return ёмкость кольца в UID}
+     */
+    public int depth() {
+        return mask + 1;
+    }
+
+    /**
+     * {@return UID в кольце сейчас}
+     */
+    public int available() {
+        return (int) Math.max(0, (long) LONGS.getAcquire(ctl, TAIL) - (long) LONGS.getVolatile(ctl, HEAD));
+    }
+
+    /**
+     * {@return UID, выданных из кольца}
+     */
+    public long taken() {
+        return (long) LONGS.getVolatile(ctl, HEAD);
+    }
+
+    /**
+     * {@return взятий при пустом кольце (UID сгенерирован напрямую)}
+     */
+    public long underruns() {
+        return underruns.sum();
+    }
+
+    /**
+     * {@return число пополнений кольца, включая начальное}
+     */
+    public long refills() {
+        return refills;
+    }
+
+    /**
+     * Останавливает поток пополнения и ждёт его завершения. Повторный вызов ничего не делает.
+     */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(refiller);
+        if (Thread.currentThread() == refiller) return;
+        try {
+            refiller.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // поток пополнения
+    // ---------------------------------------------------------------------
+
+    private void run() {
+        while (running) {
+            final long t = (long) LONGS.getOpaque(ctl, TAIL);
+            if (t - (long) LONGS.getVolatile(ctl, HEAD) <= lowWatermark) refill();
+            else LockSupport.parkNanos(this, PARK_NANOS);
+        }
+    }
+
+    /**
+     * Дописывает все свободные слоты (не более двух непрерывных участков) и публикует {@code tail}.
+     * Вызывается только потоком-писателем (и конструктором до его запуска).
+     */
+    private void refill() {
+        long t = (long) LONGS.getOpaque(ctl, TAIL);
+        long free = mask + 1 - (t - (long) LONGS.getVolatile(ctl, HEAD));
+        while (free > 0) {
+            final int at = (int) (t & mask);
+            final int run = (int) Math.min(free, mask + 1 - at);
+            if (ordered) Uid32Backend.generateOrderedBatch(ring, (long) at * LEN, run);
+            else Uid32Backend.generateBatch(ring, (long) at * LEN, run);
+            t += run;
+            free -= run;
+        }
+        LONGS.setRelease(ctl, TAIL, t);
+        refills++;
+    }
+
+    private void underrun() {
+        underruns.increment();
+        LockSupport.unpark(refiller);
+    }
+
+    private static Thread defaultThread(final Runnable r) {
+        final Thread t = new Thread(r, "uid32-pool-refill");
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Изменяемый контейнер одного UID32 (32 байта в собственном {@code byte[]}) для полей DTO и
+ * переиспользуемых буферов: запись и чтение — копия 32 байт, без аллокаций.
+ *
+ * <h2>Незаданное значение</h2>
+ * Новый экземпляр и экземпляр после {@link #clear()} не заданы ({@link #isSet()} — {@code false}).
+ * Кодек {@code SchemaCompiler} для незаданного (или {@code null}) поля типа {@code Uid32Value} генерирует
+ * UID прямо в буфер записи ({@link Uid32#generateInto}) и копирует его в контейнер DTO: повторная запись
+ * того же объекта даёт тот же UID. Чтобы выдать новый UID, контейнер сбрасывают {@link #clear()};
+ * если UID нужен до записи — {@link #generate()}.
+ *
+ * <h2>Чтение</h2>
+ * {@link #segment()} — вид на байты без копии, например для
+ * {@link pathcreator.proxy.uid.read.Uid32ReaderSegment} или {@link pathcreator.proxy.uid.text.Uid32Encoding}.
+ * Сравнение и хеш — по байтам; порядок {@link #compareTo} — беззнаковый побайтовый (для
+ * {@link pathcreator.proxy.uid.layout.Uid32OrderedLayout} — по времени).
+ * <p>
+ * Не потокобезопасен.
+ *
+ * @since 1.0
+ */
+public final class Uid32Value implements Comparable<Uid32Value> {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final byte[] bytes = new byte[LEN];
+    private final MemorySegment segment = MemorySegment.ofArray(bytes);
+    private boolean set;
+
+    /**
+     * Незаданное значение.
+     */
+    public Uid32Value() {
+    }
+
+    /**
+     * {@return новое значение со свежесгенерированным UID}
+     */
+    public static Uid32Value generated() {
+        return new Uid32Value().generate();
+    }
+
+    /**
+     * {@return значение с копией {@code src[offset .. offset + 32)}}
+     */
+    public static Uid32Value of(final byte[] src, final int offset) {
+        return new Uid32Value().copyFrom(src, offset);
+    }
+
+    /**
+     * Генерирует новый UID в этот контейнер.
+     *
+     * @return {@code this}
+     */
+    public Uid32Value generate() {
+        Uid32.generateInto(bytes, 0);
+        set = true;
+        return this;
+    }
+
+    /**
+     * Копирует UID из {@code src[offset .. offset + 32)}.
+     *
+     * @return {@code this}
+     * @throws IndexOutOfBoundsException если в {@code src} меньше 32 байт от {@code offset}
+     */
+    public Uid32Value copyFrom(final MemorySegment src, final long offset) {
+        MemorySegment.copy(src, offset, segment, 0, LEN);
+        set = true;
+        return this;
+    }
+
+    public Uid32Value copyFrom(final byte[] src, final int offset) {
+        Objects.checkFromIndexSize(offset, LEN, src.length);
+        System.arraycopy(src, offset, bytes, 0, LEN);
+        set = true;
+        return this;
+    }
+
+    public Uid32Value copyFrom(final Uid32Value src) {
+        System.arraycopy(src.bytes, 0, bytes, 0, LEN);
+        set = src.set;
+        return this;
+    }
+
+    /**
+     * Записывает UID в {@code dst[offset .. offset + 32)}; у незаданного значения — нули.
+     *
+     * @throws IndexOutOfBoundsException если в {@code dst} недостаточно места
+     */
+    public void copyTo(final MemorySegment dst, final long offset) {
+        MemorySegment.copy(segment, 0, dst, offset, LEN);
+    }
+
+    public void copyTo(final byte[] dst, final int offset) {
+        Objects.checkFromIndexSize(offset, LEN, dst.length);
+        System.arraycopy(bytes, 0, dst, offset, LEN);
+    }
+
+    /**
+     * {@return {@code true}, если UID задан (сгенерирован, скопирован или прочитан)}
+     */
+    public boolean isSet() {
+        return set;
+    }
+
+    /**
+     * Сбрасывает значение в незаданное (байты обнуляются).
+     */
+    public void clear() {
+        Arrays.fill(bytes, (byte) 0);
+        set = false;
+    }
+
+    /**
+     * {@return вид на 32 байта UID без копии} Запись через него меняет значение, но не {@link #isSet()}.
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * {@return новый массив с копией UID}
+     */
+    public byte[] toByteArray() {
+        return bytes.clone();
+    }
+
+    @Override
+    public int compareTo(final Uid32Value o) {
+        return Arrays.compareUnsigned(bytes, o.bytes);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof Uid32Value v && set == v.set && Arrays.equals(bytes, v.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    /**
+     * {@return UID в hex (64 символа)} или {@code "unset"}
+     */
+    @Override
+    public String toString() {
+        return set ? HEX.formatHex(bytes) : "unset";
+    }
+}
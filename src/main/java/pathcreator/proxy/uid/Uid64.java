@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid;
+
+import pathcreator.proxy.uid.internal.Uid32Backend;
+
+/**
+ * Генератор UID64 ({@link pathcreator.proxy.uid.layout.Uid64Layout}) — идентификатор в одном {@code long},
+ * вчетверо меньше {@link Uid32}: время в миллисекундах, узел и номер в миллисекунде.
+ * <p>
+ * Узел — младшие 10 бит {@code machineId} из {@link Uid32#setMachineId(int)}. Значения положительны
+ * и возрастают в порядке генерации в пределах процесса. Разбор — {@link pathcreator.proxy.uid.read.Uid64Reader}.
+ *
+ * <h2>Потокобезопасность</h2>
+ * Потокобезопасен, без блокировок: одно атомарное состояние процесса (CAS). Генерация всегда на Java —
+ * нативный вызов стоил бы дороже самой генерации.
+ *
+ * @since 1.0
+ */
+public final class Uid64 {
+
+    private Uid64() {
+    }
+
+    /**
+     * {@return следующий UID64}
+     */
+    public static long next() {
+        return Uid32Backend.nextUid64();
+    }
+
+    /**
+     * Записывает {@code count} последовательных UID64 в {@code dst} начиная с {@code offset} (один CAS на пачку).
+     *
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если {@code [offset, offset + count)} выходит за пределы {@code dst}
+     */
+    public static void nextBatch(final long[] dst, final int offset, final int count) {
+        Uid32Backend.nextUid64Batch(dst, offset, count);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.collect;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Конкурентная off-heap карта UID32 → {@code long} (например, смещение записи). Ключ и значение лежат
+ * в одном слоте native-памяти; устройство и гарантии — как у {@link Uid32Set}.
+ *
+ * @since 1.0
+ */
+public final class Uid32LongMap {
+
+    private final Uid32Table table;
+
+    /**
+     * @param expectedSize ожидаемое число ключей (до первого роста)
+     */
+    public Uid32LongMap(final long expectedSize) {
+        this(expectedSize, Uid32Table.defaultStripes());
+    }
+
+    /**
+     * @param expectedSize ожидаемое число ключей (до первого роста)
+     * @param stripes      число полос (округляется вверх до степени двойки)
+     */
+    public Uid32LongMap(final long expectedSize, final int stripes) {
+        this.table = new Uid32Table(Uid32Table.VALUE + Long.BYTES, expectedSize, stripes);
+    }
+
+    /**
+     * Записывает значение для UID из {@code key[off .. off + 32)}, заменяя прежнее.
+     *
+     * @return {@code true}, если ключ новый
+     * @throws IndexOutOfBoundsException если в {@code key} меньше 32 байт от {@code off}
+     */
+    public boolean put(final MemorySegment key, final long off, final long value) {
+        return table.insert(key, off, value, true);
+    }
+
+    public boolean put(final byte[] key, final int off, final long value) {
+        return put(MemorySegment.ofArray(key), off, value);
+    }
+
+    /**
+     * Записывает значение, только если ключа ещё нет.
+     *
+     * @return {@code true}, если ключ добавлен
+     */
+    public boolean putIfAbsent(final MemorySegment key, final long off, final long value) {
+        return table.insert(key, off, value, false);
+    }
+
+    public boolean putIfAbsent(final byte[] key, final int off, final long value) {
+        return putIfAbsent(MemorySegment.ofArray(key), off, value);
+    }
+
+    /**
+     * {@return значение ключа или {@code absent}, если ключа нет}
+     */
+    public long get(final MemorySegment key, final long off, final long absent) {
+        return table.get(key, off, absent);
+    }
+
+    public long get(final byte[] key, final int off, final long absent) {
+        return get(MemorySegment.ofArray(key), off, absent);
+    }
+
+    public boolean containsKey(final MemorySegment key, final long off) {
+        return table.contains(key, off);
+    }
+
+    public boolean containsKey(final byte[] key, final int off) {
+        return containsKey(MemorySegment.ofArray(key), off);
+    }
+
+    public long size() {
+        return table.size();
+    }
+
+    public void clear() {
+        table.clear();
+    }
+
+    public Uid32TableStats stats() {
+        return table.stats();
+    }
+}
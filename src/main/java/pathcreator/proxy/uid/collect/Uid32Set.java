@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.collect;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Конкурентное off-heap множество UID32: ключи хранятся как есть (32 байта) в native-памяти,
+ * без объекта на элемент — около 53 байт на ключ при заполнении 0.75 против ~100+ у {@code HashSet} обёрток.
+ * <p>
+ * Открытая адресация с линейным пробированием, хеш — из {@code tsc} и {@code mix}. Таблица разбита на полосы
+ * со своими {@link java.util.concurrent.locks.StampedLock}: вставки в разные полосы не мешают друг другу,
+ * {@link #contains} обычно обходится без блокировки, рост затрагивает одну полосу — общей паузы нет.
+ * Удаления поштучно нет: окна дедупликации сбрасываются {@link #clear()}.
+ * <p>
+ * Ключ — любые 32 байта (UID32 любого формата); содержимое не проверяется.
+ *
+ * @since 1.0
+ */
+public final class Uid32Set {
+
+    private final Uid32Table table;
+
+    /**
+     * @param expectedSize ожидаемое число ключей (до первого роста)
+     */
+    public Uid32Set(final long expectedSize) {
+        this(expectedSize, Uid32Table.defaultStripes());
+    }
+
+    /**
+     * @param expectedSize ожидаемое число ключей (до первого роста)
+     * @param stripes      число полос (округляется вверх до степени двойки); больше полос — меньше конкуренция
+     */
+    public Uid32Set(final long expectedSize, final int stripes) {
+        this.table = new Uid32Table(Uid32Table.VALUE, expectedSize, stripes);
+    }
+
+    /**
+     * Добавляет UID из {@code key[off .. off + 32)}.
+     *
+     * @return {@code true}, если UID новый
+     * @throws IndexOutOfBoundsException если в {@code key} меньше 32 байт от {@code off}
+     */
+    public boolean add(final MemorySegment key, final long off) {
+        return table.insert(key, off, 0, false);
+    }
+
+    public boolean add(final byte[] key, final int off) {
+        return add(MemorySegment.ofArray(key), off);
+    }
+
+    public boolean contains(final MemorySegment key, final long off) {
+        return table.contains(key, off);
+    }
+
+    public boolean contains(final byte[] key, final int off) {
+        return contains(MemorySegment.ofArray(key), off);
+    }
+
+    /**
+     * {@return число ключей} Под конкурентными вставками — значение на момент чтения каждой полосы.
+     */
+    public long size() {
+        return table.size();
+    }
+
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * {@return заполненность и длины проб}; обходит все слоты, под read-lock каждой полосы по очереди.
+     */
+    public Uid32TableStats stats() {
+        return table.stats();
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.collect;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Общая часть {@link Uid32Set} и {@link Uid32LongMap}: off-heap таблица с открытой адресацией,
+ * разбитая на независимые полосы (stripes).
+ *
+ * <h2>Слот</h2>
+ * <pre>
+ *  ctrl  u64   0 — пусто, иначе (hash | 1)
+ *  key   32 B  UID как есть
+ *  value u64   только у карты
+ * </pre>
+ * Пробирование линейное; ключ сравнивается только при совпадении {@code ctrl}.
+ *
+ * <h2>Конкурентность</h2>
+ * Полоса выбирается старшими битами хеша, слот — младшими. Запись держит {@link StampedLock} своей полосы,
+ * чтение идёт оптимистично (без блокировки, с {@code validate}) и только при конфликте берёт read-lock.
+ * Рост — удвоение одной полосы под её локом: остальные полосы работают, общей паузы нет.
+ * Таблицы выделяются в {@link Arena#ofAuto()}: старая таблица после роста освобождается GC,
+ * когда её больше не читают оптимистичные читатели.
+ */
+final class Uid32Table {
+
+    static final int CTRL = 0;
+    static final int KEY = 8;
+    static final int VALUE = KEY + LEN;
+
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final int MIN_STRIPE_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final int slotSize;
+    private final int stripeShift;
+    private final Stripe[] stripes;
+
+    private final class Stripe {
+
+        final StampedLock lock = new StampedLock();
+        MemorySegment table;
+        volatile int size;
+        int threshold;
+
+        Stripe(final int capacity) {
+            allocate(capacity);
+        }
+
+        void allocate(final int capacity) {
+            table = Arena.ofAuto().allocate((long) slotSize * capacity, 64);
+            threshold = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+
+    Uid32Table(final int slotSize, final long expectedSize, final int stripes) {
+        if (expectedSize < 0) throw new IllegalArgumentException("expectedSize < 0: " + expectedSize);
+        if (stripes < 1 || stripes > 1 << 16) throw new IllegalArgumentException("stripes out of [1, 65536]: " + stripes);
+        this.slotSize = slotSize;
+        final int n = pow2((long) stripes);
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(n);
+        this.stripes = new Stripe[n];
+        final int capacity = pow2(Math.max(MIN_STRIPE_CAPACITY, (long) Math.ceil(expectedSize / (double) n / LOAD_FACTOR)));
+        for (int i = 0; i < n; i++) this.stripes[i] = new Stripe(capacity);
+    }
+
+    static int defaultStripes() {
+        return pow2(4L * Runtime.getRuntime().availableProcessors());
+    }
+
+    // ---------------------------------------------------------------------
+    // операции
+    // ---------------------------------------------------------------------
+
+    /**
+     * Вставляет ключ, если его нет; при {@code overwrite} перезаписывает значение существующего.
+     *
+     * @return {@code true}, если ключ добавлен
+     */
+    boolean insert(final MemorySegment key, final long off, final long value, final boolean overwrite) {
+        checkKey(key, off);
+        final long h = hash(key, off);
+        final Stripe st = stripe(h);
+        final long stamp = st.lock.writeLock();
+        try {
+            long slot = find(st.table, key, off, h);
+            if (slot >= 0) {
+                if (overwrite) st.table.set(L64, slot + VALUE, value);
+                return false;
+            }
+            if (st.size >= st.threshold) {
+                grow(st);
+                slot = find(st.table, key, off, h);
+            }
+            final MemorySegment t = st.table;
+            final long at = -slot - 1;
+            MemorySegment.copy(key, off, t, at + KEY, LEN);
+            if (slotSize > VALUE) t.set(L64, at + VALUE, value);
+            t.set(L64, at + CTRL, h | 1);
+            st.size++;
+            return true;
+        } finally {
+            st.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * {@return значение ключа или {@code absent}} (у множества значение — {@code 0})
+     */
+    long get(final MemorySegment key, final long off, final long absent) {
+        checkKey(key, off);
+        final long h = hash(key, off);
+        final Stripe st = stripe(h);
+        long stamp = st.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            final MemorySegment t = st.table;
+            final long slot = find(t, key, off, h);
+            final long r = slot < 0 ? absent : slotSize > VALUE ? t.get(L64, slot + VALUE) : 0;
+            if (st.lock.validate(stamp)) return r;
+        }
+        stamp = st.lock.readLock();
+        try {
+            final MemorySegment t = st.table;
+            final long slot = find(t, key, off, h);
+            return slot < 0 ? absent : slotSize > VALUE ? t.get(L64, slot + VALUE) : 0;
+        } finally {
+            st.lock.unlockRead(stamp);
+        }
+    }
+
+    boolean contains(final MemorySegment key, final long off) {
+        checkKey(key, off);
+        final long h = hash(key, off);
+        final Stripe st = stripe(h);
+        long stamp = st.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            final boolean r = find(st.table, key, off, h) >= 0;
+            if (st.lock.validate(stamp)) return r;
+        }
+        stamp = st.lock.readLock();
+        try {
+            return find(st.table, key, off, h) >= 0;
+        } finally {
+            st.lock.unlockRead(stamp);
+        }
+    }
+
+    long size() {
+        long n = 0;
+        for (final Stripe st : stripes) n += st.size;
+        return n;
+    }
+
+    /**
+     * Очищает полосы по очереди (каждую под своим локом); ёмкость сохраняется.
+     */
+    void clear() {
+        for (final Stripe st : stripes) {
+            final long stamp = st.lock.writeLock();
+            try {
+                st.table.fill((byte) 0);
+                st.size = 0;
+            } finally {
+                st.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    Uid32TableStats stats() {
+        long size = 0, capacity = 0, probes = 0, bytes = 0;
+        int maxProbe = 0;
+        for (final Stripe st : stripes) {
+            final long stamp = st.lock.readLock();
+            try {
+                final MemorySegment t = st.table;
+                final int cap = (int) (t.byteSize() / slotSize);
+                final int mask = cap - 1;
+                for (int i = 0; i < cap; i++) {
+                    final long c = t.get(L64, (long) i * slotSize + CTRL);
+                    if (c == 0) continue;
+                    final int d = (i - home(c, mask)) & mask;
+                    probes += d;
+                    if (d > maxProbe) maxProbe = d;
+                    size++;
+                }
+                capacity += cap;
+                bytes += t.byteSize();
+            } finally {
+                st.lock.unlockRead(stamp);
+            }
+        }
+        return new Uid32TableStats(size, capacity, stripes.length, bytes,
+                size == 0 ? 0 : (double) probes / size, maxProbe);
+    }
+
+    // ---------------------------------------------------------------------
+    // внутреннее
+    // ---------------------------------------------------------------------
+
+    private Stripe stripe(final long h) {
+        return stripes[stripeShift == 64 ? 0 : (int) (h >>> stripeShift)];
+    }
+
+    /**
+     * {@return смещение слота с ключом или {@code -(смещение свободного слота) - 1}}
+     */
+    private long find(final MemorySegment t, final MemorySegment key, final long off, final long h) {
+        final int cap = (int) (t.byteSize() / slotSize);
+        final int mask = cap - 1;
+        final long ctrl = h | 1;
+        final long k0 = key.get(L64, off), k1 = key.get(L64, off + 8), k2 = key.get(L64, off + 16), k3 = key.get(L64, off + 24);
+        int i = home(ctrl, mask);
+        // ограничение на случай оптимистичного чтения полосы, которую меняет писатель
+        for (int n = 0; n < cap; n++, i = (i + 1) & mask) {
+            final long s = (long) i * slotSize;
+            final long c = t.get(L64, s + CTRL);
+            if (c == 0) return -s - 1;
+            if (c == ctrl
+                    && t.get(L64, s + KEY) == k0 && t.get(L64, s + KEY + 8) == k1
+                    && t.get(L64, s + KEY + 16) == k2 && t.get(L64, s + KEY + 24) == k3) {
+                return s;
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private void grow(final Stripe st) {
+        final MemorySegment old = st.table;
+        final int oldCap = (int) (old.byteSize() / slotSize);
+        if (oldCap >= 1 << 30) throw new IllegalStateException("Stripe capacity exceeded: " + oldCap);
+        st.allocate(oldCap << 1);
+        final MemorySegment t = st.table;
+        final int mask = (oldCap << 1) - 1;
+        for (int i = 0; i < oldCap; i++) {
+            final long s = (long) i * slotSize;
+            final long c = old.get(L64, s + CTRL);
+            if (c == 0) continue;
+            int j = home(c, mask);
+            while (t.get(L64, (long) j * slotSize + CTRL) != 0) j = (j + 1) & mask;
+            MemorySegment.copy(old, s, t, (long) j * slotSize, slotSize);
+        }
+    }
+
+    private static int home(final long ctrl, final int mask) {
+        return (int) (ctrl >>> 1) & mask;
+    }
+
+    /**
+     * Хеш из готовых полей UID32: {@code tsc} (слово 0) и {@code tid|mix} (слово 3), перемешанные финализатором
+     * MurmurHash3 — {@code mix} уже сворачивает остальные поля. {@code tsc} сначала умножается: {@code mix}
+     * содержит младшие биты {@code tsc}, и простой XOR их бы сократил.
+     */
+    static long hash(final MemorySegment key, final long off) {
+        long h = key.get(L64, off) * 0x9e3779b97f4a7c15L ^ key.get(L64, off + 24);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static void checkKey(final MemorySegment key, final long off) {
+        Objects.checkFromIndexSize(off, LEN, key.byteSize());
+    }
+
+    private static int pow2(final long n) {
+        if (n > 1 << 30) return 1 << 30;
+        return n <= 1 ? 1 : Integer.highestOneBit((int) (n - 1)) << 1;
+    }
+}
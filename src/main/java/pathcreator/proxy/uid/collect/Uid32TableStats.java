@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.collect;
+
+/**
+ * Снимок заполненности off-heap таблицы UID ({@link Uid32Set#stats()}, {@link Uid32LongMap#stats()}).
+ *
+ * @param size          число ключей
+ * @param capacity      число слотов во всех полосах
+ * @param stripes       число полос
+ * @param bytes         занятая off-heap память, байт
+ * @param avgProbe      средняя дистанция ключа от домашнего слота (0 — без коллизий)
+ * @param maxProbe      максимальная дистанция
+ * @since 1.0
+ */
+public record Uid32TableStats(long size, long capacity, int stripes, long bytes, double avgProbe, int maxProbe) {
+
+    /**
+     * {@return доля занятых слотов}
+     */
+    public double occupancy() {
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.compress;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid32Layout.*;
+import static pathcreator.proxy.uid.read.Uid32Checks.calcMix;
+
+/**
+ * Кодирование одного блока UID32 — общая часть {@link Uid32StreamEncoder} и {@link Uid32StreamDecoder}.
+ *
+ * <h2>Поток</h2>
+ * <pre>
+ *  заголовок потока  magic "UZ32" (u32), version (u8), blockSize (u32)
+ *  блок              count (u32), bodyLength (u32), mode (u8), тело
+ * </pre>
+ * Все целые фиксированной длины — little-endian, varint — LEB128 без знака.
+ *
+ * <h2>Тело упакованного блока ({@link #PACKED})</h2>
+ * <pre>
+ *  словарь   varint n, n × (stackPtr u64, machineId u32, coreId u32, tid u32)
+ *  серии     varint n, n × (varint индекс в словаре, varint длина) — подряд идущие UID одного контекста
+ *  tsc       u64 первого, далее zigzag-varint разности второго порядка
+ *  mix       varint n, n × (varint шаг позиции, u32 mix) — только UID, чей mix не совпал с вычисленным
+ * </pre>
+ * {@code mix} не хранится: декодер пересчитывает его {@code Uid32Checks.calcMix}; UID с неверным {@code mix}
+ * попадают в исключения, поэтому блок восстанавливается байт в байт. Если упакованный блок не меньше
+ * исходного, он пишется как {@link #RAW} — поля UID в little-endian подряд.
+ */
+final class Uid32BlockCodec {
+
+    static final int MAGIC = 0x3233_5A55;
+    static final int VERSION = 1;
+    static final int STREAM_HEADER = 9;
+    static final int BLOCK_HEADER = 9;
+    static final byte PACKED = 0;
+    static final byte RAW = 1;
+    static final int MAX_BLOCK = 1 << 16;
+
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final ValueLayout.OfLong LE64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt LE32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final long[] dStack;
+    private final int[] dMachine;
+    private final int[] dCore;
+    private final int[] dTid;
+    private final int[] table;
+    private final int[] runIdx;
+    private final int[] runLen;
+    private final int[] excPos;
+    private final int[] excMix;
+    // позиция чтения тела в decode
+    private int rp;
+
+    Uid32BlockCodec(final int blockSize) {
+        dStack = new long[blockSize];
+        dMachine = new int[blockSize];
+        dCore = new int[blockSize];
+        dTid = new int[blockSize];
+        table = new int[Integer.highestOneBit(blockSize) << 2];
+        runIdx = new int[blockSize];
+        runLen = new int[blockSize];
+        excPos = new int[blockSize];
+        excMix = new int[blockSize];
+    }
+
+    static void checkBlockSize(final int blockSize) {
+        if (blockSize < 1 || blockSize > MAX_BLOCK) throw new IllegalArgumentException("blockSize out of [1, " + MAX_BLOCK + "]: " + blockSize);
+    }
+
+    /**
+     * {@return размер буфера для {@link #encode}: худший случай упакованного блока с заголовком}
+     */
+    static int maxBlockBytes(final int count) {
+        return BLOCK_HEADER + 32 + 49 * count;
+    }
+
+    // ---------------------------------------------------------------------
+    // кодирование
+    // ---------------------------------------------------------------------
+
+    /**
+     * Пишет блок (заголовок и тело) из {@code count} UID в {@code out[0 ..)}.
+     *
+     * @return длина блока в байтах
+     */
+    int encode(final MemorySegment src, final long off, final int count, final byte[] out) {
+        final MemorySegment o = MemorySegment.ofArray(out);
+        Arrays.fill(table, 0);
+        final int tmask = table.length - 1;
+        int dict = 0, runs = 0, exc = 0, cur = -1;
+        for (int i = 0; i < count; i++) {
+            final long p = off + (long) LEN * i;
+            final long stack = src.get(L64, p + OFF_STACK);
+            final int m = src.get(I32, p + OFF_MACHINE), c = src.get(I32, p + OFF_CORE), t = src.get(I32, p + OFF_TID);
+            int idx = cur;
+            if (cur < 0 || dStack[cur] != stack || dMachine[cur] != m || dCore[cur] != c || dTid[cur] != t) {
+                int h = hash(stack, m, c, t) & tmask;
+                for (; ; h = (h + 1) & tmask) {
+                    final int e = table[h] - 1;
+                    if (e < 0) {
+                        dStack[dict] = stack;
+                        dMachine[dict] = m;
+                        dCore[dict] = c;
+                        dTid[dict] = t;
+                        table[h] = ++dict;
+                        idx = dict - 1;
+                        break;
+                    }
+                    if (dStack[e] == stack && dMachine[e] == m && dCore[e] == c && dTid[e] == t) {
+                        idx = e;
+                        break;
+                    }
+                }
+            }
+            if (idx == cur) {
+                runLen[runs - 1]++;
+            } else {
+                runIdx[runs] = idx;
+                runLen[runs++] = 1;
+                cur = idx;
+            }
+            final int mix = src.get(I32, p + OFF_MIX);
+            if (mix != calcMix(src.get(L64, p + OFF_TSC), stack, m, c, t)) {
+                excPos[exc] = i;
+                excMix[exc++] = mix;
+            }
+        }
+
+        int q = BLOCK_HEADER;
+        q = varint(out, q, dict);
+        for (int e = 0; e < dict; e++) {
+            o.set(LE64, q, dStack[e]);
+            o.set(LE32, q + 8, dMachine[e]);
+            o.set(LE32, q + 12, dCore[e]);
+            o.set(LE32, q + 16, dTid[e]);
+            q += 20;
+        }
+        q = varint(out, q, runs);
+        for (int r = 0; r < runs; r++) {
+            q = varint(out, q, runIdx[r]);
+            q = varint(out, q, runLen[r]);
+        }
+        if (count > 0) {
+            long prev = src.get(L64, off + OFF_TSC), prevDelta = 0;
+            o.set(LE64, q, prev);
+            q += 8;
+            for (int i = 1; i < count; i++) {
+                final long tsc = src.get(L64, off + (long) LEN * i + OFF_TSC);
+                final long delta = tsc - prev;
+                q = varint(out, q, zigzag(delta - prevDelta));
+                prev = tsc;
+                prevDelta = delta;
+            }
+        }
+        q = varint(out, q, exc);
+        for (int x = 0, last = 0; x < exc; x++) {
+            q = varint(out, q, excPos[x] - last);
+            last = excPos[x];
+            o.set(LE32, q, excMix[x]);
+            q += 4;
+        }
+
+        byte mode = PACKED;
+        if (q - BLOCK_HEADER >= LEN * count) {
+            mode = RAW;
+            q = BLOCK_HEADER;
+            for (int i = 0; i < count; i++, q += LEN) {
+                final long p = off + (long) LEN * i;
+                o.set(LE64, q + OFF_TSC, src.get(L64, p + OFF_TSC));
+                o.set(LE64, q + OFF_STACK, src.get(L64, p + OFF_STACK));
+                for (int f = OFF_MACHINE; f < LEN; f += 4) o.set(LE32, q + f, src.get(I32, p + f));
+            }
+        }
+        o.set(LE32, 0, count);
+        o.set(LE32, 4, q - BLOCK_HEADER);
+        out[8] = mode;
+        return q;
+    }
+
+    // ---------------------------------------------------------------------
+    // декодирование
+    // ---------------------------------------------------------------------
+
+    /**
+     * Восстанавливает {@code count} UID из тела блока {@code in[0 .. len)} в {@code dst} начиная с {@code dstOff}.
+     *
+     * @throws IOException если тело повреждено
+     */
+    void decode(final byte[] in, final int len, final int count, final byte mode, final MemorySegment dst, final long dstOff)
+            throws IOException {
+        final MemorySegment s = MemorySegment.ofArray(in);
+        try {
+            if (mode == RAW) {
+                if (len != LEN * count) throw corrupt("raw length " + len);
+                for (int i = 0; i < count; i++) {
+                    final long p = dstOff + (long) LEN * i;
+                    final int q = LEN * i;
+                    dst.set(L64, p + OFF_TSC, s.get(LE64, q + OFF_TSC));
+                    dst.set(L64, p + OFF_STACK, s.get(LE64, q + OFF_STACK));
+                    for (int f = OFF_MACHINE; f < LEN; f += 4) dst.set(I32, p + f, s.get(LE32, q + f));
+                }
+                return;
+            }
+            if (mode != PACKED) throw corrupt("mode " + mode);
+            rp = 0;
+            final int dict = (int) readVarint(in);
+            if (dict > count) throw corrupt("dictionary size " + dict);
+            for (int e = 0; e < dict; e++) {
+                final int q = rp;
+                dStack[e] = s.get(LE64, q);
+                dMachine[e] = s.get(LE32, q + 8);
+                dCore[e] = s.get(LE32, q + 12);
+                dTid[e] = s.get(LE32, q + 16);
+                rp = q + 20;
+            }
+            final int runs = (int) readVarint(in);
+            if (runs > count || (runs == 0) != (count == 0)) throw corrupt("run count " + runs);
+            long total = 0;
+            for (int r = 0; r < runs; r++) {
+                runIdx[r] = (int) readVarint(in);
+                runLen[r] = (int) readVarint(in);
+                if (runIdx[r] >= dict || runLen[r] < 1) throw corrupt("run " + r);
+                total += runLen[r];
+            }
+            if (total != count) throw corrupt("runs cover " + total + " of " + count);
+            if (count > 0) {
+                long tsc = s.get(LE64, rp), delta = 0;
+                rp += 8;
+                for (int r = 0, i = 0; r < runs; r++) {
+                    final int e = runIdx[r];
+                    final long stack = dStack[e];
+                    final int m = dMachine[e], c = dCore[e], t = dTid[e];
+                    for (int k = 0; k < runLen[r]; k++, i++) {
+                        if (i > 0) {
+                            delta += unzigzag(readVarint(in));
+                            tsc += delta;
+                        }
+                        final long p = dstOff + (long) LEN * i;
+                        dst.set(L64, p + OFF_TSC, tsc);
+                        dst.set(L64, p + OFF_STACK, stack);
+                        dst.set(I32, p + OFF_MACHINE, m);
+                        dst.set(I32, p + OFF_CORE, c);
+                        dst.set(I32, p + OFF_TID, t);
+                        dst.set(I32, p + OFF_MIX, calcMix(tsc, stack, m, c, t));
+                    }
+                }
+            }
+            final int exc = (int) readVarint(in);
+            for (int x = 0, at = 0; x < exc; x++) {
+                final int step = (int) readVarint(in);
+                at += step;
+                if ((x > 0 && step == 0) || at < 0 || at >= count) throw corrupt("mix exception position " + at);
+                dst.set(I32, dstOff + (long) LEN * at + OFF_MIX, s.get(LE32, rp));
+                rp += 4;
+            }
+            if (rp != len) throw corrupt("body length " + len + ", parsed " + rp);
+        } catch (final IndexOutOfBoundsException e) {
+            throw corrupt("truncated body");
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // внутреннее
+    // ---------------------------------------------------------------------
+
+    private static int varint(final byte[] out, int q, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out[q++] = (byte) (v | 0x80);
+            v >>>= 7;
+        }
+        out[q++] = (byte) v;
+        return q;
+    }
+
+    private long readVarint(final byte[] in) throws IOException {
+        int q = rp;
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in[q++];
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                rp = q;
+                return v;
+            }
+        }
+        throw corrupt("varint too long");
+    }
+
+    private static long zigzag(final long v) {
+        return v << 1 ^ v >> 63;
+    }
+
+    private static long unzigzag(final long v) {
+        return v >>> 1 ^ -(v & 1);
+    }
+
+    private static int hash(final long stack, final int m, final int c, final int t) {
+        long h = stack * 0x9e3779b97f4a7c15L ^ ((long) m << 32 | c & 0xFFFF_FFFFL) * 0xc2b2ae3d27d4eb4fL ^ t;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        return (int) (h ^ h >>> 33);
+    }
+
+    static IOException corrupt(final String what) {
+        return new IOException("Corrupt UID32 stream: " + what);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.compress;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+import static pathcreator.proxy.uid.compress.Uid32BlockCodec.*;
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Чтение потока {@link Uid32StreamEncoder}: блок целиком читается из канала и восстанавливается в буфер,
+ * {@code read} раздаёт из него UID подряд (по 32 байта, native order, как у генератора).
+ * <p>
+ * Повреждённый поток — {@link IOException}, обрыв посреди блока — {@link EOFException}.
+ * Экземпляр не потокобезопасен; после {@link #close()} канал закрыт.
+ *
+ * @since 1.0
+ */
+public final class Uid32StreamDecoder implements AutoCloseable {
+
+    private final ReadableByteChannel in;
+    private final int blockSize;
+    private final Uid32BlockCodec codec;
+    private final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+    private final byte[] body;
+    private final MemorySegment block;
+    private int blockCount;
+    private int blockPos;
+    private long uidCount;
+    private long bytesRead;
+
+    /**
+     * Читает и проверяет заголовок потока.
+     *
+     * @throws IOException если это не поток UID32 или версия не поддерживается
+     */
+    public Uid32StreamDecoder(final ReadableByteChannel in) throws IOException {
+        this.in = Objects.requireNonNull(in, "in");
+        final ByteBuffer h = ByteBuffer.allocate(STREAM_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        if (!readFully(h)) throw new EOFException("Empty UID32 stream");
+        if (h.getInt(0) != MAGIC) throw corrupt("bad magic");
+        if (h.get(4) != VERSION) throw corrupt("unsupported version " + h.get(4));
+        blockSize = h.getInt(5);
+        if (blockSize < 1 || blockSize > MAX_BLOCK) throw corrupt("block size " + blockSize);
+        codec = new Uid32BlockCodec(blockSize);
+        body = new byte[maxBlockBytes(blockSize)];
+        block = MemorySegment.ofArray(new byte[LEN * blockSize]);
+    }
+
+    /**
+     * Читает до {@code max} UID в {@code dst} начиная с {@code offset}.
+     *
+     * @return число прочитанных UID (больше нуля при {@code max > 0}) или {@code -1} в конце потока
+     * @throws IndexOutOfBoundsException если {@code max} UID не помещаются в {@code dst}
+     * @throws IOException               если поток повреждён или оборван
+     */
+    public int read(final MemorySegment dst, final long offset, final int max) throws IOException {
+        if (max < 0) throw new IllegalArgumentException("max < 0: " + max);
+        Objects.checkFromIndexSize(offset, (long) LEN * max, dst.byteSize());
+        while (blockPos == blockCount) {
+            if (!nextBlock()) return -1;
+        }
+        final int n = Math.min(max, blockCount - blockPos);
+        MemorySegment.copy(block, (long) LEN * blockPos, dst, offset, (long) LEN * n);
+        blockPos += n;
+        return n;
+    }
+
+    public int read(final byte[] dst, final int offset, final int max) throws IOException {
+        return read(MemorySegment.ofArray(dst), offset, max);
+    }
+
+    /**
+     * {@return прочитано UID, включая ещё не выданные из текущего блока}
+     */
+    public long uidCount() {
+        return uidCount;
+    }
+
+    /**
+     * {@return прочитано байт из канала, с заголовками}
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * {@return байт на UID по прочитанным блокам}, {@code NaN} до первого блока
+     */
+    public double bytesPerId() {
+        return uidCount == 0 ? Double.NaN : (double) bytesRead / uidCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean nextBlock() throws IOException {
+        header.clear();
+        if (!readFully(header)) return false;
+        final int count = header.getInt(0), len = header.getInt(4);
+        final byte mode = header.get(8);
+        if (count < 0 || count > blockSize) throw corrupt("block count " + count);
+        if (len < 0 || len > body.length) throw corrupt("block length " + len);
+        if (!readFully(ByteBuffer.wrap(body, 0, len))) throw new EOFException("UID32 stream truncated");
+        codec.decode(body, len, count, mode, block, 0);
+        blockCount = count;
+        blockPos = 0;
+        uidCount += count;
+        return true;
+    }
+
+    /**
+     * @return {@code false}, если канал закончился до первого байта; обрыв после него — {@link EOFException}
+     */
+    private boolean readFully(final ByteBuffer b) throws IOException {
+        final int want = b.remaining();
+        while (b.hasRemaining()) {
+            if (in.read(b) < 0) {
+                if (b.remaining() == want) return false;
+                throw new EOFException("UID32 stream truncated");
+            }
+        }
+        bytesRead += want;
+        return true;
+    }
+}
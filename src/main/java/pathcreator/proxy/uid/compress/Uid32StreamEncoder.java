@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.compress;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+import static pathcreator.proxy.uid.compress.Uid32BlockCodec.*;
+
+/**
+ * Потоковое сжатие последовательности UID32 (обычный формат, {@link pathcreator.proxy.uid.layout.Uid32Layout})
+ * в канал — для журналов выданных ID.
+ * <p>
+ * UID копятся в блок по {@code blockSize} штук, блок раскладывается по колонкам: {@code tsc} — разности
+ * второго порядка в varint (у пачки с одного потока это 1–2 байта), {@code stackPtr/machineId/coreId/tid} —
+ * словарь контекстов и серии подряд идущих UID одного контекста, {@code mix} не хранится и пересчитывается
+ * при чтении. Восстановление точное, включая UID с неверным {@code mix}. Формат — см. {@link Uid32BlockCodec};
+ * читает {@link Uid32StreamDecoder}.
+ * <p>
+ * Экземпляр не потокобезопасен; после {@link #close()} канал закрыт.
+ *
+ * @since 1.0
+ */
+public final class Uid32StreamEncoder implements AutoCloseable {
+
+    /**
+     * Размер блока по умолчанию (UID).
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final WritableByteChannel out;
+    private final int blockSize;
+    private final Uid32BlockCodec codec;
+    private final MemorySegment pending;
+    private final byte[] encoded;
+    private int pendingCount;
+    private long uidCount;
+    private long bytesWritten;
+    private boolean closed;
+
+    public Uid32StreamEncoder(final WritableByteChannel out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Пишет заголовок потока.
+     *
+     * @param blockSize UID в блоке, {@code [1, 65536]}: больше — плотнее, но больше задержка до записи и память
+     * @throws IOException если запись заголовка не удалась
+     */
+    public Uid32StreamEncoder(final WritableByteChannel out, final int blockSize) throws IOException {
+        checkBlockSize(blockSize);
+        this.out = Objects.requireNonNull(out, "out");
+        this.blockSize = blockSize;
+        this.codec = new Uid32BlockCodec(blockSize);
+        this.pending = MemorySegment.ofArray(new byte[LEN * blockSize]);
+        this.encoded = new byte[maxBlockBytes(blockSize)];
+        final ByteBuffer header = ByteBuffer.wrap(encoded, 0, STREAM_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).put((byte) VERSION).putInt(blockSize).flip();
+        writeFully(header);
+    }
+
+    /**
+     * Добавляет {@code count} UID, лежащих подряд в {@code src} начиная с {@code offset}.
+     * Полные блоки пишутся в канал сразу.
+     *
+     * @throws IndexOutOfBoundsException если UID выходят за пределы {@code src}
+     * @throws IOException               если запись в канал не удалась
+     */
+    public void write(final MemorySegment src, final long offset, final int count) throws IOException {
+        ensureOpen();
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) LEN * count, src.byteSize());
+        long o = offset;
+        for (int left = count; left > 0; ) {
+            final int n = Math.min(left, blockSize - pendingCount);
+            MemorySegment.copy(src, o, pending, (long) LEN * pendingCount, (long) LEN * n);
+            pendingCount += n;
+            left -= n;
+            o += (long) LEN * n;
+            if (pendingCount == blockSize) writeBlock();
+        }
+    }
+
+    public void write(final byte[] src, final int offset, final int count) throws IOException {
+        write(MemorySegment.ofArray(src), offset, count);
+    }
+
+    /**
+     * Пишет неполный текущий блок. Частый вызов ухудшает сжатие: словарь и серии начинаются заново.
+     */
+    public void flush() throws IOException {
+        ensureOpen();
+        if (pendingCount > 0) writeBlock();
+    }
+
+    /**
+     * Пишет остаток и закрывает канал. Повторный вызов ничего не делает.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        try {
+            flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    /**
+     * {@return записано UID (включая ещё не сброшенные в канал)}
+     */
+    public long uidCount() {
+        return uidCount + pendingCount;
+    }
+
+    /**
+     * {@return записано байт в канал, с заголовками}
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * {@return байт на UID по уже записанным блокам (несжатый — 32)}, {@code NaN} до первого блока
+     */
+    public double bytesPerId() {
+        return uidCount == 0 ? Double.NaN : (double) bytesWritten / uidCount;
+    }
+
+    private void writeBlock() throws IOException {
+        final int n = codec.encode(pending, 0, pendingCount, encoded);
+        writeFully(ByteBuffer.wrap(encoded, 0, n));
+        uidCount += pendingCount;
+        pendingCount = 0;
+    }
+
+    private void writeFully(final ByteBuffer b) throws IOException {
+        final int n = b.remaining();
+        while (b.hasRemaining()) out.write(b);
+        bytesWritten += n;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) throw new IOException("Encoder closed");
+    }
+}
@@ -86,7 +86,17 @@ public final class NativeTmp {
      * Экземпляр следует использовать исключительно в пределах того потока, где он создан.
      */
     public NativeTmp() {
-        this.seg = Arena.ofAuto().allocate(UID_LEN);
+        this(UID_LEN);
+    }
+
+    /**
+     * Создаёт буфер произвольного размера (например, на {@link Uid32Symbols#BATCH_CHUNK} UID
+     * для пакетной генерации в heap-цели).
+     *
+     * @param size размер буфера в байтах
+     */
+    public NativeTmp(final long size) {
+        this.seg = Arena.ofAuto().allocate(size, 8);
     }
 
     /**
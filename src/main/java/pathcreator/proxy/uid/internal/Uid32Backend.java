@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ *
+ * ВНИМАНИЕ: данный класс размещён в пакете *.internal и предназначен
+ * исключительно для внутреннего использования модулем UID32. Публичный
+ * доступ к нему не является частью стабильного API и может быть изменён.
+ */
+
+package pathcreator.proxy.uid.internal;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Locale;
+
+/**
+ * Выбор реализации UID32 один раз при инициализации класса.
+ * <p>
+ * Системное свойство {@code -Duid32.impl}:
+ * <ul>
+ *   <li>{@code auto} (по умолчанию) — {@link Uid32Native}, а если нативная библиотека не загрузилась —
+ *       {@link Uid32Java} с предупреждением в {@link System.Logger};</li>
+ *   <li>{@code native} — только {@link Uid32Native}; ошибка загрузки пробрасывается;</li>
+ *   <li>{@code java} — только {@link Uid32Java}, нативная библиотека не загружается.</li>
+ * </ul>
+ * Флаг {@link #NATIVE} — {@code static final}, поэтому ветвление сворачивается JIT.
+ * <p>
+ * Здесь же хранится {@code machineId} для генераторов без нативной части ({@link Uid64Java}):
+ * один {@link #setMachineId(int)} настраивает UID32, UID16 и UID64.
+ *
+ * @since 1.0
+ */
+public final class Uid32Backend {
+
+    /**
+     * Имя системного свойства выбора реализации.
+     */
+    public static final String PROP_IMPL = "uid32.impl";
+
+    private static final boolean NATIVE = select(System.getProperty(PROP_IMPL, "auto").toLowerCase(Locale.ROOT));
+
+    private static volatile int machineId;
+
+    private Uid32Backend() {
+    }
+
+    private static boolean select(final String impl) {
+        return switch (impl) {
+            case "java" -> false;
+            case "native" -> {
+                init(Uid32Native.class);
+                yield true;
+            }
+            case "auto" -> {
+                try {
+                    init(Uid32Native.class);
+                    yield true;
+                } catch (final LinkageError | RuntimeException e) {
+                    System.getLogger(Uid32Backend.class.getName()).log(System.Logger.Level.WARNING,
+                            "UID32 native library unavailable, using pure-Java generator", e);
+                    yield false;
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown " + PROP_IMPL + ": " + impl + " (auto|native|java)");
+        };
+    }
+
+    private static void init(final Class<?> c) {
+        try {
+            Class.forName(c.getName(), true, c.getClassLoader());
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@return {@code "native"} или {@code "java"}}
+     */
+    public static String name() {
+        return NATIVE ? "native" : "java";
+    }
+
+    /**
+     * {@return последнее значение из {@link #setMachineId(int)}}
+     */
+    public static int machineId() {
+        return machineId;
+    }
+
+    /**
+     * {@return текущее значение счётчика поля {@code tsc} UID32: TSC у нативной реализации, {@link System#nanoTime()} у Java}
+     */
+    public static long readTsc() {
+        return NATIVE ? Uid32Native.nativeReadTsc() : System.nanoTime();
+    }
+
+    /**
+     * {@return текущее ядро: {@code sched_getcpu} у нативной реализации, {@code threadId % availableProcessors} у Java}
+     */
+    public static int currentCore() {
+        return NATIVE ? Uid32Native.nativeCurrentCore() : Uid32Java.currentCore();
+    }
+
+    /**
+     * {@return верхняя граница {@link #currentCore()}}
+     */
+    public static int coreCount() {
+        return NATIVE ? Uid32Native.nativeCoreCount() : Uid32Java.coreCount();
+    }
+
+    public static void setMachineId(final int id) {
+        machineId = id;
+        if (NATIVE) Uid32Native.nativeSetMachineId(id);
+        else Uid32Java.setMachineId(id);
+    }
+
+    public static void generateInto(final MemorySegment dst, final long offset) {
+        if (NATIVE) Uid32Native.nativeGenerateInto(dst, offset);
+        else Uid32Java.generateInto(dst, offset);
+    }
+
+    public static void generateInto(final byte[] dst, final int offset) {
+        if (NATIVE) Uid32Native.nativeGenerateInto(dst, offset);
+        else Uid32Java.generateInto(dst, offset);
+    }
+
+    public static void generateBatch(final MemorySegment dst, final long offset, final int count) {
+        if (NATIVE) Uid32Native.nativeGenerateBatch(dst, offset, count);
+        else Uid32Java.generateBatch(dst, offset, count);
+    }
+
+    public static void generateBatch(final byte[] dst, final int offset, final int count) {
+        if (NATIVE) Uid32Native.nativeGenerateBatch(dst, offset, count);
+        else Uid32Java.generateBatch(dst, offset, count);
+    }
+
+    public static void generateOrderedInto(final MemorySegment dst, final long offset) {
+        if (NATIVE) Uid32Native.nativeGenerateOrderedInto(dst, offset);
+        else Uid32Java.generateOrderedInto(dst, offset);
+    }
+
+    public static void generateOrderedInto(final byte[] dst, final int offset) {
+        if (NATIVE) Uid32Native.nativeGenerateOrderedInto(dst, offset);
+        else Uid32Java.generateOrderedInto(dst, offset);
+    }
+
+    public static void generateOrderedBatch(final MemorySegment dst, final long offset, final int count) {
+        if (NATIVE) Uid32Native.nativeGenerateOrderedBatch(dst, offset, count);
+        else Uid32Java.generateOrderedBatch(dst, offset, count);
+    }
+
+    public static void generateOrderedBatch(final byte[] dst, final int offset, final int count) {
+        if (NATIVE) Uid32Native.nativeGenerateOrderedBatch(dst, offset, count);
+        else Uid32Java.generateOrderedBatch(dst, offset, count);
+    }
+
+    public static void generateUid16Into(final MemorySegment dst, final long offset) {
+        if (NATIVE) Uid32Native.nativeGenerateUid16Into(dst, offset);
+        else Uid32Java.generateUid16Into(dst, offset);
+    }
+
+    public static void generateUid16Into(final byte[] dst, final int offset) {
+        if (NATIVE) Uid32Native.nativeGenerateUid16Into(dst, offset);
+        else Uid32Java.generateUid16Into(dst, offset);
+    }
+
+    public static void generateUid16Batch(final MemorySegment dst, final long offset, final int count) {
+        if (NATIVE) Uid32Native.nativeGenerateUid16Batch(dst, offset, count);
+        else Uid32Java.generateUid16Batch(dst, offset, count);
+    }
+
+    public static void generateUid16Batch(final byte[] dst, final int offset, final int count) {
+        if (NATIVE) Uid32Native.nativeGenerateUid16Batch(dst, offset, count);
+        else Uid32Java.generateUid16Batch(dst, offset, count);
+    }
+
+    public static long nextUid64() {
+        return Uid64Java.next(machineId);
+    }
+
+    public static void nextUid64Batch(final long[] dst, final int offset, final int count) {
+        Uid64Java.nextBatch(dst, offset, count, machineId);
+    }
+}
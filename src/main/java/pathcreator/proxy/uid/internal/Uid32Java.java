@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ *
+ * ВНИМАНИЕ: данный класс размещён в пакете *.internal и предназначен
+ * исключительно для внутреннего использования модулем UID32. Публичный
+ * доступ к нему не является частью стабильного API и может быть изменён.
+ */
+
+package pathcreator.proxy.uid.internal;
+
+import pathcreator.proxy.uid.layout.Uid16Layout;
+import pathcreator.proxy.uid.layout.Uid32OrderedLayout;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.internal.Uid32Symbols.UID16_LEN;
+import static pathcreator.proxy.uid.internal.Uid32Symbols.UID_LEN;
+import static pathcreator.proxy.uid.layout.Uid32Layout.*;
+import static pathcreator.proxy.uid.read.Uid32Checks.calcMix;
+import static pathcreator.proxy.uid.read.Uid32Checks.calcOrderedMix;
+
+/**
+ * Генератор UID32 на чистой Java: тот же {@link pathcreator.proxy.uid.layout.Uid32Layout}
+ * и та же контрольная сумма {@code mix}, что и у нативной библиотеки, без FFM и {@code .so}.
+ *
+ * <h2>Поля</h2>
+ * <ul>
+ *   <li>{@code tsc} — {@link System#nanoTime()}; внутри потока строго возрастает
+ *       (при совпадении берётся предыдущее + 1);</li>
+ *   <li>{@code stackPtr} — случайное 64-битное значение, постоянное для потока
+ *       (замена адреса стека: различает потоки и процессы);</li>
+ *   <li>{@code machineId} — значение из {@link #setMachineId(int)};</li>
+ *   <li>{@code coreId} — оценка: в Java нет {@code getcpu}, используется {@code threadId % availableProcessors};</li>
+ *   <li>{@code tid} — младшие 32 бита {@link Thread#threadId()}.</li>
+ * </ul>
+ *
+ * <h2>Упорядоченный формат</h2>
+ * {@code generateOrdered*} пишут {@link pathcreator.proxy.uid.layout.Uid32OrderedLayout}. Время — Unix-наносекунды,
+ * отсчитанные от {@link Instant#now()} при загрузке класса по {@link System#nanoTime()}: монотонно и без аллокаций.
+ * {@code threadGen} выдаётся потоку один раз из {@link AtomicInteger}, дальше — только поля {@code State}.
+ * {@code generateUid16*} ({@link pathcreator.proxy.uid.layout.Uid16Layout}) используют те же часы и {@code threadGen}.
+ *
+ * <h2>Потоки</h2>
+ * Состояние потока хранится в {@link ThreadLocal}; синхронизации в горячем пути нет.
+ * Весь путь — обычный Java-код и инлайнится JIT.
+ *
+ * @see Uid32Native
+ * @since 1.0
+ */
+public final class Uid32Java {
+
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final VarHandle A64 = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle A32 = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private static final SecureRandom SEED = new SecureRandom();
+    private static final int CPUS = Runtime.getRuntime().availableProcessors();
+
+    private static final VarHandle B64 = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle B32 = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong BE64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt BE32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private static final long WALL0;
+    private static final long NANO0;
+
+    static {
+        final Instant now = Instant.now();
+        NANO0 = System.nanoTime();
+        WALL0 = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    private static final AtomicInteger THREAD_GEN = new AtomicInteger();
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private static volatile int machineId;
+
+    private Uid32Java() {
+    }
+
+    /**
+     * Состояние потока: постоянные поля UID и последний выданный {@code tsc}.
+     */
+    private static final class State {
+
+        final long stack = SEED.nextLong();
+        final int tid = (int) Thread.currentThread().threadId();
+        final int core = (int) Long.remainderUnsigned(Thread.currentThread().threadId(), CPUS);
+        long last = Long.MIN_VALUE;
+
+        // упорядоченный формат
+        int gen;
+        int seq;
+        long lastTime;
+        long lastTime16;
+
+        long nextTsc() {
+            long t = System.nanoTime();
+            if (t <= last) t = last + 1;
+            last = t;
+            return t;
+        }
+
+        int gen() {
+            int g = gen;
+            if (g == 0) gen = g = THREAD_GEN.incrementAndGet();
+            return g;
+        }
+
+        /**
+         * Время не убывает; {@code seq} растёт на каждый UID, при его переполнении время сдвигается на 1 нс.
+         */
+        long nextTime(final long now) {
+            long t = Math.max(now, lastTime);
+            if (++seq == 0 && t == lastTime) t++;
+            lastTime = t;
+            return t;
+        }
+
+        /**
+         * UID16: без {@code seq}, поэтому время потока строго возрастает.
+         */
+        long nextTime16(final long now) {
+            final long t = now > lastTime16 ? now : lastTime16 + 1;
+            lastTime16 = t;
+            return t;
+        }
+    }
+
+    public static void setMachineId(final int id) {
+        machineId = id;
+    }
+
+    /**
+     * {@return оценка ядра, как в поле {@code coreId}: {@code threadId % availableProcessors}} Постоянна для потока.
+     */
+    public static int currentCore() {
+        return (int) Long.remainderUnsigned(Thread.currentThread().threadId(), CPUS);
+    }
+
+    public static int coreCount() {
+        return CPUS;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или в сегменте меньше {@value Uid32Symbols#UID_LEN} байт
+     */
+    public static void generateInto(final MemorySegment dst, final long offset) {
+        Objects.checkFromIndexSize(offset, UID_LEN, dst.byteSize());
+        final State s = STATE.get();
+        write(dst, offset, s, s.nextTsc(), machineId);
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или в массиве меньше {@value Uid32Symbols#UID_LEN} байт
+     */
+    public static void generateInto(final byte[] dst, final int offset) {
+        Objects.checkFromIndexSize(offset, UID_LEN, dst.length);
+        final State s = STATE.get();
+        write(dst, offset, s, s.nextTsc(), machineId);
+    }
+
+    /**
+     * Пачка из {@code count} UID подряд; контракт как у {@link Uid32Native#nativeGenerateBatch(MemorySegment, long, int)}.
+     */
+    public static void generateBatch(final MemorySegment dst, final long offset, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) UID_LEN * count, dst.byteSize());
+        final State s = STATE.get();
+        final int machine = machineId;
+        for (int i = 0; i < count; i++) write(dst, offset + (long) UID_LEN * i, s, s.nextTsc(), machine);
+    }
+
+    public static void generateBatch(final byte[] dst, final int offset, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) UID_LEN * count, dst.length);
+        final State s = STATE.get();
+        final int machine = machineId;
+        for (int i = 0; i < count; i++) write(dst, offset + UID_LEN * i, s, s.nextTsc(), machine);
+    }
+
+    /**
+     * UID32 упорядоченного формата; контракт как у {@link Uid32Native#nativeGenerateOrderedInto(MemorySegment, long)}.
+     */
+    public static void generateOrderedInto(final MemorySegment dst, final long offset) {
+        Objects.checkFromIndexSize(offset, UID_LEN, dst.byteSize());
+        final State s = STATE.get();
+        final int gen = s.gen();
+        writeOrdered(dst, offset, s, s.nextTime(wallNanos()), machineId, gen);
+    }
+
+    public static void generateOrderedInto(final byte[] dst, final int offset) {
+        Objects.checkFromIndexSize(offset, UID_LEN, dst.length);
+        final State s = STATE.get();
+        final int gen = s.gen();
+        writeOrdered(dst, offset, s, s.nextTime(wallNanos()), machineId, gen);
+    }
+
+    /**
+     * Часы читаются один раз на пачку, как в нативной реализации.
+     */
+    public static void generateOrderedBatch(final MemorySegment dst, final long offset, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) UID_LEN * count, dst.byteSize());
+        final State s = STATE.get();
+        final int gen = s.gen();
+        final int machine = machineId;
+        final long now = wallNanos();
+        for (int i = 0; i < count; i++) writeOrdered(dst, offset + (long) UID_LEN * i, s, s.nextTime(now), machine, gen);
+    }
+
+    public static void generateOrderedBatch(final byte[] dst, final int offset, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) UID_LEN * count, dst.length);
+        final State s = STATE.get();
+        final int gen = s.gen();
+        final int machine = machineId;
+        final long now = wallNanos();
+        for (int i = 0; i < count; i++) writeOrdered(dst, offset + UID_LEN * i, s, s.nextTime(now), machine, gen);
+    }
+
+    /**
+     * UID16; контракт как у {@link Uid32Native#nativeGenerateUid16Into(MemorySegment, long)}.
+     */
+    public static void generateUid16Into(final MemorySegment dst, final long offset) {
+        Objects.checkFromIndexSize(offset, UID16_LEN, dst.byteSize());
+        final State s = STATE.get();
+        writeUid16(dst, offset, s.nextTime16(wallNanos()), machineId, s.gen());
+    }
+
+    public static void generateUid16Into(final byte[] dst, final int offset) {
+        Objects.checkFromIndexSize(offset, UID16_LEN, dst.length);
+        final State s = STATE.get();
+        writeUid16(dst, offset, s.nextTime16(wallNanos()), machineId, s.gen());
+    }
+
+    public static void generateUid16Batch(final MemorySegment dst, final long offset, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) UID16_LEN * count, dst.byteSize());
+        final State s = STATE.get();
+        final int gen = s.gen();
+        final int machine = machineId;
+        final long now = wallNanos();
+        for (int i = 0; i < count; i++) writeUid16(dst, offset + (long) UID16_LEN * i, s.nextTime16(now), machine, gen);
+    }
+
+    public static void generateUid16Batch(final byte[] dst, final int offset, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, (long) UID16_LEN * count, dst.length);
+        final State s = STATE.get();
+        final int gen = s.gen();
+        final int machine = machineId;
+        final long now = wallNanos();
+        for (int i = 0; i < count; i++) writeUid16(dst, offset + UID16_LEN * i, s.nextTime16(now), machine, gen);
+    }
+
+    private static void writeUid16(final MemorySegment dst, final long o, final long time, final int machine, final int gen) {
+        dst.set(BE64, o + Uid16Layout.OFF_TIME, time);
+        dst.set(BE32, o + Uid16Layout.OFF_MACHINE, machine);
+        dst.set(BE32, o + Uid16Layout.OFF_THREAD_GEN, gen);
+    }
+
+    private static void writeUid16(final byte[] dst, final int o, final long time, final int machine, final int gen) {
+        B64.set(dst, o + Uid16Layout.OFF_TIME, time);
+        B32.set(dst, o + Uid16Layout.OFF_MACHINE, machine);
+        B32.set(dst, o + Uid16Layout.OFF_THREAD_GEN, gen);
+    }
+
+    private static long wallNanos() {
+        return WALL0 + (System.nanoTime() - NANO0);
+    }
+
+    private static void writeOrdered(final MemorySegment dst, final long o, final State s, final long time,
+                                     final int machine, final int gen) {
+        dst.set(BE64, o + Uid32OrderedLayout.OFF_TIME, time);
+        dst.set(BE32, o + Uid32OrderedLayout.OFF_MACHINE, machine);
+        dst.set(BE32, o + Uid32OrderedLayout.OFF_THREAD_GEN, gen);
+        dst.set(BE32, o + Uid32OrderedLayout.OFF_SEQ, s.seq);
+        dst.set(BE32, o + Uid32OrderedLayout.OFF_CORE, s.core);
+        dst.set(BE32, o + Uid32OrderedLayout.OFF_TID, s.tid);
+        dst.set(BE32, o + Uid32OrderedLayout.OFF_MIX, calcOrderedMix(time, machine, gen, s.seq, s.core, s.tid));
+    }
+
+    private static void writeOrdered(final byte[] dst, final int o, final State s, final long time,
+                                     final int machine, final int gen) {
+        B64.set(dst, o + Uid32OrderedLayout.OFF_TIME, time);
+        B32.set(dst, o + Uid32OrderedLayout.OFF_MACHINE, machine);
+        B32.set(dst, o + Uid32OrderedLayout.OFF_THREAD_GEN, gen);
+        B32.set(dst, o + Uid32OrderedLayout.OFF_SEQ, s.seq);
+        B32.set(dst, o + Uid32OrderedLayout.OFF_CORE, s.core);
+        B32.set(dst, o + Uid32OrderedLayout.OFF_TID, s.tid);
+        B32.set(dst, o + Uid32OrderedLayout.OFF_MIX, calcOrderedMix(time, machine, gen, s.seq, s.core, s.tid));
+    }
+
+    private static void write(final MemorySegment dst, final long o, final State s, final long tsc, final int machine) {
+        dst.set(L64, o + OFF_TSC, tsc);
+        dst.set(L64, o + OFF_STACK, s.stack);
+        dst.set(I32, o + OFF_MACHINE, machine);
+        dst.set(I32, o + OFF_CORE, s.core);
+        dst.set(I32, o + OFF_TID, s.tid);
+        dst.set(I32, o + OFF_MIX, calcMix(tsc, s.stack, machine, s.core, s.tid));
+    }
+
+    private static void write(final byte[] dst, final int o, final State s, final long tsc, final int machine) {
+        A64.set(dst, o + OFF_TSC, tsc);
+        A64.set(dst, o + OFF_STACK, s.stack);
+        A32.set(dst, o + OFF_MACHINE, machine);
+        A32.set(dst, o + OFF_CORE, s.core);
+        A32.set(dst, o + OFF_TID, s.tid);
+        A32.set(dst, o + OFF_MIX, calcMix(tsc, s.stack, machine, s.core, s.tid));
+    }
+}
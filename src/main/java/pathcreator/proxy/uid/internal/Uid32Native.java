@@ -12,14 +12,17 @@ package pathcreator.proxy.uid.internal;
 import pathcreator.proxy.util.nativeutil.NativeLibraryLoader;
 
 import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
 import java.lang.foreign.Linker;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.SymbolLookup;
 import java.lang.invoke.MethodHandle;
+import java.util.Objects;
 
 import static java.lang.foreign.FunctionDescriptor.ofVoid;
 import static java.lang.foreign.ValueLayout.ADDRESS;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
 import static pathcreator.proxy.uid.internal.Uid32Symbols.*;
 
 /**
@@ -27,12 +30,21 @@ import static pathcreator.proxy.uid.internal.Uid32Symbols.*;
  * <p>
  * Обеспечивает:
  * <ul>
- *   <li>инициализацию и разрешение символов нативной библиотеки ({@code set_machine_id}, {@code generate_uid32_into});</li>
+ *   <li>инициализацию и разрешение символов нативной библиотеки ({@code set_machine_id}, {@code generate_uid32_into},
+ *       {@code generate_uid32_batch} и их упорядоченных вариантов {@code generate_uid32_ordered_*}, а также {@code generate_uid16_*});</li>
  *   <li>вызовы нативных функций через {@link MethodHandle};</li>
- *   <li>высокопроизводительную запись 32-байтового UID либо напрямую в <em>native</em>-сегмент,
- *       либо через потоковый временный буфер с последующим копированием в <em>heap</em>-сегмент.</li>
+ *   <li>высокопроизводительную запись 32-байтового UID напрямую в <em>native</em>- и (в критическом режиме)
+ *       <em>heap</em>-сегмент, либо через потоковый временный буфер с последующим копированием.</li>
  * </ul>
  *
+ * <h2>Критический режим</h2>
+ * По умолчанию функции генерации линкуются с {@link Linker.Option#critical(boolean) critical(true)}:
+ * вызов идёт без перехода состояния потока, а heap-сегменты ({@code byte[]}) передаются в натив напрямую —
+ * без копии и без {@code ThreadLocal}-буфера (важно для виртуальных потоков: им не нужен собственный
+ * {@link NativeTmp}). Пока идёт критический вызов, GC ждёт, поэтому пакетная запись в heap делится на куски
+ * по {@value Uid32Symbols#BATCH_CHUNK} UID. Отключение: {@code -Duid32.critical=false}
+ * (обычные downcall'ы и запись в heap через {@link NativeTmp}).
+ *
  * <h2>Жизненный цикл и арены</h2>
  * Для разрешения символов используется общая арена {@link Arena#ofShared()} — она живёт
  * весь срок процесса и не закрывается явно. Для горячего пути выделяется небольшой
@@ -43,14 +55,14 @@ import static pathcreator.proxy.uid.internal.Uid32Symbols.*;
  * Класс статичен и потокобезопасен:
  * <ul>
  *   <li>все {@code MethodHandle} и {@code Linker} — неизменяемые и инициализируются один раз;</li>
- *   <li>для записи в heap-сегмент используется отдельный <em>per-thread</em> native-буфер
+ *   <li>для записи в heap-сегмент вне критического режима используется отдельный <em>per-thread</em> native-буфер
  *       ({@link #TL_NATIVE_DST}), что исключает гонки;</li>
  *   <li>при записи в целевой <em>native</em>-сегмент нативная функция получает срез
  *       нужной длины и пишет непосредственно по переданному адресу.</li>
  * </ul>
  *
  * <h2>Производительность</h2>
- * Горячий путь состоит из одного {@code downcall}. Для heap-назначений добавляется одна
+ * Горячий путь состоит из одного {@code downcall}. Для heap-назначений вне критического режима добавляется одна
  * операция копирования 32 байт ({@link MemorySegment#copy(MemorySegment, long, MemorySegment, long, long)}).
  * Дополнительной синхронизации нет.
  *
@@ -77,6 +89,11 @@ public final class Uid32Native {
      */
     private static final Linker LINKER = Linker.nativeLinker();
 
+    /**
+     * Критический режим генерации (см. описание класса).
+     */
+    private static final boolean CRITICAL = Boolean.parseBoolean(System.getProperty("uid32.critical", "true"));
+
     /**
      * MH: {@code void set_machine_id(int)}.
      */
@@ -87,18 +104,73 @@ public final class Uid32Native {
      */
     private static final MethodHandle MH_GEN_INTO;
 
+    /**
+     * MH: {@code void generate_uid32_batch(uint8_t* dst, uint32_t count)}.
+     */
+    private static final MethodHandle MH_GEN_BATCH;
+
+    /**
+     * MH: {@code void generate_uid32_ordered_into(uint8_t* dst)}.
+     */
+    private static final MethodHandle MH_GEN_ORDERED_INTO;
+
+    /**
+     * MH: {@code void generate_uid32_ordered_batch(uint8_t* dst, uint32_t count)}.
+     */
+    private static final MethodHandle MH_GEN_ORDERED_BATCH;
+
+    /**
+     * MH: {@code void generate_uid16_into(uint8_t* dst)}.
+     */
+    private static final MethodHandle MH_GEN16_INTO;
+
+    /**
+     * MH: {@code void generate_uid16_batch(uint8_t* dst, uint32_t count)}.
+     */
+    private static final MethodHandle MH_GEN16_BATCH;
+
+    /**
+     * MH: {@code uint64_t uid32_read_tsc(void)}.
+     */
+    private static final MethodHandle MH_READ_TSC;
+
+    /**
+     * MH: {@code uint32_t uid32_current_core(void)}.
+     */
+    private static final MethodHandle MH_CURRENT_CORE;
+
+    /**
+     * MH: {@code uint32_t uid32_core_count(void)}.
+     */
+    private static final MethodHandle MH_CORE_COUNT;
+
     /**
      * Потоковый временный native-буфер фиксированной длины {@value Uid32Symbols#UID_LEN} байт.
      * Применяется только при записи в heap-сегмент, чтобы не передавать heap в {@code downcall}.
      */
     private static final ThreadLocal<NativeTmp> TL_NATIVE_DST = ThreadLocal.withInitial(NativeTmp::new);
 
+    /**
+     * Потоковый native-буфер на {@value Uid32Symbols#BATCH_CHUNK} UID для пакетной записи в heap-цели.
+     */
+    private static final ThreadLocal<NativeTmp> TL_NATIVE_BATCH =
+            ThreadLocal.withInitial(() -> new NativeTmp((long) UID_LEN * BATCH_CHUNK));
+
     static {
         try {
             final String libPath = NativeLibraryLoader.load(LIB_UID32).toString();
             final SymbolLookup lookup = SymbolLookup.libraryLookup(libPath, ARENA);
             MH_SET = LINKER.downcallHandle(lookup.find(FN_SET_MACHINE_ID).orElseThrow(), ofVoid(JAVA_INT));
-            MH_GEN_INTO = LINKER.downcallHandle(lookup.find(FN_GEN_INTO).orElseThrow(), ofVoid(ADDRESS));
+            final Linker.Option[] gen = CRITICAL ? new Linker.Option[]{Linker.Option.critical(true)} : new Linker.Option[0];
+            MH_GEN_INTO = LINKER.downcallHandle(lookup.find(FN_GEN_INTO).orElseThrow(), ofVoid(ADDRESS), gen);
+            MH_GEN_BATCH = LINKER.downcallHandle(lookup.find(FN_GEN_BATCH).orElseThrow(), ofVoid(ADDRESS, JAVA_INT), gen);
+            MH_GEN_ORDERED_INTO = LINKER.downcallHandle(lookup.find(FN_GEN_ORDERED_INTO).orElseThrow(), ofVoid(ADDRESS), gen);
+            MH_GEN_ORDERED_BATCH = LINKER.downcallHandle(lookup.find(FN_GEN_ORDERED_BATCH).orElseThrow(), ofVoid(ADDRESS, JAVA_INT), gen);
+            MH_GEN16_INTO = LINKER.downcallHandle(lookup.find(FN_GEN16_INTO).orElseThrow(), ofVoid(ADDRESS), gen);
+            MH_GEN16_BATCH = LINKER.downcallHandle(lookup.find(FN_GEN16_BATCH).orElseThrow(), ofVoid(ADDRESS, JAVA_INT), gen);
+            MH_READ_TSC = LINKER.downcallHandle(lookup.find(FN_READ_TSC).orElseThrow(), FunctionDescriptor.of(JAVA_LONG), gen);
+            MH_CURRENT_CORE = LINKER.downcallHandle(lookup.find(FN_CURRENT_CORE).orElseThrow(), FunctionDescriptor.of(JAVA_INT), gen);
+            MH_CORE_COUNT = LINKER.downcallHandle(lookup.find(FN_CORE_COUNT).orElseThrow(), FunctionDescriptor.of(JAVA_INT));
         } catch (final Throwable t) {
             throw new ExceptionInInitializerError(t);
         }
@@ -129,9 +201,9 @@ public final class Uid32Native {
      * <p>
      * Поведение зависит от типа целевого сегмента:
      * <ul>
-     *   <li>если {@code dst.isNative() == true} — нативная функция пишет <b>напрямую</b> в
-     *       срез {@code dst.asSlice(offset, UID_LEN)};</li>
-     *   <li>если сегмент heap-овый — запись производится в потоковый native-буфер, после чего
+     *   <li>если {@code dst.isNative() == true} или включён критический режим — нативная функция
+     *       пишет <b>напрямую</b> в срез {@code dst.asSlice(offset, UID_LEN)};</li>
+     *   <li>иначе (heap без критического режима) — запись производится в потоковый native-буфер, после чего
      *       выполняется один вызов {@link MemorySegment#copy(MemorySegment, long, MemorySegment, long, long)}
      *       (32 байта) в {@code dst}.</li>
      * </ul>
@@ -142,19 +214,7 @@ public final class Uid32Native {
      * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или свободного места меньше {@value Uid32Symbols#UID_LEN} байт
      */
     public static void nativeGenerateInto(final MemorySegment dst, final long offset) {
-        try {
-            if (dst.isNative()) {
-                // Прямая запись в целевой native-сегмент (без промежуточной копии).
-                MH_GEN_INTO.invokeExact(dst.asSlice(offset, UID_LEN));
-                return;
-            }
-            // Heap-сегмент: пишем в thread-local native-буфер и копируем 32 байта.
-            final MemorySegment tmp = TL_NATIVE_DST.get().seg();
-            MH_GEN_INTO.invokeExact(tmp);
-            MemorySegment.copy(tmp, INT0, dst, offset, UID_LEN);
-        } catch (final Throwable t) {
-            throw sneaky(t);
-        }
+        into(MH_GEN_INTO, dst, offset, UID_LEN);
     }
 
     /**
@@ -169,6 +229,175 @@ public final class Uid32Native {
         nativeGenerateInto(MemorySegment.ofArray(dst), offset);
     }
 
+    /**
+     * Генерирует {@code count} UID подряд, начиная с {@code offset}.
+     * <p>
+     * Для native-сегмента — один downcall на всю пачку с записью напрямую в {@code dst}.
+     * Для heap-сегмента — downcall на каждые {@value Uid32Symbols#BATCH_CHUNK} UID: в критическом режиме
+     * прямо в {@code dst}, иначе в потоковый native-буфер и одна копия на кусок. Границы проверяются до записи: при ошибке {@code dst} не меняется.
+     *
+     * @param dst    целевой сегмент (heap или native)
+     * @param offset смещение первого UID в байтах
+     * @param count  число UID ({@code 0} — ничего не делает)
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если {@code [offset, offset + count * 32)} выходит за пределы {@code dst}
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     */
+    public static void nativeGenerateBatch(final MemorySegment dst, final long offset, final int count) {
+        batch(MH_GEN_BATCH, dst, offset, count, UID_LEN);
+    }
+
+    /**
+     * Пакетная запись в массив байт.
+     *
+     * @see #nativeGenerateBatch(MemorySegment, long, int)
+     */
+    public static void nativeGenerateBatch(final byte[] dst, final int offset, final int count) {
+        nativeGenerateBatch(MemorySegment.ofArray(dst), offset, count);
+    }
+
+    /**
+     * Генерирует UID32 упорядоченного формата ({@link pathcreator.proxy.uid.layout.Uid32OrderedLayout});
+     * запись в {@code dst} — как у {@link #nativeGenerateInto(MemorySegment, long)}.
+     *
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или свободного места меньше {@value Uid32Symbols#UID_LEN} байт
+     */
+    public static void nativeGenerateOrderedInto(final MemorySegment dst, final long offset) {
+        into(MH_GEN_ORDERED_INTO, dst, offset, UID_LEN);
+    }
+
+    public static void nativeGenerateOrderedInto(final byte[] dst, final int offset) {
+        into(MH_GEN_ORDERED_INTO, MemorySegment.ofArray(dst), offset, UID_LEN);
+    }
+
+    /**
+     * Пачка UID32 упорядоченного формата; контракт как у {@link #nativeGenerateBatch(MemorySegment, long, int)}.
+     */
+    public static void nativeGenerateOrderedBatch(final MemorySegment dst, final long offset, final int count) {
+        batch(MH_GEN_ORDERED_BATCH, dst, offset, count, UID_LEN);
+    }
+
+    public static void nativeGenerateOrderedBatch(final byte[] dst, final int offset, final int count) {
+        batch(MH_GEN_ORDERED_BATCH, MemorySegment.ofArray(dst), offset, count, UID_LEN);
+    }
+
+    /**
+     * Генерирует UID16 ({@link pathcreator.proxy.uid.layout.Uid16Layout}); запись в {@code dst} — как у
+     * {@link #nativeGenerateInto(MemorySegment, long)}, но {@value Uid32Symbols#UID16_LEN} байт.
+     *
+     * @throws RuntimeException          если нативный вызов завершился с ошибкой
+     * @throws IndexOutOfBoundsException если {@code offset} &lt; 0 или свободного места меньше {@value Uid32Symbols#UID16_LEN} байт
+     */
+    public static void nativeGenerateUid16Into(final MemorySegment dst, final long offset) {
+        into(MH_GEN16_INTO, dst, offset, UID16_LEN);
+    }
+
+    public static void nativeGenerateUid16Into(final byte[] dst, final int offset) {
+        into(MH_GEN16_INTO, MemorySegment.ofArray(dst), offset, UID16_LEN);
+    }
+
+    /**
+     * Пачка UID16 (по {@value Uid32Symbols#UID16_LEN} байт подряд); контракт как у
+     * {@link #nativeGenerateBatch(MemorySegment, long, int)}.
+     */
+    public static void nativeGenerateUid16Batch(final MemorySegment dst, final long offset, final int count) {
+        batch(MH_GEN16_BATCH, dst, offset, count, UID16_LEN);
+    }
+
+    public static void nativeGenerateUid16Batch(final byte[] dst, final int offset, final int count) {
+        batch(MH_GEN16_BATCH, MemorySegment.ofArray(dst), offset, count, UID16_LEN);
+    }
+
+    /**
+     * {@return текущее значение счётчика поля {@code tsc} (как у только что сгенерированного UID32)}
+     *
+     * @throws RuntimeException если нативный вызов завершился с ошибкой
+     */
+    public static long nativeReadTsc() {
+        try {
+            return (long) MH_READ_TSC.invokeExact();
+        } catch (final Throwable t) {
+            throw sneaky(t);
+        }
+    }
+
+    /**
+     * {@return номер ядра, на котором выполняется поток} Поток может сменить ядро сразу после вызова:
+     * значение годится как подсказка для разбиения, а не как привязка.
+     *
+     * @throws RuntimeException если нативный вызов завершился с ошибкой
+     */
+    public static int nativeCurrentCore() {
+        try {
+            return (int) MH_CURRENT_CORE.invokeExact();
+        } catch (final Throwable t) {
+            throw sneaky(t);
+        }
+    }
+
+    /**
+     * {@return число номеров ядер системы (все сконфигурированные CPU): {@link #nativeCurrentCore()} меньше него}
+     *
+     * @throws RuntimeException если нативный вызов завершился с ошибкой
+     */
+    public static int nativeCoreCount() {
+        try {
+            return (int) MH_CORE_COUNT.invokeExact();
+        } catch (final Throwable t) {
+            throw sneaky(t);
+        }
+    }
+
+    // mh — всегда static final константа вызывающего метода; после инлайна JIT видит её как константу
+    // len ≤ UID_LEN: потоковые буферы рассчитаны на UID32
+    private static void into(final MethodHandle mh, final MemorySegment dst, final long offset, final int len) {
+        try {
+            if (CRITICAL || dst.isNative()) {
+                // Прямая запись в целевой сегмент (без промежуточной копии).
+                mh.invokeExact(dst.asSlice(offset, len));
+                return;
+            }
+            // Heap-сегмент: пишем в thread-local native-буфер и копируем len байт.
+            final MemorySegment tmp = TL_NATIVE_DST.get().seg();
+            mh.invokeExact(tmp);
+            MemorySegment.copy(tmp, INT0, dst, offset, len);
+        } catch (final Throwable t) {
+            throw sneaky(t);
+        }
+    }
+
+    private static void batch(final MethodHandle mh, final MemorySegment dst, final long offset, final int count, final int len) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        final long total = (long) len * count;
+        Objects.checkFromIndexSize(offset, total, dst.byteSize());
+        if (count == 0) return;
+        try {
+            if (dst.isNative()) {
+                mh.invokeExact(dst.asSlice(offset, total), count);
+                return;
+            }
+            if (CRITICAL) {
+                // куски ограничивают время, на которое критический вызов задерживает GC
+                for (int done = 0; done < count; ) {
+                    final int n = Math.min(count - done, BATCH_CHUNK);
+                    mh.invokeExact(dst.asSlice(offset + (long) len * done, (long) len * n), n);
+                    done += n;
+                }
+                return;
+            }
+            final MemorySegment tmp = TL_NATIVE_BATCH.get().seg();
+            for (int done = 0; done < count; ) {
+                final int n = Math.min(count - done, BATCH_CHUNK);
+                mh.invokeExact(tmp, n);
+                MemorySegment.copy(tmp, INT0, dst, offset + (long) len * done, (long) len * n);
+                done += n;
+            }
+        } catch (final Throwable t) {
+            throw sneaky(t);
+        }
+    }
+
     /**
      * Преобразует любые checked-исключения и ошибки в {@link RuntimeException}
      * для удобства вызова из горячего пути.
@@ -25,7 +25,17 @@ package pathcreator.proxy.uid.internal;
  *   <li>{@link #FN_SET_MACHINE_ID} — точное имя экспортируемого C-символа
  *       {@code void set_machine_id(uint32_t id)};</li>
  *   <li>{@link #FN_GEN_INTO} — точное имя экспортируемого C-символа
- *       {@code void generate_uid32_into(uint8_t* dst)}, который записывает ровно 32 байта по адресу {@code dst}.</li>
+ *       {@code void generate_uid32_into(uint8_t* dst)}, который записывает ровно 32 байта по адресу {@code dst};</li>
+ *   <li>{@link #FN_GEN_BATCH} — {@code void generate_uid32_batch(uint8_t* dst, uint32_t count)},
+ *       записывает {@code count * 32} байт подряд; {@code tsc} строго возрастает в пределах потока,
+ *       общий с {@link #FN_GEN_INTO} (последнее значение — в TLS), а не только внутри вызова;</li>
+ *   <li>{@link #FN_GEN_ORDERED_INTO}, {@link #FN_GEN_ORDERED_BATCH} — то же для упорядоченного формата
+ *       ({@link pathcreator.proxy.uid.layout.Uid32OrderedLayout});</li>
+ *   <li>{@link #FN_READ_TSC} — {@code uint64_t uid32_read_tsc(void)}, счётчик поля {@code tsc} (калибровка);</li>
+ *   <li>{@link #FN_CURRENT_CORE}, {@link #FN_CORE_COUNT} — текущее ядро и число номеров ядер
+ *       (разбиение по ядрам, {@link pathcreator.proxy.uid.stripe});</li>
+ *   <li>{@link #FN_GEN16_INTO}, {@link #FN_GEN16_BATCH} — 16-байтовый UID
+ *       ({@link pathcreator.proxy.uid.layout.Uid16Layout}, длина {@link #UID16_LEN}).</li>
  * </ul>
  *
  * <h2>Загрузка библиотеки</h2>
@@ -57,6 +67,11 @@ public final class Uid32Symbols {
      */
     public static final int UID_LEN = 32;
 
+    /**
+     * Длина UID16 в байтах.
+     */
+    public static final int UID16_LEN = 16;
+
     /**
      * Удобная константа «нулевого смещения» для операций copy/slice.
      */
@@ -76,4 +91,50 @@ public final class Uid32Symbols {
      * Имя C-символа: {@code void generate_uid32_into(uint8_t* dst)}.
      */
     public static final String FN_GEN_INTO = "generate_uid32_into";
+
+    /**
+     * Имя C-символа: {@code void generate_uid32_batch(uint8_t* dst, uint32_t count)}.
+     * {@code tsc} строго возрастает в пределах потока между вызовами, поэтому пачку можно делить на куски.
+     */
+    public static final String FN_GEN_BATCH = "generate_uid32_batch";
+
+    /**
+     * Имя C-символа: {@code void generate_uid32_ordered_into(uint8_t* dst)}.
+     */
+    public static final String FN_GEN_ORDERED_INTO = "generate_uid32_ordered_into";
+
+    /**
+     * Имя C-символа: {@code void generate_uid32_ordered_batch(uint8_t* dst, uint32_t count)}.
+     */
+    public static final String FN_GEN_ORDERED_BATCH = "generate_uid32_ordered_batch";
+
+    /**
+     * Имя C-символа: {@code uint64_t uid32_read_tsc(void)}.
+     */
+    public static final String FN_READ_TSC = "uid32_read_tsc";
+
+    /**
+     * Имя C-символа: {@code uint32_t uid32_current_core(void)}.
+     */
+    public static final String FN_CURRENT_CORE = "uid32_current_core";
+
+    /**
+     * Имя C-символа: {@code uint32_t uid32_core_count(void)}.
+     */
+    public static final String FN_CORE_COUNT = "uid32_core_count";
+
+    /**
+     * Имя C-символа: {@code void generate_uid16_into(uint8_t* dst)}.
+     */
+    public static final String FN_GEN16_INTO = "generate_uid16_into";
+
+    /**
+     * Имя C-символа: {@code void generate_uid16_batch(uint8_t* dst, uint32_t count)}.
+     */
+    public static final String FN_GEN16_BATCH = "generate_uid16_batch";
+
+    /**
+     * Сколько UID за один downcall пишется через потоковый native-буфер для heap-целей пакетной генерации.
+     */
+    public static final int BATCH_CHUNK = 256;
 }
\ No newline at end of file
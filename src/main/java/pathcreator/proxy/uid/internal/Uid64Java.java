@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ *
+ * ВНИМАНИЕ: данный класс размещён в пакете *.internal и предназначен
+ * исключительно для внутреннего использования модулем UID32. Публичный
+ * доступ к нему не является частью стабильного API и может быть изменён.
+ */
+
+package pathcreator.proxy.uid.internal;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static pathcreator.proxy.uid.layout.Uid64Layout.*;
+
+/**
+ * Генератор UID64 ({@link pathcreator.proxy.uid.layout.Uid64Layout}) на чистой Java.
+ * <p>
+ * Состояние процесса — один {@link AtomicLong} вида {@code (ms << SEQ_BITS) | seq}: следующий UID —
+ * {@code max(prev + 1, now << SEQ_BITS)} одним CAS, без блокировок. Переполнение {@code seq}
+ * переносится в миллисекунды само. Нативной версии нет: downcall дороже всей генерации.
+ *
+ * @since 1.0
+ */
+public final class Uid64Java {
+
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private Uid64Java() {
+    }
+
+    /**
+     * @param machineId идентификатор машины; используются младшие {@value pathcreator.proxy.uid.layout.Uid64Layout#NODE_BITS} бит
+     */
+    public static long next(final int machineId) {
+        final long now = nowState();
+        return pack(STATE.accumulateAndGet(now, (prev, n) -> Math.max(prev + 1, n)), machineId);
+    }
+
+    /**
+     * {@code count} последовательных UID одним CAS.
+     *
+     * @throws IllegalArgumentException  если {@code count} &lt; 0
+     * @throws IndexOutOfBoundsException если {@code [offset, offset + count)} выходит за пределы {@code dst}
+     */
+    public static void nextBatch(final long[] dst, final int offset, final int count, final int machineId) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(offset, count, dst.length);
+        if (count == 0) return;
+        final long now = nowState();
+        long prev, last;
+        do {
+            prev = STATE.get();
+            last = Math.max(prev + 1, now) + count - 1;
+        } while (!STATE.compareAndSet(prev, last));
+        final long first = last - count + 1;
+        for (int i = 0; i < count; i++) dst[offset + i] = pack(first + i, machineId);
+    }
+
+    private static long nowState() {
+        return (System.currentTimeMillis() - EPOCH_MILLIS) << SEQ_BITS;
+    }
+
+    private static long pack(final long state, final int machineId) {
+        return ((state >>> SEQ_BITS) & TIME_MASK) << TIME_SHIFT
+                | (machineId & NODE_MASK) << NODE_SHIFT
+                | state & SEQ_MASK;
+    }
+}
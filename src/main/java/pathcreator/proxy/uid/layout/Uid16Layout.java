@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.layout;
+
+/**
+ * Спецификация компактного UID16 (ровно 16 байт) — ключ для индексов, где {@code stackPtr}/{@code mix}
+ * UID32 лишние. Уникален в пределах {@code machineId} и процесса, сортируется по времени генерации.
+ *
+ * <h2>Формат</h2>
+ * <pre>
+ *  Offset  Size  Поле          Тип       Описание
+ *  ------  ----  ------------  --------  -----------------------------------------------
+ *      0     8   time          uint64    Unix-время в наносекундах; внутри потока строго возрастает
+ *      8     4   machineId     uint32    Идентификатор машины (тот же, что у UID32)
+ *     12     4   threadGen     uint32    Номер потока в процессе (общий с {@link Uid32OrderedLayout})
+ * </pre>
+ *
+ * <h2>Порядок и уникальность</h2>
+ * Все поля — big-endian: побайтовое сравнение без знака упорядочивает UID по {@code (time, machineId, threadGen)}.
+ * Счётчика нет — его роль играет {@code time}: при совпадении с предыдущим UID потока берётся +1 нс,
+ * поэтому при генерации чаще раза в наносекунду время потока уходит вперёд реальных часов.
+ * Контрольной суммы нет.
+ *
+ * @since 1.0
+ */
+public final class Uid16Layout {
+
+    private Uid16Layout() {
+        throw new AssertionError("No instances");
+    }
+
+    /**
+     * Полная длина UID в байтах.
+     */
+    public static final int LEN = 16;
+
+    public static final int OFF_TIME = 0;
+    public static final int OFF_MACHINE = 8;
+    public static final int OFF_THREAD_GEN = 12;
+}
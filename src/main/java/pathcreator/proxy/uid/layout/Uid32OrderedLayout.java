@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.layout;
+
+/**
+ * Спецификация упорядоченного формата UID32 (ровно 32 байта): строго уникален в пределах
+ * {@code machineId} и сортируется по времени генерации побайтовым сравнением без знака.
+ *
+ * <h2>Формат</h2>
+ * <pre>
+ *  Offset  Size  Поле          Тип       Описание
+ *  ------  ----  ------------  --------  -----------------------------------------------
+ *      0     8   time          uint64    Unix-время в наносекундах (UTC); внутри потока не убывает
+ *      8     4   machineId     uint32    Идентификатор машины (задаётся из Java)
+ *     12     4   threadGen     uint32    Номер потока в процессе (выдаётся один раз, не переиспользуется)
+ *     16     4   seq           uint32    Счётчик UID потока, +1 на каждый UID
+ *     20     4   coreId        uint32    Идентификатор CPU-ядра
+ *     24     4   tid           uint32    Идентификатор потока (OS TID)
+ *     28     4   mix           uint32    Контрольная сумма: (uint32)(time ^ machineId ^ threadGen ^ seq ^ coreId ^ tid)
+ * </pre>
+ *
+ * <h2>Порядок и уникальность</h2>
+ * Все поля — <b>big-endian</b>, поэтому {@code Arrays.compareUnsigned} / {@code memcmp} сравнивают
+ * UID по ключу {@code (time, machineId, threadGen, seq)}. UID одного потока строго возрастают;
+ * UID разных потоков и ядер упорядочены по времени с точностью до синхронизации часов.
+ * Пара {@code (threadGen, seq)} уникальна в процессе даже при переиспользовании OS TID.
+ * Такие ключи вставляются в конец B-дерева, а не в случайные страницы.
+ *
+ * <h2>Совместимость</h2>
+ * Формат независим от {@link Uid32Layout}: поля, порядок байт и {@code mix} другие. Читайте его через
+ * {@code Uid32OrderedReader}. Смещения считаются частью ABI.
+ *
+ * @since 1.0
+ */
+public final class Uid32OrderedLayout {
+
+    private Uid32OrderedLayout() {
+        throw new AssertionError("No instances");
+    }
+
+    /**
+     * Полная длина UID в байтах.
+     */
+    public static final int LEN = 32;
+
+    public static final int OFF_TIME = 0;
+    public static final int OFF_MACHINE = 8;
+    public static final int OFF_THREAD_GEN = 12;
+    public static final int OFF_SEQ = 16;
+    public static final int OFF_CORE = 20;
+    public static final int OFF_TID = 24;
+    public static final int OFF_MIX = 28;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.layout;
+
+/**
+ * Спецификация UID64 — идентификатора в одном {@code long} (в духе Snowflake).
+ *
+ * <h2>Формат</h2>
+ * <pre>
+ *  Биты     Поле      Описание
+ *  -------  --------  ------------------------------------------------------
+ *  63       —         всегда 0: значение положительно, порядок long = порядок генерации
+ *  62..22   time      миллисекунды от {@link #EPOCH_MILLIS} (41 бит, ~69 лет)
+ *  21..12   node      младшие {@value #NODE_BITS} бит {@code machineId}
+ *  11..0    seq       номер в пределах миллисекунды
+ * </pre>
+ *
+ * <h2>Порядок и уникальность</h2>
+ * Уникален в пределах {@code node} и процесса: {@code (time, seq)} — одно атомарное состояние процесса.
+ * Больше {@value #SEQ_MASK}+1 UID в миллисекунду — заём следующей миллисекунды (время идёт вперёд часов).
+ * Процессам с общим временем жизни нужны разные {@code node}.
+ *
+ * @since 1.0
+ */
+public final class Uid64Layout {
+
+    private Uid64Layout() {
+        throw new AssertionError("No instances");
+    }
+
+    /**
+     * Начало отсчёта: 2025-01-01T00:00:00Z.
+     */
+    public static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    public static final int SEQ_BITS = 12;
+    public static final int NODE_BITS = 10;
+    public static final int TIME_BITS = 41;
+
+    public static final int NODE_SHIFT = SEQ_BITS;
+    public static final int TIME_SHIFT = SEQ_BITS + NODE_BITS;
+
+    public static final long SEQ_MASK = (1L << SEQ_BITS) - 1;
+    public static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    public static final long TIME_MASK = (1L << TIME_BITS) - 1;
+}
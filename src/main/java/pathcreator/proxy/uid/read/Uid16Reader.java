@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.read;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid16Layout.*;
+
+/**
+ * Чтение и сравнение UID16 ({@link pathcreator.proxy.uid.layout.Uid16Layout}); поля — big-endian на любой платформе.
+ *
+ * <h2>Границы</h2>
+ * Отдельной проверки длины нет; выход за пределы ловят сами {@link VarHandle}/FFM-доступы
+ * ({@link IndexOutOfBoundsException}).
+ *
+ * @since 1.0
+ */
+public final class Uid16Reader {
+
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final VarHandle A64 = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle A32 = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private Uid16Reader() {
+    }
+
+    // --- MemorySegment ---
+    public static long timeNanos(final MemorySegment s, final long o) {
+        return s.get(L64, o + OFF_TIME);
+    }
+
+    public static int machineId(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_MACHINE);
+    }
+
+    public static int threadGen(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_THREAD_GEN);
+    }
+
+    /**
+     * Порядок генерации: побайтовое сравнение без знака.
+     */
+    public static int compare(final MemorySegment a, final long aOff, final MemorySegment b, final long bOff) {
+        final int c = Long.compareUnsigned(a.get(L64, aOff), b.get(L64, bOff));
+        return c != 0 ? c : Long.compareUnsigned(a.get(L64, aOff + 8), b.get(L64, bOff + 8));
+    }
+
+    // --- byte[] ---
+    public static long timeNanos(final byte[] a, final int o) {
+        return (long) A64.get(a, o + OFF_TIME);
+    }
+
+    public static int machineId(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_MACHINE);
+    }
+
+    public static int threadGen(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_THREAD_GEN);
+    }
+
+    /**
+     * @see #compare(MemorySegment, long, MemorySegment, long)
+     */
+    public static int compare(final byte[] a, final int aOff, final byte[] b, final int bOff) {
+        return Arrays.compareUnsigned(a, aOff, aOff + LEN, b, bOff, bOff + LEN);
+    }
+}
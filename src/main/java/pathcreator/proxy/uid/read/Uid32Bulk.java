@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.read;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Пакетная проверка и разбор по колонкам для {@code count} UID32, лежащих подряд (по 32 байта)
+ * в сегменте, на Vector API.
+ *
+ * <h2>Как считается</h2>
+ * UID — четыре native-order {@code long}: {@code L0 = tsc}, {@code L1 = stackPtr}, {@code L2 = machineId|coreId},
+ * {@code L3 = tid|mix}. Четыре UID читаются четырьмя 256-битными векторами и транспонируются 4×4
+ * ({@code rearrange} + {@code blend}) — получаются колонки {@code L0..L3} по четыре UID. Проверка {@code mix}
+ * сводится к {@code (int)(L0 ^ L1 ^ y) ^ (int)(y >>> 32) == 0}, где {@code y = L2 ^ L3}, и не зависит
+ * от порядка байт платформы.
+ * <p>
+ * Если предпочтительная ширина векторов меньше 256 бит (например, NEON), работает скалярный путь
+ * с той же формулой. Хвост, не кратный четырём, всегда скалярный.
+ *
+ * <h2>Границы</h2>
+ * Диапазоны источника и приёмника проверяются до начала работы. Колонки пишутся в массивы или в сегменты;
+ * в сегмент — подряд, в native-порядке байт ({@code long} для {@code tsc}, {@code int} для остальных).
+ * <p>
+ * Требует {@code --add-modules jdk.incubator.vector}.
+ *
+ * @see Uid32ReaderSegment
+ * @since 1.0
+ */
+public final class Uid32Bulk {
+
+    private Uid32Bulk() {
+    }
+
+    private static final VectorSpecies<Long> L4 = LongVector.SPECIES_256;
+    private static final VectorSpecies<Integer> I4 = IntVector.SPECIES_128;
+    private static final boolean SIMD = LongVector.SPECIES_PREFERRED.vectorBitSize() >= 256;
+
+    private static final ByteOrder NATIVE = ByteOrder.nativeOrder();
+    private static final boolean LE = NATIVE == ByteOrder.LITTLE_ENDIAN;
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(NATIVE);
+    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(NATIVE);
+
+    // транспонирование 4×4: сначала пары лейнов, потом половины
+    private static final VectorShuffle<Long> PAIR_LO = VectorShuffle.fromValues(L4, 0, 0, 2, 2);
+    private static final VectorShuffle<Long> PAIR_HI = VectorShuffle.fromValues(L4, 1, 1, 3, 3);
+    private static final VectorShuffle<Long> HALF_LO = VectorShuffle.fromValues(L4, 0, 1, 0, 1);
+    private static final VectorShuffle<Long> HALF_HI = VectorShuffle.fromValues(L4, 2, 3, 2, 3);
+    private static final VectorMask<Long> ODD = VectorMask.fromValues(L4, false, true, false, true);
+    private static final VectorMask<Long> UPPER = VectorMask.fromValues(L4, false, false, true, true);
+
+    private static final int STEP = 4;
+
+    /**
+     * Проверяет {@code mix} у {@code count} UID начиная с {@code off}.
+     *
+     * @param valid битовая карта результата: бит {@code i} (слово {@code i >>> 6}) — UID {@code i} корректен;
+     *              длина не меньше {@code (count + 63) / 64}, затрагиваемые слова перезаписываются
+     * @return число UID с неверным {@code mix}
+     * @throws IndexOutOfBoundsException если UID выходят за пределы сегмента или карта короче нужного
+     */
+    public static int verify(final MemorySegment s, final long off, final int count, final long[] valid) {
+        checkSource(s, off, count);
+        Objects.checkFromIndexSize(0, (count + 63) >>> 6, valid.length);
+        int i = 0;
+        long word = 0;
+        if (SIMD) {
+            for (final int bound = count & -STEP; i < bound; i += STEP) {
+                final long o = off + (long) LEN * i;
+                final LongVector a = load(s, o), b = load(s, o + LEN), c = load(s, o + 2L * LEN), d = load(s, o + 3L * LEN);
+                final LongVector t0 = a.blend(b.rearrange(PAIR_LO), ODD);
+                final LongVector t1 = a.rearrange(PAIR_HI).blend(b, ODD);
+                final LongVector t2 = c.blend(d.rearrange(PAIR_LO), ODD);
+                final LongVector t3 = c.rearrange(PAIR_HI).blend(d, ODD);
+                final LongVector tsc = t0.blend(t2.rearrange(HALF_LO), UPPER);
+                final LongVector stack = t1.blend(t3.rearrange(HALF_LO), UPPER);
+                final LongVector w2 = t0.rearrange(HALF_HI).blend(t2, UPPER);
+                final LongVector w3 = t1.rearrange(HALF_HI).blend(t3, UPPER);
+                final LongVector y = w2.lanewise(VectorOperators.XOR, w3);
+                final LongVector x = tsc.lanewise(VectorOperators.XOR, stack).lanewise(VectorOperators.XOR, y)
+                        .lanewise(VectorOperators.XOR, y.lanewise(VectorOperators.LSHR, 32));
+                word |= x.lanewise(VectorOperators.AND, 0xFFFF_FFFFL).compare(VectorOperators.EQ, 0L).toLong() << (i & 63);
+                if ((i & 63) == 64 - STEP) {
+                    valid[i >>> 6] = word;
+                    word = 0;
+                }
+            }
+        }
+        for (; i < count; i++) {
+            if (check(s, off + (long) LEN * i)) word |= 1L << (i & 63);
+            if ((i & 63) == 63) {
+                valid[i >>> 6] = word;
+                word = 0;
+            }
+        }
+        if ((count & 63) != 0) valid[count >>> 6] = word;
+        int ok = 0;
+        for (int w = 0, words = (count + 63) >>> 6; w < words; w++) ok += Long.bitCount(valid[w]);
+        return count - ok;
+    }
+
+    public static int verify(final byte[] a, final int off, final int count, final long[] valid) {
+        return verify(MemorySegment.ofArray(a), off, count, valid);
+    }
+
+    /**
+     * Колонка {@code tsc} в {@code dst[dstOff .. dstOff + count)}.
+     */
+    public static void tscs(final MemorySegment s, final long off, final int count, final long[] dst, final int dstOff) {
+        checkSource(s, off, count);
+        Objects.checkFromIndexSize(dstOff, count, dst.length);
+        int i = 0;
+        if (SIMD) {
+            for (final int bound = count & -STEP; i < bound; i += STEP) {
+                tscColumn(s, off + (long) LEN * i).intoArray(dst, dstOff + i);
+            }
+        }
+        for (; i < count; i++) dst[dstOff + i] = s.get(L64, off + (long) LEN * i);
+    }
+
+    /**
+     * Колонка {@code tsc} в {@code dst[dstOff .. dstOff + 8 * count)}: {@code long} подряд, native-порядок.
+     *
+     * @throws IndexOutOfBoundsException если UID или колонка выходят за пределы сегментов
+     */
+    public static void tscs(final MemorySegment s, final long off, final int count, final MemorySegment dst, final long dstOff) {
+        checkSource(s, off, count);
+        Objects.checkFromIndexSize(dstOff, 8L * count, dst.byteSize());
+        int i = 0;
+        if (SIMD) {
+            for (final int bound = count & -STEP; i < bound; i += STEP) {
+                tscColumn(s, off + (long) LEN * i).intoMemorySegment(dst, dstOff + 8L * i, NATIVE);
+            }
+        }
+        for (; i < count; i++) dst.set(L64, dstOff + 8L * i, s.get(L64, off + (long) LEN * i));
+    }
+
+    /**
+     * Колонка {@code machineId} в {@code dst[dstOff .. dstOff + count)}.
+     */
+    public static void machineIds(final MemorySegment s, final long off, final int count, final int[] dst, final int dstOff) {
+        ints(s, off, count, dst, dstOff, 2, !LE);
+    }
+
+    /**
+     * Колонка {@code coreId} в {@code dst[dstOff .. dstOff + count)}.
+     */
+    public static void coreIds(final MemorySegment s, final long off, final int count, final int[] dst, final int dstOff) {
+        ints(s, off, count, dst, dstOff, 2, LE);
+    }
+
+    /**
+     * Колонка {@code tid} в {@code dst[dstOff .. dstOff + count)}.
+     */
+    public static void tids(final MemorySegment s, final long off, final int count, final int[] dst, final int dstOff) {
+        ints(s, off, count, dst, dstOff, 3, !LE);
+    }
+
+    /**
+     * Колонка {@code machineId} в {@code dst[dstOff .. dstOff + 4 * count)}: {@code int} подряд, native-порядок.
+     *
+     * @throws IndexOutOfBoundsException если UID или колонка выходят за пределы сегментов
+     */
+    public static void machineIds(final MemorySegment s, final long off, final int count, final MemorySegment dst, final long dstOff) {
+        ints(s, off, count, dst, dstOff, 2, !LE);
+    }
+
+    /**
+     * Колонка {@code coreId} в {@code dst[dstOff .. dstOff + 4 * count)}.
+     */
+    public static void coreIds(final MemorySegment s, final long off, final int count, final MemorySegment dst, final long dstOff) {
+        ints(s, off, count, dst, dstOff, 2, LE);
+    }
+
+    /**
+     * Колонка {@code tid} в {@code dst[dstOff .. dstOff + 4 * count)}.
+     */
+    public static void tids(final MemorySegment s, final long off, final int count, final MemorySegment dst, final long dstOff) {
+        ints(s, off, count, dst, dstOff, 3, !LE);
+    }
+
+    public static void tscs(final byte[] a, final int off, final int count, final long[] dst, final int dstOff) {
+        tscs(MemorySegment.ofArray(a), off, count, dst, dstOff);
+    }
+
+    public static void machineIds(final byte[] a, final int off, final int count, final int[] dst, final int dstOff) {
+        machineIds(MemorySegment.ofArray(a), off, count, dst, dstOff);
+    }
+
+    public static void coreIds(final byte[] a, final int off, final int count, final int[] dst, final int dstOff) {
+        coreIds(MemorySegment.ofArray(a), off, count, dst, dstOff);
+    }
+
+    public static void tids(final byte[] a, final int off, final int count, final int[] dst, final int dstOff) {
+        tids(MemorySegment.ofArray(a), off, count, dst, dstOff);
+    }
+
+    /**
+     * Половина {@code long}-колонки {@code word} (2 или 3): старшая ({@code high}) или младшая.
+     */
+    private static void ints(final MemorySegment s, final long off, final int count, final int[] dst, final int dstOff,
+                             final int word, final boolean high) {
+        checkSource(s, off, count);
+        Objects.checkFromIndexSize(dstOff, count, dst.length);
+        final int shift = high ? 32 : 0;
+        int i = 0;
+        if (SIMD) {
+            for (final int bound = count & -STEP; i < bound; i += STEP) {
+                intColumn(s, off + (long) LEN * i, word, shift).intoArray(dst, dstOff + i);
+            }
+        }
+        for (; i < count; i++) dst[dstOff + i] = (int) (s.get(L64, off + (long) LEN * i + 8L * word) >>> shift);
+    }
+
+    private static void ints(final MemorySegment s, final long off, final int count, final MemorySegment dst,
+                             final long dstOff, final int word, final boolean high) {
+        checkSource(s, off, count);
+        Objects.checkFromIndexSize(dstOff, 4L * count, dst.byteSize());
+        final int shift = high ? 32 : 0;
+        int i = 0;
+        if (SIMD) {
+            for (final int bound = count & -STEP; i < bound; i += STEP) {
+                intColumn(s, off + (long) LEN * i, word, shift).intoMemorySegment(dst, dstOff + 4L * i, NATIVE);
+            }
+        }
+        for (; i < count; i++) dst.set(I32, dstOff + 4L * i, (int) (s.get(L64, off + (long) LEN * i + 8L * word) >>> shift));
+    }
+
+    // L0 четырёх UID с o
+    private static LongVector tscColumn(final MemorySegment s, final long o) {
+        final LongVector t0 = load(s, o).blend(load(s, o + LEN).rearrange(PAIR_LO), ODD);
+        final LongVector t2 = load(s, o + 2L * LEN).blend(load(s, o + 3L * LEN).rearrange(PAIR_LO), ODD);
+        return t0.blend(t2.rearrange(HALF_LO), UPPER);
+    }
+
+    // половина L{word} четырёх UID с o, сдвинутая на shift и суженная до int
+    private static IntVector intColumn(final MemorySegment s, final long o, final int word, final int shift) {
+        final LongVector a = load(s, o), b = load(s, o + LEN), c = load(s, o + 2L * LEN), d = load(s, o + 3L * LEN);
+        final boolean odd = word == 3;
+        final LongVector ab = odd ? a.rearrange(PAIR_HI).blend(b, ODD) : a.blend(b.rearrange(PAIR_LO), ODD);
+        final LongVector cd = odd ? c.rearrange(PAIR_HI).blend(d, ODD) : c.blend(d.rearrange(PAIR_LO), ODD);
+        final LongVector col = ab.rearrange(HALF_HI).blend(cd, UPPER);
+        return (IntVector) col.lanewise(VectorOperators.LSHR, shift).castShape(I4, 0);
+    }
+
+    private static boolean check(final MemorySegment s, final long o) {
+        final long y = s.get(L64, o + 16) ^ s.get(L64, o + 24);
+        final long x = s.get(L64, o) ^ s.get(L64, o + 8) ^ y;
+        return (int) x == (int) (y >>> 32);
+    }
+
+    private static LongVector load(final MemorySegment s, final long o) {
+        return LongVector.fromMemorySegment(L4, s, o, NATIVE);
+    }
+
+    private static void checkSource(final MemorySegment s, final long off, final int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
+        Objects.checkFromIndexSize(off, (long) LEN * count, s.byteSize());
+    }
+}
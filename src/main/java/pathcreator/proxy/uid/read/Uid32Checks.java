@@ -39,6 +39,15 @@ public final class Uid32Checks {
                 ^ (tid & 0xFFFF_FFFFL));
     }
 
+    /**
+     * Контрольная сумма упорядоченного формата ({@link pathcreator.proxy.uid.layout.Uid32OrderedLayout}):
+     * {@code (uint32_t)(time ^ machineId ^ threadGen ^ seq ^ coreId ^ tid)}.
+     */
+    public static int calcOrderedMix(final long time, final int machineId, final int threadGen, final int seq,
+                                     final int coreId, final int tid) {
+        return (int) time ^ machineId ^ threadGen ^ seq ^ coreId ^ tid;
+    }
+
     // Удобные вспомогательные проверки (опциональны к использованию):
 
     /**
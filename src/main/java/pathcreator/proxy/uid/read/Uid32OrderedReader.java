@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.read;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid32OrderedLayout.*;
+import static pathcreator.proxy.uid.read.Uid32Checks.calcOrderedMix;
+
+/**
+ * Чтение, проверка и сравнение UID32 упорядоченного формата
+ * ({@link pathcreator.proxy.uid.layout.Uid32OrderedLayout}); поля — big-endian на любой платформе.
+ *
+ * <h2>Границы</h2>
+ * Отдельной проверки длины нет; выход за пределы ловят сами {@link VarHandle}/FFM-доступы
+ * ({@link IndexOutOfBoundsException}).
+ *
+ * @since 1.0
+ */
+public final class Uid32OrderedReader {
+
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final VarHandle A64 = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle A32 = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private Uid32OrderedReader() {
+    }
+
+    // --- MemorySegment ---
+    public static long timeNanos(final MemorySegment s, final long o) {
+        return s.get(L64, o + OFF_TIME);
+    }
+
+    public static int machineId(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_MACHINE);
+    }
+
+    public static int threadGen(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_THREAD_GEN);
+    }
+
+    public static int seq(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_SEQ);
+    }
+
+    public static int coreId(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_CORE);
+    }
+
+    public static int tid(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_TID);
+    }
+
+    public static int mix(final MemorySegment s, final long o) {
+        return s.get(I32, o + OFF_MIX);
+    }
+
+    public static boolean verify(final MemorySegment s, final long o) {
+        return mix(s, o) == calcOrderedMix(timeNanos(s, o), machineId(s, o), threadGen(s, o), seq(s, o),
+                coreId(s, o), tid(s, o));
+    }
+
+    /**
+     * Порядок генерации: побайтовое сравнение без знака.
+     *
+     * @return отрицательное, ноль или положительное, как {@link Comparable#compareTo}
+     */
+    public static int compare(final MemorySegment a, final long aOff, final MemorySegment b, final long bOff) {
+        // 4 слова big-endian: сравнение u64 без знака = побайтовое сравнение
+        for (int i = 0; i < LEN; i += Long.BYTES) {
+            final int c = Long.compareUnsigned(a.get(L64, aOff + i), b.get(L64, bOff + i));
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    // --- byte[] ---
+    public static long timeNanos(final byte[] a, final int o) {
+        return (long) A64.get(a, o + OFF_TIME);
+    }
+
+    public static int machineId(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_MACHINE);
+    }
+
+    public static int threadGen(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_THREAD_GEN);
+    }
+
+    public static int seq(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_SEQ);
+    }
+
+    public static int coreId(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_CORE);
+    }
+
+    public static int tid(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_TID);
+    }
+
+    public static int mix(final byte[] a, final int o) {
+        return (int) A32.get(a, o + OFF_MIX);
+    }
+
+    public static boolean verify(final byte[] a, final int o) {
+        return mix(a, o) == calcOrderedMix(timeNanos(a, o), machineId(a, o), threadGen(a, o), seq(a, o),
+                coreId(a, o), tid(a, o));
+    }
+
+    /**
+     * @see #compare(MemorySegment, long, MemorySegment, long)
+     */
+    public static int compare(final byte[] a, final int aOff, final byte[] b, final int bOff) {
+        return Arrays.compareUnsigned(a, aOff, aOff + LEN, b, bOff, bOff + LEN);
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.read;
+
+import static pathcreator.proxy.uid.layout.Uid64Layout.*;
+
+/**
+ * Разбор UID64 ({@link pathcreator.proxy.uid.layout.Uid64Layout}). Сравнение — обычное {@link Long#compare(long, long)}.
+ *
+ * @since 1.0
+ */
+public final class Uid64Reader {
+
+    private Uid64Reader() {
+    }
+
+    /**
+     * {@return Unix-время генерации в миллисекундах}
+     */
+    public static long epochMillis(final long id) {
+        return (id >>> TIME_SHIFT) + EPOCH_MILLIS;
+    }
+
+    public static int node(final long id) {
+        return (int) (id >>> NODE_SHIFT & NODE_MASK);
+    }
+
+    public static int seq(final long id) {
+        return (int) (id & SEQ_MASK);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.sort;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Сортировка и слияние больших массивов UID32, лежащих подряд по 32 байта в сегменте, без объектов на запись.
+ *
+ * <h2>Поразрядная сортировка</h2>
+ * LSD по байтовым разрядам ключа ({@link Uid32SortKey}) с двумя буферами: данные и временный сегмент того же
+ * размера меняются ролями на каждом проходе, при нечётном числе проходов результат копируется обратно.
+ * Гистограммы всех разрядов строятся одним чтением; разряд, у которого все записи в одной корзине
+ * (старшие байты {@code tsc}, общий {@code machineId}), пропускается. Сортировка устойчива,
+ * время — {@code O(n · разрядов)}, без сравнений.
+ *
+ * <h2>Параллельно</h2>
+ * {@code parallelSort} делит записи на куски по потокам {@link ForkJoinPool#commonPool()}: каждый кусок
+ * считает свою гистограмму разряда и раскладывает свои записи в собственные окна корзин — порядок
+ * и устойчивость те же. Сегменты должны быть доступны из других потоков ({@link Arena#ofShared()},
+ * {@link Arena#ofAuto()}, {@link Arena#global()}, отображённый файл).
+ *
+ * <h2>Слияние</h2>
+ * {@link #merge} сливает уже отсортированные прогоны (например, партиции) двоичной кучей по головам прогонов;
+ * при равных ключах раньше идёт прогон с меньшим индексом.
+ *
+ * @since 1.0
+ */
+public final class Uid32Sort {
+
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final int RADIX = 256;
+    // меньше — накладные расходы параллельного прохода больше выигрыша
+    private static final long MIN_PARALLEL_CHUNK = 1 << 16;
+
+    private Uid32Sort() {
+    }
+
+    /**
+     * Сортирует UID в {@code data} (размер кратен 32); временный буфер выделяется и освобождается внутри.
+     */
+    public static void sort(final MemorySegment data, final Uid32SortKey key) {
+        try (Arena arena = Arena.ofConfined()) {
+            sort(data, key, arena.allocate(data.byteSize(), 8));
+        }
+    }
+
+    /**
+     * Сортирует UID в {@code data}, используя {@code tmp} (не меньше {@code data}) как второй буфер.
+     *
+     * @throws IllegalArgumentException если размер {@code data} не кратен 32 или {@code tmp} меньше {@code data}
+     */
+    public static void sort(final MemorySegment data, final Uid32SortKey key, final MemorySegment tmp) {
+        final long n = count(data, tmp);
+        final int[] digits = key.digits;
+        final long[] hist = new long[digits.length * RADIX];
+        histogram(data, 0, n, digits, hist);
+        MemorySegment src = data, dst = tmp;
+        final long[] next = new long[RADIX];
+        for (int d = 0; d < digits.length; d++) {
+            if (trivial(hist, d, n)) continue;
+            long sum = 0;
+            for (int b = 0; b < RADIX; b++) {
+                next[b] = sum;
+                sum += hist[d * RADIX + b];
+            }
+            scatter(src, dst, 0, n, digits[d], next);
+            final MemorySegment t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != data) MemorySegment.copy(src, 0, data, 0, n * LEN);
+    }
+
+    /**
+     * Параллельная {@link #sort(MemorySegment, Uid32SortKey)}; временный буфер — в {@link Arena#ofShared()}.
+     */
+    public static void parallelSort(final MemorySegment data, final Uid32SortKey key) {
+        try (Arena arena = Arena.ofShared()) {
+            parallelSort(data, key, arena.allocate(data.byteSize(), 8));
+        }
+    }
+
+    /**
+     * Параллельная {@link #sort(MemorySegment, Uid32SortKey, MemorySegment)}. Малые массивы сортируются в вызывающем потоке.
+     */
+    public static void parallelSort(final MemorySegment data, final Uid32SortKey key, final MemorySegment tmp) {
+        final long n = count(data, tmp);
+        final int chunks = (int) Math.min(ForkJoinPool.getCommonPoolParallelism(), n / MIN_PARALLEL_CHUNK);
+        if (chunks < 2) {
+            sort(data, key, tmp);
+            return;
+        }
+        final int[] digits = key.digits;
+        final long[] bounds = new long[chunks + 1];
+        for (int c = 0; c <= chunks; c++) bounds[c] = n * c / chunks;
+        // гистограммы всех разрядов по кускам исходного порядка — для первого прохода и пропуска разрядов
+        final long[][] local = new long[chunks][digits.length * RADIX];
+        IntStream.range(0, chunks).parallel().forEach(c -> histogram(data, bounds[c], bounds[c + 1], digits, local[c]));
+        final long[] hist = new long[digits.length * RADIX];
+        for (final long[] h : local) for (int i = 0; i < hist.length; i++) hist[i] += h[i];
+
+        final long[][] next = new long[chunks][RADIX];
+        MemorySegment src = data, dst = tmp;
+        boolean first = true;
+        for (int d = 0; d < digits.length; d++) {
+            if (trivial(hist, d, n)) continue;
+            final int digit = digits[d];
+            final MemorySegment s = src;
+            final long[][] counts;
+            if (first) {
+                counts = new long[chunks][];
+                for (int c = 0; c < chunks; c++) counts[c] = Arrays.copyOfRange(local[c], d * RADIX, (d + 1) * RADIX);
+            } else {
+                counts = new long[chunks][RADIX];
+                IntStream.range(0, chunks).parallel().forEach(c -> {
+                    for (long r = bounds[c]; r < bounds[c + 1]; r++) counts[c][s.get(JAVA_BYTE, r * LEN + digit) & 0xFF]++;
+                });
+            }
+            long sum = 0;
+            for (int b = 0; b < RADIX; b++) {
+                for (int c = 0; c < chunks; c++) {
+                    next[c][b] = sum;
+                    sum += counts[c][b];
+                }
+            }
+            final MemorySegment t = dst;
+            IntStream.range(0, chunks).parallel().forEach(c -> scatter(s, t, bounds[c], bounds[c + 1], digit, next[c]));
+            src = dst;
+            dst = s;
+            first = false;
+        }
+        if (src != data) {
+            final MemorySegment s = src;
+            IntStream.range(0, chunks).parallel().forEach(c ->
+                    MemorySegment.copy(s, bounds[c] * LEN, data, bounds[c] * LEN, (bounds[c + 1] - bounds[c]) * LEN));
+        }
+    }
+
+    /**
+     * Сливает отсортированные по {@code key} прогоны в {@code dst} начиная с {@code dstOff}.
+     *
+     * @param runs прогоны; размер каждого кратен 32
+     * @return число записанных UID
+     * @throws IllegalArgumentException  если размер прогона не кратен 32
+     * @throws IndexOutOfBoundsException если результат не помещается в {@code dst}
+     */
+    public static long merge(final MemorySegment[] runs, final MemorySegment dst, final long dstOff, final Uid32SortKey key) {
+        final int k = runs.length;
+        final long[] pos = new long[k];
+        final long[] end = new long[k];
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            end[i] = count(runs[i], runs[i]) * LEN;
+            total += end[i];
+        }
+        Objects.checkFromIndexSize(dstOff, total, dst.byteSize());
+        // куча индексов непустых прогонов по их головам
+        final int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < k; i++) if (end[i] > 0) heap[size++] = i;
+        for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, size, i, runs, pos, key);
+        long o = dstOff;
+        while (size > 0) {
+            final int r = heap[0];
+            copyRecord(runs[r], pos[r], dst, o);
+            o += LEN;
+            pos[r] += LEN;
+            if (pos[r] == end[r]) heap[0] = heap[--size];
+            siftDown(heap, size, 0, runs, pos, key);
+        }
+        return total / LEN;
+    }
+
+    // ---------------------------------------------------------------------
+    // внутреннее
+    // ---------------------------------------------------------------------
+
+    private static long count(final MemorySegment data, final MemorySegment tmp) {
+        final long bytes = data.byteSize();
+        if (bytes % LEN != 0) throw new IllegalArgumentException("Segment size is not a multiple of " + LEN + ": " + bytes);
+        if (tmp.byteSize() < bytes) throw new IllegalArgumentException("tmp smaller than data: " + tmp.byteSize() + " < " + bytes);
+        return bytes / LEN;
+    }
+
+    private static void histogram(final MemorySegment s, final long from, final long to, final int[] digits, final long[] hist) {
+        for (long r = from; r < to; r++) {
+            final long base = r * LEN;
+            for (int d = 0; d < digits.length; d++) hist[d * RADIX + (s.get(JAVA_BYTE, base + digits[d]) & 0xFF)]++;
+        }
+    }
+
+    private static boolean trivial(final long[] hist, final int d, final long n) {
+        for (int b = 0; b < RADIX; b++) {
+            final long c = hist[d * RADIX + b];
+            if (c != 0) return c == n;
+        }
+        return true;
+    }
+
+    /**
+     * Раскладывает записи {@code [from, to)} из {@code src} в {@code dst} по разряду; {@code next} — следующая позиция корзины.
+     */
+    private static void scatter(final MemorySegment src, final MemorySegment dst, final long from, final long to,
+                                final int digit, final long[] next) {
+        for (long r = from; r < to; r++) {
+            final long s = r * LEN;
+            copyRecord(src, s, dst, next[src.get(JAVA_BYTE, s + digit) & 0xFF]++ * LEN);
+        }
+    }
+
+    private static void copyRecord(final MemorySegment src, final long s, final MemorySegment dst, final long d) {
+        dst.set(L64, d, src.get(L64, s));
+        dst.set(L64, d + 8, src.get(L64, s + 8));
+        dst.set(L64, d + 16, src.get(L64, s + 16));
+        dst.set(L64, d + 24, src.get(L64, s + 24));
+    }
+
+    private static void siftDown(final int[] heap, final int size, int i, final MemorySegment[] runs, final long[] pos,
+                                 final Uid32SortKey key) {
+        final int x = heap[i];
+        for (int c; (c = 2 * i + 1) < size; i = c) {
+            if (c + 1 < size && less(heap[c + 1], heap[c], runs, pos, key)) c++;
+            if (!less(heap[c], x, runs, pos, key)) break;
+            heap[i] = heap[c];
+        }
+        heap[i] = x;
+    }
+
+    private static boolean less(final int a, final int b, final MemorySegment[] runs, final long[] pos, final Uid32SortKey key) {
+        final int c = key.compare(runs[a], pos[a], runs[b], pos[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+}
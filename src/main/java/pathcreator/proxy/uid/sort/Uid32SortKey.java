@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.sort;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT_UNALIGNED;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static pathcreator.proxy.uid.layout.Uid32Layout.*;
+
+/**
+ * Ключ сортировки UID32: либо поля {@link pathcreator.proxy.uid.layout.Uid32Layout} по порядку значимости
+ * (значения native order, сравнение без знака), либо {@link #RAW} — байты UID как есть, лексикографически
+ * без знака (для {@link pathcreator.proxy.uid.layout.Uid32OrderedLayout} это порядок по времени).
+ * <p>
+ * Для поразрядной сортировки ключ разложен на байтовые разряды — смещения байтов внутри 32-байтовой записи
+ * от младшего разряда к старшему.
+ *
+ * @since 1.0
+ */
+public final class Uid32SortKey {
+
+    /**
+     * Поле обычного формата UID32.
+     */
+    public enum Field {
+        TSC(OFF_TSC, 8),
+        STACK_PTR(OFF_STACK, 8),
+        MACHINE_ID(OFF_MACHINE, 4),
+        CORE_ID(OFF_CORE, 4),
+        TID(OFF_TID, 4),
+        MIX(OFF_MIX, 4);
+
+        final int offset;
+        final int size;
+
+        Field(final int offset, final int size) {
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+
+    private static final boolean LE = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final ValueLayout.OfLong L64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final ValueLayout.OfInt I32 = JAVA_INT_UNALIGNED.withOrder(ByteOrder.nativeOrder());
+    private static final ValueLayout.OfLong BE64 = JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Байты UID как есть.
+     */
+    public static final Uid32SortKey RAW = new Uid32SortKey(null);
+
+    /**
+     * {@code (tsc, machineId)}.
+     */
+    public static final Uid32SortKey TSC_MACHINE = of(Field.TSC, Field.MACHINE_ID);
+
+    private final Field[] fields;
+    final int[] digits;
+
+    private Uid32SortKey(final Field[] fields) {
+        this.fields = fields;
+        if (fields == null) {
+            digits = new int[LEN];
+            for (int d = 0; d < LEN; d++) digits[d] = LEN - 1 - d;
+            return;
+        }
+        int n = 0;
+        for (final Field f : fields) n += f.size;
+        digits = new int[n];
+        int d = 0;
+        for (int k = fields.length - 1; k >= 0; k--) {
+            final Field f = fields[k];
+            for (int b = 0; b < f.size; b++) digits[d++] = f.offset + (LE ? b : f.size - 1 - b);
+        }
+    }
+
+    /**
+     * {@return ключ из полей по убыванию значимости}
+     *
+     * @throws IllegalArgumentException если полей нет или поле повторяется
+     */
+    public static Uid32SortKey of(final Field... fields) {
+        if (fields.length == 0) throw new IllegalArgumentException("No fields");
+        for (int i = 0; i < fields.length; i++) {
+            Objects.requireNonNull(fields[i], "field");
+            for (int j = 0; j < i; j++) {
+                if (fields[i] == fields[j]) throw new IllegalArgumentException("Duplicate field " + fields[i]);
+            }
+        }
+        return new Uid32SortKey(fields.clone());
+    }
+
+    /**
+     * Сравнивает UID {@code a[ao .. ao + 32)} и {@code b[bo .. bo + 32)} по ключу.
+     */
+    public int compare(final MemorySegment a, final long ao, final MemorySegment b, final long bo) {
+        if (fields == null) {
+            for (int w = 0; w < LEN; w += 8) {
+                final int c = Long.compareUnsigned(a.get(BE64, ao + w), b.get(BE64, bo + w));
+                if (c != 0) return c;
+            }
+            return 0;
+        }
+        for (final Field f : fields) {
+            final int c = f.size == 8
+                    ? Long.compareUnsigned(a.get(L64, ao + f.offset), b.get(L64, bo + f.offset))
+                    : Integer.compareUnsigned(a.get(I32, ao + f.offset), b.get(I32, bo + f.offset));
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "RAW" : Arrays.toString(fields);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.stripe;
+
+import pathcreator.proxy.uid.internal.Uid32Backend;
+
+/**
+ * Номер ядра, на котором выполняется поток, — примитив для разбиения по ядрам вместо хеша потока.
+ * <p>
+ * У нативной реализации — {@code sched_getcpu()} (glibc ≥ 2.35 читает его из rseq, без syscall)
+ * или {@code GetCurrentProcessorNumber()}, один критический downcall. Потоки одного ядра попадают в одну полосу,
+ * поэтому полоса не мигрирует между кэшами и сокетами вместе с потоками. Без нативной библиотеки
+ * ({@code -Duid32.impl=java}) — {@code threadId % availableProcessors}, то есть обычное разбиение по потоку.
+ * <p>
+ * Поток может сменить ядро сразу после вызова: значение — подсказка, структуры поверх него
+ * остаются корректными при любом ответе и только теряют локальность.
+ *
+ * @see CoreStripedCounter
+ * @see CoreStripedPool
+ * @since 1.0
+ */
+public final class CoreId {
+
+    private static final int COUNT = Math.max(1, Uid32Backend.coreCount());
+
+    private CoreId() {
+    }
+
+    /**
+     * {@return номер текущего ядра, {@code [0, count())} в обычном случае}
+     */
+    public static int current() {
+        return Uid32Backend.currentCore();
+    }
+
+    /**
+     * {@return число номеров ядер системы (все сконфигурированные CPU, не только доступные процессу)}
+     */
+    public static int count() {
+        return COUNT;
+    }
+
+    /**
+     * {@return число полос по умолчанию: степень двойки не меньше {@link #count()}}
+     */
+    static int defaultStripes() {
+        return COUNT == 1 ? 1 : Integer.highestOneBit(COUNT - 1) << 1;
+    }
+}
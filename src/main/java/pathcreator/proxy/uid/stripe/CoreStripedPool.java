@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.stripe;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Пул объектов (буферов, кодировщиков, {@link java.lang.foreign.MemorySegment}) с небольшим запасом на каждое ядро.
+ * <p>
+ * {@link #acquire()} и {@link #release(Object)} работают с полосой текущего ядра ({@link CoreId#current()}):
+ * объект, освобождённый на ядре, там же и берётся — его линии ещё в кэше этого ядра, а полосы разных ядер
+ * не делят кэш-линии. Слоты полосы — ячейки массива, которые занимаются и освобождаются CAS-ом, без блокировок.
+ * <p>
+ * Если в полосе нет объекта, он создаётся фабрикой ({@link #misses()}); если полоса полна, освобождённый
+ * объект отбрасывается ({@link #drops()}). Объекты из чужих полос не забираются: это снова дало бы
+ * межъядерный трафик, который пул и убирает.
+ *
+ * @param <T> тип объектов
+ * @since 1.0
+ */
+public final class CoreStripedPool<T> {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    // 32 ссылки — не меньше 128 байт между полосами при любом размере ссылки
+    private static final int PAD = 32;
+
+    private final Supplier<? extends T> factory;
+    private final Object[] slots;
+    private final int perCore;
+    private final int stride;
+    private final int mask;
+    private final CoreStripedCounter misses = new CoreStripedCounter();
+    private final CoreStripedCounter drops = new CoreStripedCounter();
+
+    /**
+     * @param factory фабрика объектов, когда в полосе пусто
+     * @param perCore сколько свободных объектов держит одна полоса
+     * @throws IllegalArgumentException если {@code perCore} вне {@code [1, 1024]}
+     */
+    public CoreStripedPool(final Supplier<? extends T> factory, final int perCore) {
+        if (perCore < 1 || perCore > 1024) throw new IllegalArgumentException("perCore out of [1, 1024]: " + perCore);
+        this.factory = Objects.requireNonNull(factory, "factory");
+        final int stripes = CoreId.defaultStripes();
+        this.perCore = perCore;
+        this.stride = perCore + PAD;
+        this.mask = stripes - 1;
+        this.slots = new Object[PAD + stripes * stride];
+    }
+
+    /**
+     * {@return свободный объект полосы текущего ядра или новый от фабрики}
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        final int base = base();
+        for (int i = base; i < base + perCore; i++) {
+            final Object o = SLOTS.getAcquire(slots, i);
+            if (o != null && SLOTS.compareAndSet(slots, i, o, null)) return (T) o;
+        }
+        misses.increment();
+        return factory.get();
+    }
+
+    /**
+     * Возвращает объект в полосу текущего ядра. Объект не должен использоваться после вызова.
+     *
+     * @return {@code false}, если полоса полна и объект отброшен
+     */
+    public boolean release(final T value) {
+        Objects.requireNonNull(value, "value");
+        final int base = base();
+        for (int i = base; i < base + perCore; i++) {
+            if (SLOTS.getAcquire(slots, i) == null && SLOTS.compareAndSet(slots, i, null, value)) return true;
+        }
+        drops.increment();
+        return false;
+    }
+
+    /**
+     * {@return сколько объектов создано фабрикой из-за пустой полосы}
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * {@return сколько освобождённых объектов отброшено из-за полной полосы}
+     */
+    public long drops() {
+        return drops.sum();
+    }
+
+    private int base() {
+        return PAD + (CoreId.current() & mask) * stride;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.text;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static pathcreator.proxy.uid.layout.Uid32Layout.LEN;
+
+/**
+ * Текстовые представления UID32 без аллокаций: запись прямо в {@code byte[]} (ASCII), {@code char[]}
+ * или {@link MemorySegment} вызывающего и разбор обратно в буфер UID.
+ *
+ * <h2>Кодировки</h2>
+ * Все три — поток бит UID big-endian, нарезанный группами по {@code bits}; последняя группа добита нулями:
+ * <pre>
+ *  Кодировка   Бит/символ  Символов  Алфавит
+ *  ----------  ----------  --------  -------------------------------------------
+ *  HEX              4         64     0-9 a-f (разбор — без учёта регистра)
+ *  BASE32           5         52     Crockford: 0-9 A-Z без I L O U (разбор — без учёта регистра, I/L → 1, O → 0)
+ *  BASE64URL        6         43     RFC 4648 §5, без '='
+ * </pre>
+ * HEX и BASE32 сохраняют порядок: строки сравниваются так же, как байты UID
+ * (для {@link pathcreator.proxy.uid.layout.Uid32OrderedLayout} — по времени).
+ *
+ * <h2>Разбор</h2>
+ * Строгий: недопустимый символ или ненулевые биты добивки в последнем символе —
+ * {@link IllegalArgumentException}, у UID ровно одна запись в каждой кодировке. При ошибке приёмник
+ * может быть заполнен частично.
+ *
+ * <h2>HEX на Vector API</h2>
+ * Запись HEX в {@code byte[]}/{@link MemorySegment} при ширине векторов от 256 бит: UID читается одним
+ * вектором, байты дублируются {@code rearrange}, полубайты превращаются в символы {@code selectFrom}
+ * по таблице — два вектора по 32 символа. Требует {@code --add-modules jdk.incubator.vector}.
+ *
+ * @since 1.0
+ */
+public enum Uid32Encoding {
+
+    HEX(4, "0123456789abcdef", true, ""),
+    BASE32(5, "0123456789ABCDEFGHJKMNPQRSTVWXYZ", true, "I1L1O0"),
+    BASE64URL(6, "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_", false, "");
+
+    private static final VectorSpecies<Byte> B256 = ByteVector.SPECIES_256;
+    private static final boolean SIMD = ByteVector.SPECIES_PREFERRED.vectorBitSize() >= 256;
+    private static final ByteVector HEX_TABLE =
+            ByteVector.fromArray(B256, "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII), 0);
+    // старший полубайт — в чётный символ, младший — в нечётный
+    private static final ByteVector NIBBLE_SHIFT = ByteVector.fromArray(B256, nibbleShifts(), 0);
+    private static final VectorShuffle<Byte> DUP_LO = VectorShuffle.fromOp(B256, i -> i >>> 1);
+    private static final VectorShuffle<Byte> DUP_HI = VectorShuffle.fromOp(B256, i -> 16 + (i >>> 1));
+
+    private final int bits;
+    private final int mask;
+    private final int length;
+    private final byte[] alphabet;
+    private final byte[] values = new byte[128];
+
+    Uid32Encoding(final int bits, final String alphabet, final boolean ignoreCase, final String aliases) {
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.length = (LEN * 8 + bits - 1) / bits;
+        this.alphabet = alphabet.getBytes(StandardCharsets.US_ASCII);
+        Arrays.fill(values, (byte) -1);
+        for (int v = 0; v < this.alphabet.length; v++) {
+            final char c = alphabet.charAt(v);
+            values[c] = (byte) v;
+            if (ignoreCase) values[Character.toLowerCase(c)] = values[Character.toUpperCase(c)] = (byte) v;
+        }
+        for (int i = 0; i < aliases.length(); i += 2) {
+            final byte v = values[aliases.charAt(i + 1)];
+            values[aliases.charAt(i)] = values[Character.toLowerCase(aliases.charAt(i))] = v;
+        }
+    }
+
+    /**
+     * {@return длина текста UID32 в символах}
+     */
+    public int length() {
+        return length;
+    }
+
+    // ---------------------------------------------------------------------
+    // запись
+    // ---------------------------------------------------------------------
+
+    /**
+     * Пишет текст UID из {@code src[srcOff .. srcOff + 32)} в {@code dst} как ASCII-байты.
+     *
+     * @return число записанных символов, {@link #length()}
+     * @throws IndexOutOfBoundsException если не хватает места в {@code src} или {@code dst}
+     */
+    public int encode(final MemorySegment src, final long srcOff, final MemorySegment dst, final long dstOff) {
+        Objects.checkFromIndexSize(srcOff, LEN, src.byteSize());
+        Objects.checkFromIndexSize(dstOff, length, dst.byteSize());
+        if (this == HEX && SIMD) {
+            final ByteVector v = ByteVector.fromMemorySegment(B256, src, srcOff, ByteOrder.nativeOrder());
+            hexChars(v.rearrange(DUP_LO)).intoMemorySegment(dst, dstOff, ByteOrder.nativeOrder());
+            hexChars(v.rearrange(DUP_HI)).intoMemorySegment(dst, dstOff + 32, ByteOrder.nativeOrder());
+            return length;
+        }
+        for (int i = 0; i < length; i++) dst.set(JAVA_BYTE, dstOff + i, alphabet[digit(src, srcOff, i)]);
+        return length;
+    }
+
+    public int encode(final byte[] src, final int srcOff, final byte[] dst, final int dstOff) {
+        return encode(MemorySegment.ofArray(src), srcOff, MemorySegment.ofArray(dst), dstOff);
+    }
+
+    /**
+     * Пишет текст UID в {@code dst[dstOff .. dstOff + length())}.
+     *
+     * @return число записанных символов, {@link #length()}
+     * @throws IndexOutOfBoundsException если не хватает места в {@code src} или {@code dst}
+     */
+    public int encode(final MemorySegment src, final long srcOff, final char[] dst, final int dstOff) {
+        Objects.checkFromIndexSize(srcOff, LEN, src.byteSize());
+        Objects.checkFromIndexSize(dstOff, length, dst.length);
+        for (int i = 0; i < length; i++) dst[dstOff + i] = (char) alphabet[digit(src, srcOff, i)];
+        return length;
+    }
+
+    public int encode(final byte[] src, final int srcOff, final char[] dst, final int dstOff) {
+        return encode(MemorySegment.ofArray(src), srcOff, dst, dstOff);
+    }
+
+    // ---------------------------------------------------------------------
+    // разбор
+    // ---------------------------------------------------------------------
+
+    /**
+     * Разбирает {@link #length()} символов {@code src} начиная с {@code srcOff} в 32 байта UID.
+     *
+     * @throws IllegalArgumentException  если символ недопустим или биты добивки не нулевые
+     * @throws IndexOutOfBoundsException если текст короче {@link #length()} или в {@code dst} нет 32 байт
+     */
+    public void decode(final CharSequence src, final int srcOff, final MemorySegment dst, final long dstOff) {
+        Objects.checkFromIndexSize(srcOff, length, src.length());
+        Objects.checkFromIndexSize(dstOff, LEN, dst.byteSize());
+        long acc = 0;
+        int n = 0;
+        long o = dstOff;
+        for (int i = 0; i < length; i++) {
+            acc = acc << bits | value(src.charAt(srcOff + i), i);
+            if ((n += bits) >= 8) dst.set(JAVA_BYTE, o++, (byte) (acc >>> (n -= 8)));
+        }
+        checkPadding(acc, n);
+    }
+
+    public void decode(final CharSequence src, final int srcOff, final byte[] dst, final int dstOff) {
+        decode(src, srcOff, MemorySegment.ofArray(dst), dstOff);
+    }
+
+    /**
+     * @see #decode(CharSequence, int, MemorySegment, long)
+     */
+    public void decode(final char[] src, final int srcOff, final MemorySegment dst, final long dstOff) {
+        Objects.checkFromIndexSize(srcOff, length, src.length);
+        Objects.checkFromIndexSize(dstOff, LEN, dst.byteSize());
+        long acc = 0;
+        int n = 0;
+        long o = dstOff;
+        for (int i = 0; i < length; i++) {
+            acc = acc << bits | value(src[srcOff + i], i);
+            if ((n += bits) >= 8) dst.set(JAVA_BYTE, o++, (byte) (acc >>> (n -= 8)));
+        }
+        checkPadding(acc, n);
+    }
+
+    public void decode(final char[] src, final int srcOff, final byte[] dst, final int dstOff) {
+        decode(src, srcOff, MemorySegment.ofArray(dst), dstOff);
+    }
+
+    /**
+     * Разбор ASCII-текста из сегмента (например, буфера HTTP-заголовков).
+     *
+     * @see #decode(CharSequence, int, MemorySegment, long)
+     */
+    public void decode(final MemorySegment src, final long srcOff, final MemorySegment dst, final long dstOff) {
+        Objects.checkFromIndexSize(srcOff, length, src.byteSize());
+        Objects.checkFromIndexSize(dstOff, LEN, dst.byteSize());
+        long acc = 0;
+        int n = 0;
+        long o = dstOff;
+        for (int i = 0; i < length; i++) {
+            acc = acc << bits | value((char) (src.get(JAVA_BYTE, srcOff + i) & 0xFF), i);
+            if ((n += bits) >= 8) dst.set(JAVA_BYTE, o++, (byte) (acc >>> (n -= 8)));
+        }
+        checkPadding(acc, n);
+    }
+
+    public void decode(final byte[] src, final int srcOff, final byte[] dst, final int dstOff) {
+        decode(MemorySegment.ofArray(src), srcOff, MemorySegment.ofArray(dst), dstOff);
+    }
+
+    // ---------------------------------------------------------------------
+    // внутреннее
+    // ---------------------------------------------------------------------
+
+    /**
+     * Группа {@code i}: {@code bits} бит с позиции {@code i * bits}, окно — два соседних байта (за концом — нули).
+     */
+    private int digit(final MemorySegment src, final long off, final int i) {
+        final int b = i * bits;
+        final int p = b >>> 3;
+        int w = (src.get(JAVA_BYTE, off + p) & 0xFF) << 8;
+        if (p + 1 < LEN) w |= src.get(JAVA_BYTE, off + p + 1) & 0xFF;
+        return w >>> (16 - (b & 7) - bits) & mask;
+    }
+
+    private int value(final char c, final int pos) {
+        final int v = c < 128 ? values[c] : -1;
+        if (v < 0) throw new IllegalArgumentException("Invalid " + name() + " character '" + c + "' at " + pos);
+        return v;
+    }
+
+    private void checkPadding(final long acc, final int n) {
+        if ((acc & ((1L << n) - 1)) != 0) throw new IllegalArgumentException("Non-canonical " + name() + " UID: padding bits set");
+    }
+
+    private static ByteVector hexChars(final ByteVector dup) {
+        return dup.lanewise(VectorOperators.LSHR, NIBBLE_SHIFT).and((byte) 0x0F).selectFrom(HEX_TABLE);
+    }
+
+    private static byte[] nibbleShifts() {
+        final byte[] s = new byte[32];
+        for (int i = 0; i < s.length; i += 2) s[i] = 4;
+        return s;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.time;
+
+import java.time.Instant;
+
+/**
+ * Линейная привязка счётчика поля {@code tsc} UID32 одной машины к Unix-времени:
+ * {@code epochNanos = epochNanos0 + (tsc - tsc0) / ticksPerNano}.
+ * <p>
+ * Строится {@link TscCalibrator}; неизменяема и привязана к {@code machineId}, поэтому её можно
+ * хранить и передавать вместе с идентификатором машины и применять к UID, сгенерированным на ней.
+ *
+ * <h2>Точность</h2>
+ * Предполагается инвариантный TSC, синхронный между ядрами (x86 c {@code constant_tsc}/{@code nonstop_tsc},
+ * {@code cntvct_el0} на aarch64). Ошибка растёт с удалением от {@code tsc0}: частота известна с точностью
+ * окна калибровки, а системные часы подстраиваются NTP — держите калибровку свежей
+ * ({@link TscCalibrator#startPeriodic(java.time.Duration)}). Перезагрузка машины сбрасывает TSC:
+ * калибровка действительна только для UID, выданных после загрузки, в которую она снята.
+ *
+ * <h2>Java-реализация генератора</h2>
+ * При {@code -Duid32.impl=java} поле {@code tsc} — {@link System#nanoTime()}, начало отсчёта которого
+ * своё у каждой JVM. Такая калибровка верна только для UID процесса {@link #pid()}, а не для всей машины:
+ * {@link #isProcessLocal()} — {@code true}, и {@link TscCalibrator#register} не принимает её из другого
+ * процесса. UID других процессов той же машины отличить по полям нельзя — в смешанном потоке UID
+ * от Java-реализации время по калибровке не восстанавливается.
+ *
+ * @param machineId    машина, для которой снята калибровка
+ * @param tsc0         значение счётчика в опорной точке
+ * @param epochNanos0  Unix-время опорной точки, нс
+ * @param ticksPerNano частота счётчика, тиков на наносекунду
+ * @param pid          процесс, к которому привязан счётчик, или {@link #MACHINE_WIDE} для аппаратного TSC
+ * @since 1.0
+ */
+public record TscCalibration(int machineId, long tsc0, long epochNanos0, double ticksPerNano, long pid) {
+
+    /**
+     * {@link #pid()} калибровки аппаратного счётчика, общего для всех процессов машины.
+     */
+    public static final long MACHINE_WIDE = 0;
+
+    public TscCalibration {
+        if (!(ticksPerNano > 0) || Double.isInfinite(ticksPerNano)) {
+            throw new IllegalArgumentException("ticksPerNano must be positive: " + ticksPerNano);
+        }
+        if (pid < 0) throw new IllegalArgumentException("pid < 0: " + pid);
+    }
+
+    /**
+     * Калибровка аппаратного счётчика ({@link #MACHINE_WIDE}).
+     */
+    public TscCalibration(final int machineId, final long tsc0, final long epochNanos0, final double ticksPerNano) {
+        this(machineId, tsc0, epochNanos0, ticksPerNano, MACHINE_WIDE);
+    }
+
+    /**
+     * {@return {@code true}, если счётчик — {@code nanoTime} одного процесса (Java-реализация генератора)}
+     */
+    public boolean isProcessLocal() {
+        return pid != MACHINE_WIDE;
+    }
+
+    /**
+     * {@return Unix-время в наносекундах для значения {@code tsc}}
+     */
+    public long toEpochNanos(final long tsc) {
+        return epochNanos0 + Math.round((tsc - tsc0) / ticksPerNano);
+    }
+
+    public Instant toInstant(final long tsc) {
+        final long n = toEpochNanos(tsc);
+        return Instant.ofEpochSecond(Math.floorDiv(n, 1_000_000_000L), Math.floorMod(n, 1_000_000_000L));
+    }
+
+    /**
+     * {@return значение счётчика, соответствующее Unix-времени {@code epochNanos}}
+     */
+    public long toTsc(final long epochNanos) {
+        return tsc0 + Math.round((epochNanos - epochNanos0) * ticksPerNano);
+    }
+
+    public long toTsc(final Instant t) {
+        return toTsc(epochNanos(t));
+    }
+
+    /**
+     * Границы {@code tsc} для полуинтервала времени {@code [from, to)} на этой машине.
+     */
+    public TscRange range(final Instant from, final Instant to) {
+        return range(epochNanos(from), epochNanos(to));
+    }
+
+    public TscRange range(final long fromEpochNanos, final long toEpochNanos) {
+        if (toEpochNanos < fromEpochNanos) {
+            throw new IllegalArgumentException("to < from: " + toEpochNanos + " < " + fromEpochNanos);
+        }
+        return new TscRange(machineId, toTsc(fromEpochNanos), toTsc(toEpochNanos));
+    }
+
+    static long epochNanos(final Instant t) {
+        return Math.addExact(Math.multiplyExact(t.getEpochSecond(), 1_000_000_000L), t.getNano());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.time;
+
+import pathcreator.proxy.uid.internal.Uid32Backend;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Калибровка счётчика поля {@code tsc} UID32 по часам и реестр калибровок по {@code machineId}.
+ *
+ * <h2>Как снимается</h2>
+ * Опорная точка — тройка {@code (tsc, nanoTime, epochNanos)}: счётчик читается между двумя
+ * {@link System#nanoTime()}, из {@value #TRIES} попыток берётся самая узкая «вилка»; смещение
+ * {@code nanoTime → Unix-время} снимается так же вокруг {@link Instant#now()}. Частота — по двум точкам,
+ * разнесённым на окно калибровки; опорной становится последняя точка.
+ *
+ * <h2>Периодически</h2>
+ * {@link #startPeriodic(Duration)} пересчитывает калибровку в фоновом daemon-потоке: частота — от первой
+ * точки запуска (база растёт, ошибка частоты падает), опора — свежая точка (учитывает подстройку часов NTP).
+ *
+ * <h2>Реестр</h2>
+ * Локальные калибровки регистрируются под текущим {@code machineId} ({@code Uid32.setMachineId} вызывайте
+ * раньше), калибровки других машин — через {@link #register(TscCalibration)}; поиск — {@link #forMachine(int)}.
+ * <p>
+ * С Java-реализацией генератора ({@code -Duid32.impl=java}) счётчик — {@link System#nanoTime()} этой JVM:
+ * калибровка помечается процессом ({@link TscCalibration#isProcessLocal()}) и годится только для UID,
+ * выданных этим процессом, а не другими процессами с тем же {@code machineId}.
+ *
+ * @since 1.0
+ */
+public final class TscCalibrator {
+
+    /**
+     * Окно калибровки по умолчанию.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(50);
+
+    private static final int TRIES = 16;
+
+    private static final ConcurrentHashMap<Integer, TscCalibration> BY_MACHINE = new ConcurrentHashMap<>();
+    private static final long PID = ProcessHandle.current().pid();
+
+    private static volatile TscCalibration current;
+    private static ScheduledExecutorService periodic;
+
+    private TscCalibrator() {
+    }
+
+    /**
+     * Опорная точка: счётчик, {@code nanoTime} и Unix-время одного момента.
+     */
+    private record Point(long tsc, long nano, long epochNanos) {
+    }
+
+    /**
+     * Снимает калибровку за окно {@code window} (блокирует поток на это время), публикует её как
+     * {@link #current()} и регистрирует под текущим {@code machineId}.
+     *
+     * @throws IllegalArgumentException если окно не положительно
+     */
+    public static TscCalibration calibrate(final Duration window) {
+        if (window.isNegative() || window.isZero()) throw new IllegalArgumentException("window must be positive: " + window);
+        final Point a = sample();
+        try {
+            Thread.sleep(window);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("TSC calibration interrupted", e);
+        }
+        return publish(of(a, sample()));
+    }
+
+    /**
+     * {@return последняя локальная калибровка; при её отсутствии снимается новая за {@link #DEFAULT_WINDOW}}
+     */
+    public static TscCalibration current() {
+        final TscCalibration c = current;
+        return c != null ? c : calibrate(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Калибрует сразу и далее каждые {@code period}. Повторный вызов перезапускает расписание.
+     */
+    public static synchronized void startPeriodic(final Duration period) {
+        final long ms = period.toMillis();
+        if (ms <= 0) throw new IllegalArgumentException("period must be at least 1 ms: " + period);
+        stopPeriodic();
+        final Point base = sample();
+        calibrate(DEFAULT_WINDOW);
+        periodic = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "uid32-tsc-calibrator");
+            t.setDaemon(true);
+            return t;
+        });
+        periodic.scheduleAtFixedRate(() -> publish(of(base, sample())), ms, ms, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stopPeriodic() {
+        if (periodic != null) {
+            periodic.shutdownNow();
+            periodic = null;
+        }
+    }
+
+    /**
+     * Регистрирует калибровку другой машины (например, полученную вместе с её данными).
+     *
+     * @throws IllegalArgumentException если калибровка привязана к счётчику другого процесса
+     *                                  ({@link TscCalibration#isProcessLocal()}): по {@code machineId} она неприменима
+     */
+    public static void register(final TscCalibration c) {
+        Objects.requireNonNull(c, "calibration");
+        if (c.isProcessLocal() && c.pid() != PID) {
+            throw new IllegalArgumentException("Process-local calibration of pid " + c.pid()
+                    + " (Java backend nanoTime) cannot be registered for machine " + c.machineId());
+        }
+        BY_MACHINE.put(c.machineId(), c);
+    }
+
+    /**
+     * {@return калибровка машины или {@code null}, если её нет}
+     */
+    public static TscCalibration forMachine(final int machineId) {
+        return BY_MACHINE.get(machineId);
+    }
+
+    private static TscCalibration publish(final TscCalibration c) {
+        current = c;
+        register(c);
+        return c;
+    }
+
+    private static TscCalibration of(final Point a, final Point b) {
+        final double ticksPerNano = (double) (b.tsc - a.tsc) / (b.nano - a.nano);
+        final long pid = "java".equals(Uid32Backend.name()) ? PID : TscCalibration.MACHINE_WIDE;
+        return new TscCalibration(Uid32Backend.machineId(), b.tsc, b.epochNanos, ticksPerNano, pid);
+    }
+
+    private static Point sample() {
+        long bestTsc = 0, bestNano = 0, width = Long.MAX_VALUE;
+        for (int i = 0; i < TRIES; i++) {
+            final long n1 = System.nanoTime();
+            final long tsc = Uid32Backend.readTsc();
+            final long n2 = System.nanoTime();
+            if (n2 - n1 < width) {
+                width = n2 - n1;
+                bestTsc = tsc;
+                bestNano = n1 + (n2 - n1) / 2;
+            }
+        }
+        return new Point(bestTsc, bestNano, bestNano + wallOffset());
+    }
+
+    /**
+     * {@return смещение {@code epochNanos - nanoTime}}
+     */
+    private static long wallOffset() {
+        long best = 0, width = Long.MAX_VALUE;
+        for (int i = 0; i < TRIES; i++) {
+            final long n1 = System.nanoTime();
+            final Instant now = Instant.now();
+            final long n2 = System.nanoTime();
+            if (n2 - n1 < width) {
+                width = n2 - n1;
+                best = TscCalibration.epochNanos(now) - (n1 + (n2 - n1) / 2);
+            }
+        }
+        return best;
+    }
+}
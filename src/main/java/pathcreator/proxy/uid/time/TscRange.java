@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025, PathCreator.
+ * All rights reserved.
+ */
+
+package pathcreator.proxy.uid.time;
+
+import pathcreator.proxy.uid.read.Uid32ReaderArray;
+import pathcreator.proxy.uid.read.Uid32ReaderSegment;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Полуинтервал {@code [fromTsc, toTsc)} счётчика поля {@code tsc} для одной машины — временной диапазон,
+ * переведённый в сырые значения UID32 ({@link TscCalibration#range(java.time.Instant, java.time.Instant)}).
+ * <p>
+ * {@code matches} читает из UID только {@code machineId} и {@code tsc} — без разбора остальных полей
+ * и без колонки времени. Границы точны с погрешностью калибровки.
+ *
+ * @param machineId машина, к UID которой применим диапазон
+ * @param fromTsc   нижняя граница (включительно)
+ * @param toTsc     верхняя граница (не включительно)
+ * @since 1.0
+ */
+public record TscRange(int machineId, long fromTsc, long toTsc) {
+
+    public boolean containsTsc(final long tsc) {
+        return Long.compareUnsigned(tsc, fromTsc) >= 0 && Long.compareUnsigned(tsc, toTsc) < 0;
+    }
+
+    /**
+     * UID32 по смещению {@code o} выдан этой машиной в пределах диапазона.
+     */
+    public boolean matches(final MemorySegment s, final long o) {
+        return Uid32ReaderSegment.machineId(s, o) == machineId && containsTsc(Uid32ReaderSegment.tsc(s, o));
+    }
+
+    public boolean matches(final byte[] a, final int o) {
+        return Uid32ReaderArray.machineId(a, o) == machineId && containsTsc(Uid32ReaderArray.tsc(a, o));
+    }
+}
@@ -1,3 +1,7 @@
+#if defined(__linux__) && !defined(_GNU_SOURCE)
+#define _GNU_SOURCE
+#endif
+
 #include "get_core_id.h"
 
 #if defined(_WIN32) || defined(_WIN64)
@@ -6,12 +10,23 @@
         return (uint32_t)GetCurrentProcessorNumber();
     }
 
+    uint32_t get_core_count() {
+        return (uint32_t)GetActiveProcessorCount(ALL_PROCESSOR_GROUPS);
+    }
+
 #elif defined(__linux__)
 #include <sched.h>
+#include <unistd.h>
 uint32_t get_core_id() {
         return (uint32_t)sched_getcpu();
     }
 
+/* Все сконфигурированные CPU, а не только разрешённые процессу: номера ядер из cpuset могут быть любыми. */
+uint32_t get_core_count() {
+        long n = sysconf(_SC_NPROCESSORS_CONF);
+        return n > 0 ? (uint32_t)n : 1u;
+    }
+
 #else
 #error "Unsupported OS"
 #endif
\ No newline at end of file
@@ -9,6 +9,9 @@ extern "C" {
 
     uint32_t get_core_id();
 
+    /* Число номеров ядер: get_core_id() < get_core_count(). */
+    uint32_t get_core_count();
+
 #ifdef __cplusplus
 }
 #endif
@@ -1,3 +1,7 @@
+#if !defined(_WIN32) && !defined(_WIN64) && !defined(_DEFAULT_SOURCE)
+#define _DEFAULT_SOURCE
+#endif
+
 #include "gettid.h"
 
 #if defined(_WIN32) || defined(_WIN64)
@@ -8,7 +12,30 @@
 #else
 #include <unistd.h>
 #include <sys/syscall.h>
+#include <pthread.h>
+
+/*
+ * tid кэшируется в TLS: syscall только при первом вызове в потоке.
+ * После fork() у потока-потомка другой tid, а TLS скопирован — сбрасываем кэш в atfork-обработчике.
+ */
+static _Thread_local uint32_t t_tid = 0;
+static pthread_once_t g_atfork_once = PTHREAD_ONCE_INIT;
+
+static void reset_tid(void) {
+    t_tid = 0;
+}
+
+static void register_atfork(void) {
+    pthread_atfork(NULL, NULL, reset_tid);
+}
+
 uint32_t gettid() {
-      return (uint32_t)syscall(SYS_gettid);
+      uint32_t tid = t_tid;
+      if (tid == 0) {
+          pthread_once(&g_atfork_once, register_atfork);
+          tid = (uint32_t)syscall(SYS_gettid);
+          t_tid = tid;
+      }
+      return tid;
   }
-#endif
\ No newline at end of file
+#endif
@@ -1,4 +1,5 @@
 #include "tsc.h"
+#include "get_core_id.h"
 
 #if defined(_WIN32) || defined(_WIN64)
   #include <windows.h>
@@ -24,4 +25,42 @@ uint64_t read_tsc() {
 
 #else
 #error "Unsupported architecture for read_tsc"
-#endif
\ No newline at end of file
+#endif
+
+#if defined(__linux__) && defined(__x86_64__)
+#include <cpuid.h>
+
+/*
+ * Linux пишет в IA32_TSC_AUX (node << 12) | cpu, rdtscp возвращает его вместе с TSC —
+ * номер ядра без sched_getcpu(). Наличие rdtscp (CPUID 0x80000001:EDX[27]) проверяется
+ * один раз при загрузке библиотеки: некоторые гипервизоры его скрывают.
+ */
+static int g_has_rdtscp = 0;
+
+__attribute__((constructor))
+static void detect_rdtscp(void) {
+    unsigned int a, b, c, d;
+    if (__get_cpuid(0x80000001u, &a, &b, &c, &d)) g_has_rdtscp = (d >> 27) & 1;
+}
+
+uint64_t read_tsc_core(uint32_t* core) {
+    if (g_has_rdtscp) {
+        uint32_t lo, hi, aux;
+        __asm__ __volatile__("rdtscp" : "=a"(lo), "=d"(hi), "=c"(aux));
+        *core = aux & 0xFFFu;
+        return ((uint64_t)hi << 32) | lo;
+    }
+    *core = get_core_id();
+    return read_tsc();
+}
+
+#else
+/*
+ * aarch64: отдельного регистра с номером ядра нет; sched_getcpu() в glibc >= 2.35 читает
+ * cpu_id из rseq (без syscall), в более старых — через vDSO.
+ */
+uint64_t read_tsc_core(uint32_t* core) {
+    *core = get_core_id();
+    return read_tsc();
+}
+#endif
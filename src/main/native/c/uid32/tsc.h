@@ -9,6 +9,9 @@ extern "C" {
 
     uint64_t read_tsc();
 
+    /* tsc и номер ядра одним чтением, где это возможно (rdtscp), иначе read_tsc() + get_core_id(). */
+    uint64_t read_tsc_core(uint32_t* core);
+
 #ifdef __cplusplus
 }
 #endif
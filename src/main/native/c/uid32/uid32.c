@@ -2,7 +2,10 @@
 #include "tsc.h"
 #include "get_core_id.h"
 #include "gettid.h"
+#include "wallclock.h"
 
+#include <stdatomic.h>
+#include <stddef.h>
 #include <stdint.h>
 
 static uint32_t g_machine_id = 0;
@@ -11,11 +14,28 @@ void set_machine_id(uint32_t id) {
     g_machine_id = id;
 }
 
+/*
+ * Последний выданный потоком tsc. Общий для fill_uid32 и generate_uid32_batch: tsc потока строго
+ * возрастает между вызовами, а не только внутри пачки. Иначе на медленном таймере (cntvct_el0, ~24 МГц)
+ * пачка уходит вперёд счётчика, следующий вызов того же потока читает меньшее значение и при тех же
+ * stack/core/tid повторяет UID (куски heap-пачки, пополнения Uid32Pool).
+ */
+static _Thread_local uint64_t t_last_tsc = 0;
+
+static inline uint64_t next_tsc(uint64_t tsc) {
+    if (tsc <= t_last_tsc) tsc = t_last_tsc + 1;
+    t_last_tsc = tsc;
+    return tsc;
+}
+
+/*
+ * Без syscall в горячем пути: tsc и ядро — одним rdtscp (см. read_tsc_core), tid — из TLS-кэша.
+ */
 static inline void fill_uid32(uint8_t* uid) {
-    uint64_t tsc    = read_tsc();
+    uint32_t core_id;
+    uint64_t tsc    = next_tsc(read_tsc_core(&core_id));
     uintptr_t stack = (uintptr_t)&tsc;
     uint32_t machine = g_machine_id;
-    uint32_t core_id = get_core_id();
     uint32_t tid     = gettid();
     uint32_t mix     = (uint32_t)(tsc ^ stack ^ machine ^ core_id ^ tid);
 
@@ -29,4 +49,152 @@ static inline void fill_uid32(uint8_t* uid) {
 
 void generate_uid32_into(uint8_t* dst) {
     fill_uid32(dst);
-}
\ No newline at end of file
+}
+
+uint64_t uid32_read_tsc(void) {
+    return read_tsc();
+}
+
+/*
+ * Отдельно от fill_uid32: rdtscp дороже, чем sched_getcpu() через rseq (glibc >= 2.35 — чтение TLS),
+ * а tsc здесь не нужен.
+ */
+uint32_t uid32_current_core(void) {
+    return get_core_id();
+}
+
+uint32_t uid32_core_count(void) {
+    return get_core_count();
+}
+
+/*
+ * count UID подряд за один вызов: machine/core/tid читаются один раз на пачку
+ * (core — ядро на момент начала пачки). tsc читается для каждого UID и строго возрастает
+ * в пределах потока (t_last_tsc): на таймерах с низкой частотой (cntvct_el0) соседние чтения
+ * могут совпасть, тогда берём предыдущее + 1.
+ */
+void generate_uid32_batch(uint8_t* dst, uint32_t count) {
+    uint32_t marker  = 0;
+    uintptr_t stack  = (uintptr_t)&marker;
+    uint32_t machine = g_machine_id;
+    uint32_t core_id;
+    read_tsc_core(&core_id);
+    uint32_t tid     = gettid();
+    uint32_t fixed   = machine ^ core_id ^ tid;
+
+    for (uint32_t i = 0; i < count; i++) {
+        uint64_t tsc = next_tsc(read_tsc());
+
+        uint8_t* uid = dst + (size_t)i * 32;
+        *((uint64_t*)(uid + 0))  = tsc;
+        *((uint64_t*)(uid + 8))  = stack;
+        *((uint32_t*)(uid + 16)) = machine;
+        *((uint32_t*)(uid + 20)) = core_id;
+        *((uint32_t*)(uid + 24)) = tid;
+        *((uint32_t*)(uid + 28)) = (uint32_t)(tsc ^ stack ^ fixed);
+    }
+}
+
+/*
+ * Упорядоченный формат: все поля big-endian, побайтовое сравнение = сравнение по
+ * (time, machine, gen, seq). Уникальность в пределах machineId даёт пара (gen, seq):
+ * gen — номер потока, выдаваемый процессом один раз (atomic fetch_add, потом без синхронизации),
+ * поэтому переиспользованный ОС tid не повторяет чужую последовательность.
+ * time внутри потока не убывает (откат часов удерживается на last), seq растёт на каждый UID;
+ * при переполнении seq time сдвигается на 1 нс — ключ потока строго возрастает.
+ */
+struct ordered_state {
+    uint64_t last;
+    uint64_t last16;
+    uint32_t gen;
+    uint32_t seq;
+};
+
+static atomic_uint g_thread_gen = 0;
+static _Thread_local struct ordered_state t_ordered = {0, 0, 0, 0};
+
+static inline void store_be64(uint8_t* p, uint64_t v) {
+    for (int i = 7; i >= 0; i--) { p[i] = (uint8_t)v; v >>= 8; }
+}
+
+static inline void store_be32(uint8_t* p, uint32_t v) {
+    for (int i = 3; i >= 0; i--) { p[i] = (uint8_t)v; v >>= 8; }
+}
+
+static inline struct ordered_state* ordered_state(void) {
+    struct ordered_state* s = &t_ordered;
+    if (s->gen == 0) s->gen = atomic_fetch_add_explicit(&g_thread_gen, 1, memory_order_relaxed) + 1;
+    return s;
+}
+
+static inline uint64_t ordered_next(struct ordered_state* s, uint64_t now) {
+    uint64_t t = now > s->last ? now : s->last;
+    if (++s->seq == 0 && t == s->last) t++;
+    s->last = t;
+    return t;
+}
+
+static inline void fill_ordered(uint8_t* uid, uint64_t time, uint32_t machine, uint32_t gen, uint32_t seq,
+                                uint32_t core_id, uint32_t tid) {
+    store_be64(uid + 0,  time);
+    store_be32(uid + 8,  machine);
+    store_be32(uid + 12, gen);
+    store_be32(uid + 16, seq);
+    store_be32(uid + 20, core_id);
+    store_be32(uid + 24, tid);
+    store_be32(uid + 28, (uint32_t)(time ^ machine ^ gen ^ seq ^ core_id ^ tid));
+}
+
+void generate_uid32_ordered_into(uint8_t* dst) {
+    struct ordered_state* s = ordered_state();
+    uint32_t core_id;
+    read_tsc_core(&core_id);
+    uint64_t time = ordered_next(s, wall_nanos());
+    fill_ordered(dst, time, g_machine_id, s->gen, s->seq, core_id, gettid());
+}
+
+/* Часы и ядро читаются один раз на пачку; порядок и уникальность держит seq. */
+void generate_uid32_ordered_batch(uint8_t* dst, uint32_t count) {
+    struct ordered_state* s = ordered_state();
+    uint32_t machine = g_machine_id;
+    uint32_t core_id;
+    read_tsc_core(&core_id);
+    uint32_t tid = gettid();
+    uint64_t now = wall_nanos();
+
+    for (uint32_t i = 0; i < count; i++) {
+        uint64_t time = ordered_next(s, now);
+        fill_ordered(dst + (size_t)i * 32, time, machine, s->gen, s->seq, core_id, tid);
+    }
+}
+
+/*
+ * UID16: seq не помещается, поэтому время потока строго возрастает (при совпадении — +1 нс),
+ * и уникальность даёт (time, machine, gen). Состояние потока и gen — общие с упорядоченным UID32.
+ */
+static inline uint64_t uid16_next(struct ordered_state* s, uint64_t now) {
+    uint64_t t = now > s->last16 ? now : s->last16 + 1;
+    s->last16 = t;
+    return t;
+}
+
+static inline void fill_uid16(uint8_t* uid, uint64_t time, uint32_t machine, uint32_t gen) {
+    store_be64(uid + 0,  time);
+    store_be32(uid + 8,  machine);
+    store_be32(uid + 12, gen);
+}
+
+void generate_uid16_into(uint8_t* dst) {
+    struct ordered_state* s = ordered_state();
+    fill_uid16(dst, uid16_next(s, wall_nanos()), g_machine_id, s->gen);
+}
+
+void generate_uid16_batch(uint8_t* dst, uint32_t count) {
+    struct ordered_state* s = ordered_state();
+    uint32_t machine = g_machine_id;
+    uint64_t now = wall_nanos();
+
+    for (uint32_t i = 0; i < count; i++) {
+        fill_uid16(dst + (size_t)i * 16, uid16_next(s, now), machine, s->gen);
+    }
+}
@@ -9,6 +9,22 @@ extern "C" {
 
 void set_machine_id(uint32_t id);
 void generate_uid32_into(uint8_t* dst);
+void generate_uid32_batch(uint8_t* dst, uint32_t count);
+
+/* Текущее значение счётчика, который пишется в поле tsc UID32 (для калибровки по часам). */
+uint64_t uid32_read_tsc(void);
+
+/* Текущее ядро (sched_getcpu / GetCurrentProcessorNumber) и число номеров ядер — для разбиения по ядрам. */
+uint32_t uid32_current_core(void);
+uint32_t uid32_core_count(void);
+
+/* Упорядоченный формат (big-endian, сортируется по времени генерации), см. Uid32OrderedLayout. */
+void generate_uid32_ordered_into(uint8_t* dst);
+void generate_uid32_ordered_batch(uint8_t* dst, uint32_t count);
+
+/* 16-байтовый UID (big-endian: time, machineId, threadGen), см. Uid16Layout. */
+void generate_uid16_into(uint8_t* dst);
+void generate_uid16_batch(uint8_t* dst, uint32_t count);
 
 #ifdef __cplusplus
 }
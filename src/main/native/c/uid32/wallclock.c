@@ -0,0 +1,25 @@
+#if !defined(_WIN32) && !defined(_WIN64) && !defined(_POSIX_C_SOURCE)
+#define _POSIX_C_SOURCE 199309L
+#endif
+
+#include "wallclock.h"
+
+#if defined(_WIN32) || defined(_WIN64)
+  #include <windows.h>
+
+  /* FILETIME — сотни наносекунд от 1601-01-01 */
+  uint64_t wall_nanos() {
+      FILETIME ft;
+      GetSystemTimePreciseAsFileTime(&ft);
+      uint64_t t = ((uint64_t)ft.dwHighDateTime << 32) | ft.dwLowDateTime;
+      return (t - 116444736000000000ULL) * 100u;
+  }
+#else
+#include <time.h>
+
+uint64_t wall_nanos() {
+      struct timespec ts;
+      clock_gettime(CLOCK_REALTIME, &ts);
+      return (uint64_t)ts.tv_sec * 1000000000u + (uint64_t)ts.tv_nsec;
+  }
+#endif
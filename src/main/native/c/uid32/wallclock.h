@@ -0,0 +1,17 @@
+#ifndef WALLCLOCK_H
+#define WALLCLOCK_H
+
+#include <stdint.h>
+
+#ifdef __cplusplus
+extern "C" {
+#endif
+
+    /* Наносекунды Unix-времени (UTC); на Linux — через vDSO, без syscall. */
+    uint64_t wall_nanos();
+
+#ifdef __cplusplus
+}
+#endif
+
+#endif